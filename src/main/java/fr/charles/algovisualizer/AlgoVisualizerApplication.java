@@ -1,9 +1,12 @@
 package fr.charles.algovisualizer;
 
+import fr.charles.algovisualizer.config.NativeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeHints.class)
 public class AlgoVisualizerApplication {
 
 	public static void main(String[] args) {
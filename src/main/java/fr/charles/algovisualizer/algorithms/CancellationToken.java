@@ -0,0 +1,84 @@
+package fr.charles.algovisualizer.algorithms;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+/**
+ * Cooperative cancellation for algorithm runs. A run binds its token to the executing thread with
+ * {@link #run(Supplier)}; algorithms fetch it once with {@link #current()} and call
+ * {@link #throwIfCancelled()} in their inner loops, which costs a single volatile read.
+ * Outside of a run, {@link #current()} returns {@link #NONE}, which is never cancelled.
+ * <p>
+ * Checks also count as progress: sorting algorithms check once per recorded step and graph
+ * searches once per settled node, so {@link #progress()} tracks how far a run has got.
+ */
+public final class CancellationToken {
+
+    public static final CancellationToken NONE = new CancellationToken();
+
+    private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+
+    private volatile String reason;
+    // Only written by the running thread; readers get an approximate value
+    private long checkpoints;
+
+    public static CancellationToken current() {
+        CancellationToken token = CURRENT.get();
+        return token != null ? token : NONE;
+    }
+
+    /**
+     * Shorthand for {@code current().throwIfCancelled()}, for code that does not keep the token.
+     */
+    public static void check() {
+        current().throwIfCancelled();
+    }
+
+    public <T> T run(Supplier<T> task) {
+        CancellationToken previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Requests cancellation; only the first reason is kept.
+     */
+    public void cancel(String reason) {
+        if (this == NONE) {
+            throw new IllegalStateException("NONE cannot be cancelled");
+        }
+        if (this.reason == null) {
+            this.reason = reason;
+        }
+    }
+
+    public boolean isCancelled() {
+        return reason != null;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public long progress() {
+        return checkpoints;
+    }
+
+    public void throwIfCancelled() {
+        if (reason != null) {
+            throw new CancellationException(reason);
+        }
+        // NONE is shared by every thread outside of a run, keep its cache line clean
+        if (this != NONE) {
+            checkpoints++;
+        }
+    }
+}
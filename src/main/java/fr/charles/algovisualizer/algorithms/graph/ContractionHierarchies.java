@@ -0,0 +1,83 @@
+package fr.charles.algovisualizer.algorithms.graph;
+
+import fr.charles.algovisualizer.algorithms.graph.ch.ContractionHierarchy;
+import fr.charles.algovisualizer.algorithms.graph.ch.ContractionHierarchyBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Shortest paths through a contraction hierarchy. Hierarchies of loaded datasets are kept per
+ * graph instance (built by {@link #prepare(CsrGraph)} or attached from a preprocessed file);
+ * graphs sent with a request are contracted for that request only. Builds run outside the map's
+ * lock, so a long contraction never blocks queries on graphs that already have a hierarchy.
+ */
+@Component
+public class ContractionHierarchies implements GraphAlgorithm {
+
+    private final Map<CsrGraph, ContractionHierarchy> hierarchies = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Override
+    public List<Integer> findShortestPath(Map<Integer, Map<Integer, Integer>> graph, int start, int end, GraphTraceRecorder recorder) {
+        List<Integer> path = new ArrayList<>();
+        if (start == end) {
+            path.add(start);
+            return path;
+        }
+        RelabeledGraph relabeled = RelabeledGraph.of(graph);
+        int from = relabeled.indexOf(start);
+        int to = relabeled.indexOf(end);
+        if (from < 0 || to < 0) {
+            return path; // no path
+        }
+        int[] indices = ContractionHierarchyBuilder.build(relabeled.graph()).query(from, to, recorder);
+        for (int node : relabeled.toIds(indices)) {
+            path.add(node);
+        }
+        return path;
+    }
+
+    @Override
+    public int[] findShortestPath(CsrGraph graph, int start, int end, GraphTraceRecorder recorder) {
+        ContractionHierarchy hierarchy = hierarchies.get(graph);
+        if (hierarchy == null) {
+            hierarchy = ContractionHierarchyBuilder.build(graph);
+        }
+        return hierarchy.query(start, end, recorder);
+    }
+
+    /**
+     * The hierarchy kept for {@code graph}, built first if needed. Concurrent first calls may
+     * both build it; the first one stored wins.
+     */
+    public ContractionHierarchy prepare(CsrGraph graph) {
+        ContractionHierarchy hierarchy = hierarchies.get(graph);
+        if (hierarchy != null) {
+            return hierarchy;
+        }
+        ContractionHierarchy built = ContractionHierarchyBuilder.build(graph);
+        ContractionHierarchy existing = hierarchies.putIfAbsent(graph, built);
+        return existing != null ? existing : built;
+    }
+
+    /**
+     * Keeps a preprocessed hierarchy for {@code graph}. The graph checksum recorded in the
+     * hierarchy must match, so a stale file is rejected rather than answering wrong paths.
+     */
+    public void attach(CsrGraph graph, ContractionHierarchy hierarchy) {
+        if (hierarchy.nodeCount() != graph.nodeCount() || hierarchy.graphEdgeCount() != graph.edgeCount()
+                || hierarchy.graphChecksum() != graph.checksum()) {
+            throw new IllegalArgumentException("La hiérarchie ne correspond pas au graphe : recalculez-la");
+        }
+        hierarchies.put(graph, hierarchy);
+    }
+
+    @Override
+    public String getName() {
+        return "Contraction Hierarchies";
+    }
+}
@@ -0,0 +1,182 @@
+package fr.charles.algovisualizer.algorithms.graph;
+
+import java.nio.IntBuffer;
+import java.util.Map;
+
+/**
+ * Directed weighted graph in compressed sparse row form. Nodes are {@code 0..nodeCount-1}; the
+ * outgoing edges of {@code u} are {@code firstEdge(u) .. endEdge(u) - 1}.
+ * The three arrays are {@link IntBuffer}s so they can be heap arrays or views over a mapped file.
+ */
+public final class CsrGraph {
+
+    /** Largest node count built from a request body, where node ids are used as indices. */
+    public static final int MAX_NODES = 1 << 24;
+
+    private final int nodeCount;
+    private final int edgeCount;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer weights;
+
+    public CsrGraph(IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+        if (offsets.limit() == 0 || targets.limit() != weights.limit()
+                || offsets.get(offsets.limit() - 1) != targets.limit()) {
+            throw new IllegalArgumentException("Invalid CSR arrays");
+        }
+        this.nodeCount = offsets.limit() - 1;
+        this.edgeCount = targets.limit();
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public static CsrGraph of(int[] offsets, int[] targets, int[] weights) {
+        return new CsrGraph(IntBuffer.wrap(offsets), IntBuffer.wrap(targets), IntBuffer.wrap(weights));
+    }
+
+    /**
+     * Builds the CSR arrays from an edge list with a counting sort on the source node.
+     */
+    public static CsrGraph fromEdges(int nodeCount, int[] sources, int[] targets, int[] weights) {
+        return fromEdges(nodeCount, sources.length, sources, targets, weights);
+    }
+
+    /**
+     * Same, reading only the first {@code edgeCount} entries of the arrays, so a growable edge
+     * buffer can be passed without trimming it first.
+     */
+    public static CsrGraph fromEdges(int nodeCount, int edgeCount, int[] sources, int[] targets, int[] weights) {
+        int[] offsets = new int[nodeCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            int u = sources[e];
+            int v = targets[e];
+            if (u < 0 || u >= nodeCount || v < 0 || v >= nodeCount) {
+                throw new IllegalArgumentException("Edge " + u + " -> " + v + " out of range");
+            }
+            if (weights[e] < 0) {
+                throw new IllegalArgumentException("Negative weight on edge " + u + " -> " + v);
+            }
+            offsets[u + 1]++;
+        }
+        for (int u = 0; u < nodeCount; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+        int[] next = new int[nodeCount];
+        System.arraycopy(offsets, 0, next, 0, nodeCount);
+        int[] csrTargets = new int[edgeCount];
+        int[] csrWeights = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int slot = next[sources[e]]++;
+            csrTargets[slot] = targets[e];
+            csrWeights[slot] = weights[e];
+        }
+        return of(offsets, csrTargets, csrWeights);
+    }
+
+    /**
+     * Converts the JSON adjacency map used by {@code GraphRequest}. Node ids are used as indices,
+     * so they must be non-negative and below {@value #MAX_NODES}; {@link RelabeledGraph} takes
+     * any ids.
+     */
+    public static CsrGraph fromMap(Map<Integer, Map<Integer, Integer>> graph) {
+        int maxNode = -1;
+        int edgeCount = 0;
+        for (Map.Entry<Integer, Map<Integer, Integer>> entry : graph.entrySet()) {
+            maxNode = Math.max(maxNode, checkNode(entry.getKey()));
+            for (Integer neighbor : entry.getValue().keySet()) {
+                maxNode = Math.max(maxNode, checkNode(neighbor));
+            }
+            edgeCount += entry.getValue().size();
+        }
+        int[] sources = new int[edgeCount];
+        int[] targets = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+        int e = 0;
+        for (Map.Entry<Integer, Map<Integer, Integer>> entry : graph.entrySet()) {
+            for (Map.Entry<Integer, Integer> edge : entry.getValue().entrySet()) {
+                sources[e] = entry.getKey();
+                targets[e] = edge.getKey();
+                weights[e] = edge.getValue();
+                e++;
+            }
+        }
+        return fromEdges(maxNode + 1, sources, targets, weights);
+    }
+
+    private static int checkNode(int node) {
+        if (node < 0 || node >= MAX_NODES) {
+            throw new IllegalArgumentException("Node " + node + " out of range");
+        }
+        return node;
+    }
+
+    public CsrGraph reverse() {
+        int[] sources = new int[edgeCount];
+        int[] reversedTargets = new int[edgeCount];
+        int[] reversedWeights = new int[edgeCount];
+        for (int u = 0; u < nodeCount; u++) {
+            for (int e = firstEdge(u); e < endEdge(u); e++) {
+                sources[e] = targets.get(e);
+                reversedTargets[e] = u;
+                reversedWeights[e] = weights.get(e);
+            }
+        }
+        return fromEdges(nodeCount, sources, reversedTargets, reversedWeights);
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public int firstEdge(int node) {
+        return offsets.get(node);
+    }
+
+    public int endEdge(int node) {
+        return offsets.get(node + 1);
+    }
+
+    public int target(int edge) {
+        return targets.get(edge);
+    }
+
+    public int weight(int edge) {
+        return weights.get(edge);
+    }
+
+    public IntBuffer offsets() {
+        return offsets.duplicate();
+    }
+
+    public IntBuffer targets() {
+        return targets.duplicate();
+    }
+
+    public IntBuffer weights() {
+        return weights.duplicate();
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the three arrays, in order. A contraction hierarchy records the
+     * checksum of the graph it was built from, so a hierarchy file left next to an edited graph
+     * is detected when it is attached.
+     */
+    public long checksum() {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, offsets);
+        hash = mix(hash, targets);
+        return mix(hash, weights);
+    }
+
+    private static long mix(long hash, IntBuffer values) {
+        for (int i = 0; i < values.limit(); i++) {
+            hash = (hash ^ values.get(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+}
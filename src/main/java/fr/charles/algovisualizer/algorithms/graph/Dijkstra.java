@@ -1,11 +1,40 @@
 package fr.charles.algovisualizer.algorithms.graph;
 
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import org.springframework.stereotype.Component;
+
 import java.util.*;
 
+@Component
 public class Dijkstra implements GraphAlgorithm {
 
     @Override
-    public List<Integer> findShortestPath(Map<Integer, Map<Integer, Integer>> graph, int start, int end) {
+    public List<Integer> findShortestPath(Map<Integer, Map<Integer, Integer>> graph, int start, int end, GraphTraceRecorder recorder) {
+        Map<Integer, Integer> previous = search(graph, start, end, true, recorder);
+
+        List<Integer> path = new ArrayList<>();
+        Integer current = end;
+        if (!previous.containsKey(current) && start != end) {
+            return path; // no path
+        }
+        path.add(current);
+        while (previous.containsKey(current)) {
+            current = previous.get(current);
+            path.add(current);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Runs the search to exhaustion and keeps every parent pointer.
+     */
+    public ShortestPathTree shortestPathTree(Map<Integer, Map<Integer, Integer>> graph, int source) {
+        return ShortestPathTree.of(source, search(graph, source, source, false, GraphTraceRecorder.NONE));
+    }
+
+    private Map<Integer, Integer> search(Map<Integer, Map<Integer, Integer>> graph, int start, int end,
+                                         boolean stopAtEnd, GraphTraceRecorder recorder) {
         Map<Integer, Integer> distances = new HashMap<>();
         Map<Integer, Integer> previous = new HashMap<>();
         Set<Integer> visited = new HashSet<>();
@@ -16,39 +45,98 @@ public class Dijkstra implements GraphAlgorithm {
         }
         distances.put(start, 0);
         queue.add(new int[]{start, 0});
+        CancellationToken token = CancellationToken.current();
 
         while (!queue.isEmpty()) {
+            token.throwIfCancelled();
             int[] current = queue.poll();
             int node = current[0];
             if (!visited.add(node)) {
                 continue;
             }
-            if (node == end) {
+            recorder.settle(node, current[1]);
+            if (stopAtEnd && node == end) {
                 break;
             }
             for (Map.Entry<Integer, Integer> entry : graph.getOrDefault(node, Collections.emptyMap()).entrySet()) {
                 int neighbor = entry.getKey();
                 int weight = entry.getValue();
                 int newDist = distances.get(node) + weight;
+                recorder.relax(node, neighbor);
                 if (newDist < distances.getOrDefault(neighbor, Integer.MAX_VALUE)) {
                     distances.put(neighbor, newDist);
                     previous.put(neighbor, node);
+                    recorder.update(neighbor, newDist);
                     queue.add(new int[]{neighbor, newDist});
                 }
             }
         }
+        return previous;
+    }
 
-        List<Integer> path = new ArrayList<>();
-        Integer current = end;
-        if (!previous.containsKey(current) && start != end) {
-            return path; // no path
+    @Override
+    public int[] findShortestPath(CsrGraph graph, int start, int end, GraphTraceRecorder recorder) {
+        if (end < 0 || end >= graph.nodeCount()) {
+            throw new IllegalArgumentException("Node out of range");
         }
-        path.add(current);
-        while (previous.containsKey(current)) {
-            current = previous.get(current);
-            path.add(current);
+        int[] previous = search(graph, start, end, recorder);
+        return buildPath(previous, start, end, start == end || previous[end] >= 0);
+    }
+
+    public ShortestPathTree shortestPathTree(CsrGraph graph, int source) {
+        return ShortestPathTree.of(source, search(graph, source, -1, GraphTraceRecorder.NONE));
+    }
+
+    // Returns the parent array; stops when end is settled (end = -1 explores everything)
+    private int[] search(CsrGraph graph, int start, int end, GraphTraceRecorder recorder) {
+        int n = graph.nodeCount();
+        if (start < 0 || start >= n) {
+            throw new IllegalArgumentException("Node out of range");
+        }
+        int[] distances = new int[n];
+        int[] previous = new int[n];
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        Arrays.fill(previous, -1);
+        IntMinHeap queue = new IntMinHeap(n);
+        distances[start] = 0;
+        queue.push(start, 0);
+        CancellationToken token = CancellationToken.current();
+
+        while (!queue.isEmpty()) {
+            token.throwIfCancelled();
+            int node = queue.pop();
+            int distance = distances[node];
+            recorder.settle(node, distance);
+            if (node == end) {
+                break;
+            }
+            for (int e = graph.firstEdge(node), last = graph.endEdge(node); e < last; e++) {
+                int neighbor = graph.target(e);
+                int newDist = distance + graph.weight(e);
+                recorder.relax(node, neighbor);
+                if (newDist < distances[neighbor]) {
+                    distances[neighbor] = newDist;
+                    previous[neighbor] = node;
+                    recorder.update(neighbor, newDist);
+                    queue.push(neighbor, newDist);
+                }
+            }
+        }
+        return previous;
+    }
+
+    static int[] buildPath(int[] previous, int start, int end, boolean reachable) {
+        if (!reachable) {
+            return new int[0];
+        }
+        int length = 1;
+        for (int node = end; node != start; node = previous[node]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int node = end, i = length - 1; i >= 0; node = previous[node], i--) {
+            path[i] = node;
         }
-        Collections.reverse(path);
         return path;
     }
 
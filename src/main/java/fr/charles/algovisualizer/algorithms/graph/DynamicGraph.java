@@ -0,0 +1,237 @@
+package fr.charles.algovisualizer.algorithms.graph;
+
+import java.util.Arrays;
+
+/**
+ * Editable view over a {@link CsrGraph}. Base edges keep their CSR index and get a private copy
+ * of their weights; deleted edges are marked with an infinite weight; inserted edges live in
+ * per-node linked lists stored in growable int arrays. A reverse CSR index gives the incoming
+ * edges of every node, which the incremental shortest-path repair needs.
+ * <p>
+ * Edge ids are the base CSR indices followed by {@code baseEdgeCount + i} for inserted edges.
+ * Incoming edges are iterated with separate ids, see {@link #firstIn(int)}.
+ */
+public final class DynamicGraph {
+
+    public static final int ABSENT = Integer.MAX_VALUE;
+
+    /**
+     * A single edge modification: {@code ABSENT} stands for "no edge" on either side.
+     */
+    public record EdgeChange(int edge, int from, int to, int oldWeight, int newWeight) {
+    }
+
+    private final CsrGraph base;
+    private final int nodeCount;
+    private final int baseEdgeCount;
+    private final int[] weights;
+    private final int[] reverseOffsets;
+    private final int[] reverseSources;
+    private final int[] reverseEdges;
+
+    private final int[] extraHeadOut;
+    private final int[] extraHeadIn;
+    private final IntArrayList extraFrom = new IntArrayList();
+    private final IntArrayList extraTo = new IntArrayList();
+    private final IntArrayList extraNextOut = new IntArrayList();
+    private final IntArrayList extraNextIn = new IntArrayList();
+    private int[] extraWeights = new int[8];
+
+    public DynamicGraph(CsrGraph base) {
+        this.base = base;
+        this.nodeCount = base.nodeCount();
+        this.baseEdgeCount = base.edgeCount();
+        this.weights = new int[baseEdgeCount];
+        this.reverseOffsets = new int[nodeCount + 1];
+        this.reverseSources = new int[baseEdgeCount];
+        this.reverseEdges = new int[baseEdgeCount];
+        for (int e = 0; e < baseEdgeCount; e++) {
+            weights[e] = base.weight(e);
+            reverseOffsets[base.target(e) + 1]++;
+        }
+        for (int v = 0; v < nodeCount; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        int[] next = Arrays.copyOf(reverseOffsets, nodeCount);
+        for (int u = 0; u < nodeCount; u++) {
+            for (int e = base.firstEdge(u); e < base.endEdge(u); e++) {
+                int slot = next[base.target(e)]++;
+                reverseSources[slot] = u;
+                reverseEdges[slot] = e;
+            }
+        }
+        extraHeadOut = new int[nodeCount];
+        extraHeadIn = new int[nodeCount];
+        Arrays.fill(extraHeadOut, -1);
+        Arrays.fill(extraHeadIn, -1);
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    // Outgoing edges: for (int e = firstOut(u); e >= 0; e = nextOut(u, e))
+
+    public int firstOut(int node) {
+        return advanceOut(node, base.firstEdge(node));
+    }
+
+    public int nextOut(int node, int edge) {
+        if (edge < baseEdgeCount) {
+            return advanceOut(node, edge + 1);
+        }
+        return advanceExtraOut(extraNextOut.get(edge - baseEdgeCount));
+    }
+
+    private int advanceOut(int node, int edge) {
+        int end = base.endEdge(node);
+        while (edge < end && weights[edge] == ABSENT) {
+            edge++;
+        }
+        return edge < end ? edge : advanceExtraOut(extraHeadOut[node]);
+    }
+
+    private int advanceExtraOut(int extra) {
+        while (extra >= 0 && extraWeights[extra] == ABSENT) {
+            extra = extraNextOut.get(extra);
+        }
+        return extra < 0 ? -1 : baseEdgeCount + extra;
+    }
+
+    public int target(int edge) {
+        return edge < baseEdgeCount ? base.target(edge) : extraTo.get(edge - baseEdgeCount);
+    }
+
+    public int weight(int edge) {
+        return edge < baseEdgeCount ? weights[edge] : extraWeights[edge - baseEdgeCount];
+    }
+
+    // Incoming edges: for (int i = firstIn(v); i >= 0; i = nextIn(v, i)), then inSource(i) / inEdge(i)
+
+    public int firstIn(int node) {
+        return advanceIn(node, reverseOffsets[node]);
+    }
+
+    public int nextIn(int node, int in) {
+        if (in < baseEdgeCount) {
+            return advanceIn(node, in + 1);
+        }
+        return advanceExtraIn(extraNextIn.get(in - baseEdgeCount));
+    }
+
+    private int advanceIn(int node, int in) {
+        int end = reverseOffsets[node + 1];
+        while (in < end && weights[reverseEdges[in]] == ABSENT) {
+            in++;
+        }
+        return in < end ? in : advanceExtraIn(extraHeadIn[node]);
+    }
+
+    private int advanceExtraIn(int extra) {
+        while (extra >= 0 && extraWeights[extra] == ABSENT) {
+            extra = extraNextIn.get(extra);
+        }
+        return extra < 0 ? -1 : baseEdgeCount + extra;
+    }
+
+    public int inSource(int in) {
+        return in < baseEdgeCount ? reverseSources[in] : extraFrom.get(in - baseEdgeCount);
+    }
+
+    /**
+     * Outgoing edge id of an incoming edge iterator position.
+     */
+    public int inEdge(int in) {
+        return in < baseEdgeCount ? reverseEdges[in] : in;
+    }
+
+    public int findEdge(int from, int to) {
+        checkNode(from);
+        checkNode(to);
+        for (int e = firstOut(from); e >= 0; e = nextOut(from, e)) {
+            if (target(e) == to) {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Inserts the edge, or reweights it when it already exists.
+     */
+    public EdgeChange insert(int from, int to, int weight) {
+        checkWeight(weight);
+        int edge = findEdge(from, to);
+        if (edge >= 0) {
+            return setWeight(edge, from, to, weight);
+        }
+        int extra = extraTo.size();
+        extraFrom.add(from);
+        extraTo.add(to);
+        extraNextOut.add(extraHeadOut[from]);
+        extraNextIn.add(extraHeadIn[to]);
+        if (extra == extraWeights.length) {
+            extraWeights = Arrays.copyOf(extraWeights, 2 * extra);
+        }
+        extraWeights[extra] = weight;
+        extraHeadOut[from] = extra;
+        extraHeadIn[to] = extra;
+        return new EdgeChange(baseEdgeCount + extra, from, to, ABSENT, weight);
+    }
+
+    public EdgeChange reweight(int from, int to, int weight) {
+        checkWeight(weight);
+        return setWeight(existingEdge(from, to), from, to, weight);
+    }
+
+    public EdgeChange delete(int from, int to) {
+        return setWeight(existingEdge(from, to), from, to, ABSENT);
+    }
+
+    private int existingEdge(int from, int to) {
+        int edge = findEdge(from, to);
+        if (edge < 0) {
+            throw new IllegalArgumentException("No edge " + from + " -> " + to);
+        }
+        return edge;
+    }
+
+    private EdgeChange setWeight(int edge, int from, int to, int weight) {
+        int old = weight(edge);
+        if (edge < baseEdgeCount) {
+            weights[edge] = weight;
+        } else {
+            extraWeights[edge - baseEdgeCount] = weight;
+        }
+        return new EdgeChange(edge, from, to, old, weight);
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= nodeCount) {
+            throw new IllegalArgumentException("Node out of range: " + node);
+        }
+    }
+
+    private static void checkWeight(int weight) {
+        if (weight < 0 || weight == ABSENT) {
+            throw new IllegalArgumentException("Invalid weight: " + weight);
+        }
+    }
+
+    /**
+     * Current state as a plain CSR graph, for the engines that work on immutable graphs.
+     */
+    public CsrGraph toCsrGraph() {
+        IntArrayList sources = new IntArrayList(baseEdgeCount);
+        IntArrayList targets = new IntArrayList(baseEdgeCount);
+        IntArrayList edgeWeights = new IntArrayList(baseEdgeCount);
+        for (int u = 0; u < nodeCount; u++) {
+            for (int e = firstOut(u); e >= 0; e = nextOut(u, e)) {
+                sources.add(u);
+                targets.add(target(e));
+                edgeWeights.add(weight(e));
+            }
+        }
+        return CsrGraph.fromEdges(nodeCount, sources.toArray(), targets.toArray(), edgeWeights.toArray());
+    }
+}
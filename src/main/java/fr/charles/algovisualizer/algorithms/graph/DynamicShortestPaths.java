@@ -0,0 +1,155 @@
+package fr.charles.algovisualizer.algorithms.graph;
+
+import java.util.Arrays;
+
+/**
+ * Single-source shortest-path tree over a {@link DynamicGraph}, repaired after each edge change
+ * in the style of Ramalingam and Reps:
+ * <ul>
+ *     <li>a cheaper or new edge that improves its head starts a Dijkstra from that node only;</li>
+ *     <li>a costlier or deleted tree edge invalidates the subtree below it, whose nodes are
+ *     re-seeded from their unaffected in-neighbours and settled again by Dijkstra.</li>
+ * </ul>
+ * Any other change leaves the tree untouched, so the work is proportional to the affected region.
+ */
+public final class DynamicShortestPaths {
+
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    private final DynamicGraph graph;
+    private final int source;
+    private final int[] distances;
+    private final int[] parents;
+    private final int[] parentEdges;
+    private final int[] affectedMarks;
+    private final IntMinHeap heap;
+    private int mark;
+
+    public DynamicShortestPaths(DynamicGraph graph, int source) {
+        if (source < 0 || source >= graph.nodeCount()) {
+            throw new IllegalArgumentException("Node out of range: " + source);
+        }
+        int n = graph.nodeCount();
+        this.graph = graph;
+        this.source = source;
+        this.distances = new int[n];
+        this.parents = new int[n];
+        this.parentEdges = new int[n];
+        this.affectedMarks = new int[n];
+        this.heap = new IntMinHeap(n);
+        recompute();
+    }
+
+    /**
+     * Full Dijkstra from the source, discarding the current tree.
+     */
+    public int recompute() {
+        Arrays.fill(distances, INFINITY);
+        Arrays.fill(parents, -1);
+        Arrays.fill(parentEdges, -1);
+        distances[source] = 0;
+        heap.push(source, 0);
+        return propagate();
+    }
+
+    /**
+     * Repairs the tree after {@code change} has been applied to the graph and returns the number
+     * of nodes settled again.
+     */
+    public int apply(DynamicGraph.EdgeChange change) {
+        int from = change.from();
+        int to = change.to();
+        if (change.newWeight() < change.oldWeight()) {
+            if (distances[from] != INFINITY && distances[from] + change.newWeight() < distances[to]) {
+                distances[to] = distances[from] + change.newWeight();
+                parents[to] = from;
+                parentEdges[to] = change.edge();
+                heap.push(to, distances[to]);
+                return propagate();
+            }
+            return 0;
+        }
+        if (change.newWeight() > change.oldWeight() && parentEdges[to] == change.edge()) {
+            return repairSubtree(to);
+        }
+        return 0;
+    }
+
+    private int repairSubtree(int root) {
+        mark++;
+        IntArrayList affected = new IntArrayList();
+        affected.add(root);
+        affectedMarks[root] = mark;
+        for (int i = 0; i < affected.size(); i++) {
+            int node = affected.get(i);
+            for (int e = graph.firstOut(node); e >= 0; e = graph.nextOut(node, e)) {
+                int child = graph.target(e);
+                if (parentEdges[child] == e && affectedMarks[child] != mark) {
+                    affectedMarks[child] = mark;
+                    affected.add(child);
+                }
+            }
+        }
+        for (int i = 0; i < affected.size(); i++) {
+            int node = affected.get(i);
+            distances[node] = INFINITY;
+            parents[node] = -1;
+            parentEdges[node] = -1;
+        }
+        for (int i = 0; i < affected.size(); i++) {
+            int node = affected.get(i);
+            for (int in = graph.firstIn(node); in >= 0; in = graph.nextIn(node, in)) {
+                int from = graph.inSource(in);
+                if (affectedMarks[from] == mark || distances[from] == INFINITY) {
+                    continue;
+                }
+                int edge = graph.inEdge(in);
+                int candidate = distances[from] + graph.weight(edge);
+                if (candidate < distances[node]) {
+                    distances[node] = candidate;
+                    parents[node] = from;
+                    parentEdges[node] = edge;
+                }
+            }
+            if (distances[node] != INFINITY) {
+                heap.push(node, distances[node]);
+            }
+        }
+        return propagate();
+    }
+
+    private int propagate() {
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            int node = heap.pop();
+            int distance = distances[node];
+            settled++;
+            for (int e = graph.firstOut(node); e >= 0; e = graph.nextOut(node, e)) {
+                int neighbor = graph.target(e);
+                int newDist = distance + graph.weight(e);
+                if (newDist < distances[neighbor]) {
+                    distances[neighbor] = newDist;
+                    parents[neighbor] = node;
+                    parentEdges[neighbor] = e;
+                    heap.push(neighbor, newDist);
+                }
+            }
+        }
+        return settled;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int distance(int node) {
+        return distances[node];
+    }
+
+    public int[] pathTo(int end) {
+        if (end < 0 || end >= distances.length) {
+            throw new IllegalArgumentException("Node out of range: " + end);
+        }
+        return Dijkstra.buildPath(parents, source, end, distances[end] != INFINITY);
+    }
+}
@@ -4,6 +4,17 @@ import java.util.List;
 import java.util.Map;
 
 public interface GraphAlgorithm {
-    List<Integer> findShortestPath(Map<Integer, Map<Integer, Integer>> graph, int start, int end);
+    default List<Integer> findShortestPath(Map<Integer, Map<Integer, Integer>> graph, int start, int end) {
+        return findShortestPath(graph, start, end, GraphTraceRecorder.NONE);
+    }
+
+    List<Integer> findShortestPath(Map<Integer, Map<Integer, Integer>> graph, int start, int end, GraphTraceRecorder recorder);
+
+    /**
+     * Same search on a {@link CsrGraph}, used for the large loaded datasets.
+     * Returns the nodes of the path, or an empty array when {@code end} is unreachable.
+     */
+    int[] findShortestPath(CsrGraph graph, int start, int end, GraphTraceRecorder recorder);
+
     String getName();
 }
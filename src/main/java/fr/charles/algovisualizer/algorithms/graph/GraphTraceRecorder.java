@@ -0,0 +1,36 @@
+package fr.charles.algovisualizer.algorithms.graph;
+
+/**
+ * Receives the exploration events of a graph search so that it can be replayed in the browser.
+ * Every event is an (type, a, b) int triple, see {@link PackedGraphTrace} for the encoding.
+ */
+public interface GraphTraceRecorder {
+
+    int SETTLE = 0;
+    int RELAX = 1;
+    int UPDATE = 2;
+
+    /**
+     * Recorder used when tracing is off. It is the only implementation seen by most call sites,
+     * so the JIT inlines the empty methods and the calls disappear.
+     */
+    GraphTraceRecorder NONE = new GraphTraceRecorder() {
+        @Override
+        public void settle(int node, int distance) {
+        }
+
+        @Override
+        public void relax(int from, int to) {
+        }
+
+        @Override
+        public void update(int node, int distance) {
+        }
+    };
+
+    void settle(int node, int distance);
+
+    void relax(int from, int to);
+
+    void update(int node, int distance);
+}
@@ -0,0 +1,370 @@
+package fr.charles.algovisualizer.algorithms.graph;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Yen's k shortest loopless paths to a fixed target on a {@link CsrGraph}.
+ * <p>
+ * One search on the reversed graph gives every node its distance to the target and its next
+ * hop on a shortest path, i.e. a reverse shortest-path tree. Spur searches are A* searches
+ * guided by those distances, which stay admissible once root nodes and edges are removed.
+ * A search stops as soon as it settles a node whose tree path to the target avoids everything
+ * removed, since that path is then a shortest completion. Most spur paths are found after a
+ * handful of nodes this way.
+ * <p>
+ * Only spur nodes from the point where a path deviated from its parent are searched (Lawler),
+ * and the spur searches of one path are independent, so they run in parallel on the common
+ * {@link java.util.concurrent.ForkJoinPool}. Parallel edges count as one edge of their lowest
+ * weight.
+ */
+public final class KShortestPaths {
+
+    public record Path(int[] nodes, long cost) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Path other && cost == other.cost && Arrays.equals(nodes, other.nodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(nodes) + Long.hashCode(cost);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(nodes) + " (" + cost + ")";
+        }
+    }
+
+    // A path with the index of its first node off its parent path, where Lawler's spurs start
+    private record Candidate(Path path, int deviation) {
+    }
+
+    private static final Comparator<Path> ORDER = Comparator.comparingLong(Path::cost)
+            .thenComparingInt(path -> path.nodes().length)
+            .thenComparing(Path::nodes, Arrays::compare);
+
+    private final CsrGraph graph;
+    private final int target;
+    private final int[] distances;
+    private final int[] next;
+
+    /**
+     * Builds the reverse shortest-path tree of {@code target}.
+     */
+    public KShortestPaths(CsrGraph graph, int target) {
+        if (target < 0 || target >= graph.nodeCount()) {
+            throw new IllegalArgumentException("Nœud hors limites : " + target);
+        }
+        this.graph = graph;
+        this.target = target;
+        int n = graph.nodeCount();
+        distances = new int[n];
+        next = new int[n];
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        Arrays.fill(next, -1);
+
+        CsrGraph reverse = graph.reverse();
+        IntMinHeap queue = new IntMinHeap(n);
+        distances[target] = 0;
+        queue.push(target, 0);
+        CancellationToken token = CancellationToken.current();
+        while (!queue.isEmpty()) {
+            token.throwIfCancelled();
+            int node = queue.pop();
+            int distance = distances[node];
+            for (int e = reverse.firstEdge(node); e < reverse.endEdge(node); e++) {
+                int previous = reverse.target(e);
+                int newDistance = distance + reverse.weight(e);
+                if (newDistance < distances[previous]) {
+                    distances[previous] = newDistance;
+                    next[previous] = node;
+                    queue.push(previous, newDistance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Up to {@code k} loopless paths from {@code source}, by increasing cost. The first one is
+     * read from the tree.
+     */
+    public List<Path> find(int source, int k) {
+        checkSource(source);
+        if (distances[source] == Integer.MAX_VALUE) {
+            return List.of();
+        }
+        IntArrayList nodes = new IntArrayList();
+        for (int node = source; node != -1; node = next[node]) {
+            nodes.add(node);
+        }
+        return find(source, k, nodes.toArray());
+    }
+
+    /**
+     * Same, starting from a given shortest path, so that the first result is the one another
+     * algorithm picked among equal-cost paths. An empty {@code shortestPath} means the target is
+     * unreachable.
+     */
+    public List<Path> find(int source, int k, int[] shortestPath) {
+        checkSource(source);
+        if (k < 1) {
+            throw new IllegalArgumentException("k invalide : " + k);
+        }
+        if (shortestPath.length == 0) {
+            return List.of();
+        }
+        if (shortestPath[0] != source || shortestPath[shortestPath.length - 1] != target) {
+            throw new IllegalArgumentException("Le chemin ne relie pas " + source + " à " + target);
+        }
+        CancellationToken token = CancellationToken.current();
+        List<Candidate> accepted = new ArrayList<>();
+        accepted.add(new Candidate(new Path(shortestPath, costOf(shortestPath)), 0));
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator.comparing(Candidate::path, ORDER));
+        Set<Path> known = new HashSet<>();
+        known.add(accepted.get(0).path());
+        Queue<SpurSearch> searches = new ConcurrentLinkedQueue<>();
+
+        while (accepted.size() < k) {
+            Candidate last = accepted.get(accepted.size() - 1);
+            int[] path = last.path().nodes();
+            long[] rootCosts = new long[path.length];
+            for (int i = 1; i < path.length; i++) {
+                rootCosts[i] = rootCosts[i - 1] + edgeWeight(path[i - 1], path[i]);
+            }
+            int[] sharedPrefixes = sharedPrefixes(accepted, path);
+            List<Candidate> spurs = IntStream.range(last.deviation(), path.length - 1).parallel()
+                    .mapToObj(i -> {
+                        token.throwIfCancelled();
+                        SpurSearch search = searches.poll();
+                        if (search == null) {
+                            search = new SpurSearch();
+                        }
+                        try {
+                            return search.spur(path, i, rootCosts[i], removedTargets(accepted, sharedPrefixes, i), token);
+                        } finally {
+                            searches.add(search);
+                        }
+                    })
+                    .filter(Objects::nonNull)
+                    .toList();
+            for (Candidate spur : spurs) {
+                if (known.add(spur.path())) {
+                    candidates.add(spur);
+                }
+            }
+            Candidate best = candidates.poll();
+            if (best == null) {
+                break;
+            }
+            accepted.add(best);
+        }
+        return accepted.stream().map(Candidate::path).toList();
+    }
+
+    private void checkSource(int source) {
+        if (source < 0 || source >= graph.nodeCount()) {
+            throw new IllegalArgumentException("Nœud hors limites : " + source);
+        }
+    }
+
+    /**
+     * Number of leading nodes each accepted path shares with {@code path}.
+     */
+    private static int[] sharedPrefixes(List<Candidate> accepted, int[] path) {
+        int[] shared = new int[accepted.size()];
+        for (int a = 0; a < shared.length; a++) {
+            int mismatch = Arrays.mismatch(accepted.get(a).path().nodes(), path);
+            shared[a] = mismatch < 0 ? path.length : mismatch;
+        }
+        return shared;
+    }
+
+    /**
+     * Next hops of the accepted paths that share the root {@code path[0..i]}: the edges a spur
+     * from {@code path[i]} must not take again.
+     */
+    private static IntArrayList removedTargets(List<Candidate> accepted, int[] sharedPrefixes, int i) {
+        IntArrayList removed = new IntArrayList();
+        for (int a = 0; a < sharedPrefixes.length; a++) {
+            int[] nodes = accepted.get(a).path().nodes();
+            if (sharedPrefixes[a] > i && nodes.length > i + 1) {
+                removed.add(nodes[i + 1]);
+            }
+        }
+        return removed;
+    }
+
+    private static boolean contains(IntArrayList list, int value) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long costOf(int[] path) {
+        long cost = 0;
+        for (int i = 1; i < path.length; i++) {
+            cost += edgeWeight(path[i - 1], path[i]);
+        }
+        return cost;
+    }
+
+    private int edgeWeight(int from, int to) {
+        int weight = Integer.MAX_VALUE;
+        for (int e = graph.firstEdge(from); e < graph.endEdge(from); e++) {
+            if (graph.target(e) == to) {
+                weight = Math.min(weight, graph.weight(e));
+            }
+        }
+        if (weight == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Arête absente : " + from + " -> " + to);
+        }
+        return weight;
+    }
+
+    /**
+     * Per-thread buffers of a spur search, reused across searches. Every array entry is only
+     * valid when its stamp equals the current search, so nothing is cleared between searches.
+     */
+    private final class SpurSearch {
+        private final int[] costs = new int[graph.nodeCount()];
+        private final int[] parents = new int[graph.nodeCount()];
+        private final int[] reached = new int[graph.nodeCount()];
+        private final int[] settled = new int[graph.nodeCount()];
+        private final int[] blocked = new int[graph.nodeCount()];
+        private final int[] treeChecked = new int[graph.nodeCount()];
+        private final boolean[] treeUsable = new boolean[graph.nodeCount()];
+        private final int[] onPath = new int[graph.nodeCount()];
+        private final IntMinHeap queue = new IntMinHeap(graph.nodeCount());
+        private final IntArrayList walk = new IntArrayList();
+        private int stamp;
+        private int pathStamp;
+
+        /**
+         * Shortest path from {@code path[i]} to the target that avoids the root nodes before it
+         * and the {@code removed} next hops, appended to the root; null if there is none.
+         */
+        Candidate spur(int[] path, int i, long rootCost, IntArrayList removed, CancellationToken token) {
+            int spur = path[i];
+            stamp++;
+            for (int j = 0; j < i; j++) {
+                blocked[path[j]] = stamp;
+            }
+            costs[spur] = 0;
+            parents[spur] = -1;
+            reached[spur] = stamp;
+            queue.push(spur, distances[spur]);
+            try {
+                while (!queue.isEmpty()) {
+                    token.throwIfCancelled();
+                    int node = queue.pop();
+                    settled[node] = stamp;
+                    if (node == target || treeUsable(node, spur, removed)) {
+                        int[] spurPath = join(node);
+                        if (spurPath != null) {
+                            int[] nodes = Arrays.copyOf(path, i + spurPath.length);
+                            System.arraycopy(spurPath, 0, nodes, i, spurPath.length);
+                            return new Candidate(new Path(nodes, rootCost + costs[node] + distances[node]), i);
+                        }
+                    }
+                    int cost = costs[node];
+                    for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                        int neighbor = graph.target(e);
+                        if (blocked[neighbor] == stamp || settled[neighbor] == stamp
+                                || distances[neighbor] == Integer.MAX_VALUE
+                                || node == spur && contains(removed, neighbor)) {
+                            continue;
+                        }
+                        int newCost = cost + graph.weight(e);
+                        if (reached[neighbor] != stamp || newCost < costs[neighbor]) {
+                            costs[neighbor] = newCost;
+                            parents[neighbor] = node;
+                            reached[neighbor] = stamp;
+                            queue.push(neighbor, newCost + distances[neighbor]);
+                        }
+                    }
+                }
+                return null;
+            } finally {
+                queue.clear();
+            }
+        }
+
+        /**
+         * Whether the tree path from {@code node} to the target avoids the blocked root nodes,
+         * the spur node itself and, leaving the spur node, the removed next hops. Results are
+         * memoized for every node of the walked path.
+         */
+        private boolean treeUsable(int node, int spur, IntArrayList removed) {
+            if (node == spur) {
+                int hop = next[spur];
+                return hop != -1 && !contains(removed, hop) && (hop == target || treeUsable(hop, spur, removed));
+            }
+            walk.clear();
+            boolean usable;
+            for (int current = node; ; current = next[current]) {
+                if (current == target) {
+                    usable = true;
+                    break;
+                }
+                if (treeChecked[current] == stamp) {
+                    usable = treeUsable[current];
+                    break;
+                }
+                if (blocked[current] == stamp || current == spur) {
+                    usable = false;
+                    break;
+                }
+                walk.add(current);
+            }
+            for (int j = 0; j < walk.size(); j++) {
+                treeChecked[walk.get(j)] = stamp;
+                treeUsable[walk.get(j)] = usable;
+            }
+            return usable;
+        }
+
+        /**
+         * Searched path from the spur node to {@code node}, then its tree path to the target.
+         * Null if the two meet again, which only zero-weight cycles allow.
+         */
+        private int[] join(int node) {
+            pathStamp++;
+            IntArrayList reversed = new IntArrayList();
+            for (int current = node; current != -1; current = parents[current]) {
+                reversed.add(current);
+                onPath[current] = pathStamp;
+            }
+            IntArrayList nodes = new IntArrayList(reversed.size());
+            for (int j = reversed.size() - 1; j >= 0; j--) {
+                nodes.add(reversed.get(j));
+            }
+            for (int current = next[node]; node != target && current != -1; current = next[current]) {
+                if (onPath[current] == pathStamp) {
+                    return null;
+                }
+                nodes.add(current);
+                if (current == target) {
+                    break;
+                }
+            }
+            return nodes.toArray();
+        }
+    }
+}
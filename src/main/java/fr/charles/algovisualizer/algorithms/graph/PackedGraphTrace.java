@@ -0,0 +1,126 @@
+package fr.charles.algovisualizer.algorithms.graph;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Compact event stream of a graph search, stored as packed int triples {@code [type, a, b]}:
+ * <ul>
+ *     <li>{@code SETTLE node distance}</li>
+ *     <li>{@code RELAX from to}</li>
+ *     <li>{@code UPDATE node distance}</li>
+ * </ul>
+ * The number of events is capped. Settle events are always kept since they carry the exploration
+ * order; when the buffer is full, every other relax/update event is dropped and only one out of
+ * {@code stride} later relax/update events is recorded.
+ */
+public final class PackedGraphTrace implements GraphTraceRecorder {
+
+    private static final int INITIAL_EVENTS = 256;
+
+    private final int maxEvents;
+    private int[] events;
+    private int size;
+    private int stride = 1;
+    private long seen;
+    private boolean truncated;
+
+    public PackedGraphTrace(int maxEvents) {
+        if (maxEvents <= 0) {
+            throw new IllegalArgumentException("maxEvents must be positive");
+        }
+        this.maxEvents = maxEvents;
+        this.events = new int[3 * Math.min(maxEvents, INITIAL_EVENTS)];
+    }
+
+    @Override
+    public void settle(int node, int distance) {
+        append(SETTLE, node, distance);
+    }
+
+    @Override
+    public void relax(int from, int to) {
+        if (seen++ % stride == 0) {
+            append(RELAX, from, to);
+        }
+    }
+
+    @Override
+    public void update(int node, int distance) {
+        if (seen++ % stride == 0) {
+            append(UPDATE, node, distance);
+        }
+    }
+
+    private void append(int type, int a, int b) {
+        if (size == maxEvents && !downsample()) {
+            truncated = true;
+            return;
+        }
+        int offset = 3 * size;
+        if (offset == events.length) {
+            events = Arrays.copyOf(events, 3 * Math.min(maxEvents, 2 * size));
+        }
+        events[offset] = type;
+        events[offset + 1] = a;
+        events[offset + 2] = b;
+        size++;
+    }
+
+    // Drops every other relax/update event; returns false when nothing could be freed
+    private boolean downsample() {
+        int kept = 0;
+        boolean keep = false;
+        for (int i = 0; i < size; i++) {
+            int offset = 3 * i;
+            if (events[offset] != SETTLE) {
+                keep = !keep;
+                if (!keep) {
+                    continue;
+                }
+            }
+            System.arraycopy(events, offset, events, 3 * kept, 3);
+            kept++;
+        }
+        if (kept == size) {
+            return false;
+        }
+        size = kept;
+        stride *= 2;
+        truncated = true;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int[] events() {
+        return Arrays.copyOf(events, 3 * size);
+    }
+
+    public int getStride() {
+        return stride;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Writes the events as big-endian ints: {@code [count, stride, truncated, triples...]}.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(size);
+        data.writeInt(stride);
+        data.writeInt(truncated ? 1 : 0);
+        for (int i = 0; i < 3 * size; i++) {
+            data.writeInt(events[i]);
+        }
+        data.flush();
+    }
+}
@@ -0,0 +1,78 @@
+package fr.charles.algovisualizer.algorithms.graph;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A JSON adjacency map as a {@link CsrGraph} over dense indices. The map's node ids can be any
+ * ints: they are sorted and numbered, so the graph is sized by the ids actually used rather than
+ * by the largest one.
+ */
+public final class RelabeledGraph {
+
+    private final CsrGraph graph;
+    private final int[] ids;
+
+    private RelabeledGraph(CsrGraph graph, int[] ids) {
+        this.graph = graph;
+        this.ids = ids;
+    }
+
+    public static RelabeledGraph of(Map<Integer, Map<Integer, Integer>> adjacency) {
+        IntArrayList used = new IntArrayList(adjacency.size());
+        int edgeCount = 0;
+        for (Map.Entry<Integer, Map<Integer, Integer>> entry : adjacency.entrySet()) {
+            used.add(entry.getKey());
+            for (Integer neighbor : entry.getValue().keySet()) {
+                used.add(neighbor);
+            }
+            edgeCount += entry.getValue().size();
+        }
+        int[] ids = used.toArray();
+        Arrays.sort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        ids = Arrays.copyOf(ids, distinct);
+
+        int[] sources = new int[edgeCount];
+        int[] targets = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+        int e = 0;
+        for (Map.Entry<Integer, Map<Integer, Integer>> entry : adjacency.entrySet()) {
+            int source = Arrays.binarySearch(ids, entry.getKey());
+            for (Map.Entry<Integer, Integer> edge : entry.getValue().entrySet()) {
+                sources[e] = source;
+                targets[e] = Arrays.binarySearch(ids, edge.getKey());
+                weights[e] = edge.getValue();
+                e++;
+            }
+        }
+        return new RelabeledGraph(CsrGraph.fromEdges(ids.length, sources, targets, weights), ids);
+    }
+
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Index of a node id, or -1 if the map does not mention it.
+     */
+    public int indexOf(int id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Node ids of a path of indices, in place.
+     */
+    public int[] toIds(int[] path) {
+        for (int i = 0; i < path.length; i++) {
+            path[i] = ids[path[i]];
+        }
+        return path;
+    }
+}
@@ -0,0 +1,83 @@
+package fr.charles.algovisualizer.algorithms.graph;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Parent pointers of a full single-source search. Any path from the source is then read back in
+ * time proportional to its length.
+ */
+public final class ShortestPathTree {
+
+    private final int source;
+    private final int[] nodes;
+    private final int[] parents;
+
+    private ShortestPathTree(int source, int[] nodes, int[] parents) {
+        this.source = source;
+        this.nodes = nodes;
+        this.parents = parents;
+    }
+
+    /**
+     * Tree over a {@link CsrGraph}: {@code parents[v]} is -1 for the source and unreachable nodes.
+     */
+    public static ShortestPathTree of(int source, int[] parents) {
+        return new ShortestPathTree(source, null, parents);
+    }
+
+    /**
+     * Tree over a JSON graph with arbitrary node ids, from Dijkstra's {@code previous} map.
+     */
+    public static ShortestPathTree of(int source, Map<Integer, Integer> previous) {
+        int[] nodes = new int[previous.size()];
+        int i = 0;
+        for (Integer node : previous.keySet()) {
+            nodes[i++] = node;
+        }
+        Arrays.sort(nodes);
+        int[] parents = new int[nodes.length];
+        for (int j = 0; j < nodes.length; j++) {
+            parents[j] = previous.get(nodes[j]);
+        }
+        return new ShortestPathTree(source, nodes, parents);
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int size() {
+        return parents.length;
+    }
+
+    /**
+     * Nodes from the source to {@code end}, or an empty array when {@code end} is unreachable.
+     */
+    public int[] pathTo(int end) {
+        if (end == source) {
+            return new int[]{source};
+        }
+        if (parentIndex(end) < 0) {
+            return new int[0];
+        }
+        IntArrayList reversed = new IntArrayList();
+        for (int node = end; node != source; node = parents[parentIndex(node)]) {
+            reversed.add(node);
+        }
+        reversed.add(source);
+        int[] path = new int[reversed.size()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = reversed.get(path.length - 1 - i);
+        }
+        return path;
+    }
+
+    private int parentIndex(int node) {
+        if (nodes == null) {
+            return node >= 0 && node < parents.length && parents[node] >= 0 ? node : -1;
+        }
+        int index = Arrays.binarySearch(nodes, node);
+        return index >= 0 ? index : -1;
+    }
+}
@@ -0,0 +1,291 @@
+package fr.charles.algovisualizer.algorithms.graph.ch;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import fr.charles.algovisualizer.algorithms.graph.GraphTraceRecorder;
+import fr.charles.algovisualizer.algorithms.graph.IntArrayList;
+import fr.charles.algovisualizer.algorithms.graph.IntMinHeap;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Preprocessed contraction hierarchy. For every node it keeps the edges leading to higher ranked
+ * nodes, in two CSR blocks:
+ * <ul>
+ *     <li>forward: {@code u -> v} stored at {@code u}</li>
+ *     <li>backward: {@code u -> v} stored at {@code v}, pointing to {@code u}</li>
+ * </ul>
+ * Shortcut edges carry the contracted middle node ({@code -1} for original edges) so that a
+ * path can be unpacked into original edges.
+ */
+public final class ContractionHierarchy {
+
+    private final int nodeCount;
+    private final int graphEdgeCount;
+    private final long graphChecksum;
+    private final int[] rank;
+    private final int[] forwardOffsets;
+    private final int[] forwardTargets;
+    private final int[] forwardWeights;
+    private final int[] forwardMiddles;
+    private final int[] backwardOffsets;
+    private final int[] backwardTargets;
+    private final int[] backwardWeights;
+    private final int[] backwardMiddles;
+    // Reused query workspaces, at most one per core; queries beyond that allocate their own
+    private final Queue<QueryState> queryStates =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    public ContractionHierarchy(int graphEdgeCount, long graphChecksum, int[] rank,
+                                int[] forwardOffsets, int[] forwardTargets, int[] forwardWeights, int[] forwardMiddles,
+                                int[] backwardOffsets, int[] backwardTargets, int[] backwardWeights, int[] backwardMiddles) {
+        this.nodeCount = rank.length;
+        this.graphEdgeCount = graphEdgeCount;
+        this.graphChecksum = graphChecksum;
+        this.rank = rank;
+        this.forwardOffsets = forwardOffsets;
+        this.forwardTargets = forwardTargets;
+        this.forwardWeights = forwardWeights;
+        this.forwardMiddles = forwardMiddles;
+        this.backwardOffsets = backwardOffsets;
+        this.backwardTargets = backwardTargets;
+        this.backwardWeights = backwardWeights;
+        this.backwardMiddles = backwardMiddles;
+    }
+
+    /**
+     * Bidirectional upward Dijkstra. Returns the unpacked path, or an empty array when
+     * {@code end} is unreachable.
+     */
+    public int[] query(int start, int end, GraphTraceRecorder recorder) {
+        if (start < 0 || start >= nodeCount || end < 0 || end >= nodeCount) {
+            throw new IllegalArgumentException("Node out of range");
+        }
+        QueryState state = queryStates.poll();
+        if (state == null) {
+            state = new QueryState(nodeCount);
+        }
+        CancellationToken token = CancellationToken.current();
+        try {
+            state.forward.push(start, 0, -1, -1);
+            state.backward.push(end, 0, -1, -1);
+            int best = Integer.MAX_VALUE;
+            int meet = -1;
+            boolean forwardTurn = true;
+            while (true) {
+                token.throwIfCancelled();
+                boolean forwardOpen = !state.forward.heap.isEmpty() && state.forward.heap.peekKey() < best;
+                boolean backwardOpen = !state.backward.heap.isEmpty() && state.backward.heap.peekKey() < best;
+                if (!forwardOpen && !backwardOpen) {
+                    break;
+                }
+                boolean forward = forwardOpen && (forwardTurn || !backwardOpen);
+                forwardTurn = !forwardTurn;
+                Search search = forward ? state.forward : state.backward;
+                Search other = forward ? state.backward : state.forward;
+                int node = search.heap.pop();
+                int distance = search.distances[node];
+                recorder.settle(node, distance);
+                int otherDistance = other.distances[node];
+                if (otherDistance != Integer.MAX_VALUE && distance + otherDistance < best) {
+                    best = distance + otherDistance;
+                    meet = node;
+                }
+                if (isStalled(node, distance, search, forward)) {
+                    continue;
+                }
+                int[] offsets = forward ? forwardOffsets : backwardOffsets;
+                int[] targets = forward ? forwardTargets : backwardTargets;
+                int[] weights = forward ? forwardWeights : backwardWeights;
+                int[] middles = forward ? forwardMiddles : backwardMiddles;
+                for (int e = offsets[node], last = offsets[node + 1]; e < last; e++) {
+                    int neighbor = targets[e];
+                    int newDist = distance + weights[e];
+                    recorder.relax(node, neighbor);
+                    if (search.push(neighbor, newDist, node, middles[e])) {
+                        recorder.update(neighbor, newDist);
+                    }
+                }
+            }
+            return meet < 0 ? new int[0] : unpackPath(state, start, meet);
+        } finally {
+            state.forward.reset();
+            state.backward.reset();
+            queryStates.offer(state);
+        }
+    }
+
+    /**
+     * Stall-on-demand: the node can be reached more cheaply through a higher ranked node found by
+     * the same search (along an edge of the opposite direction), so its edges need not be relaxed.
+     */
+    private boolean isStalled(int node, int distance, Search search, boolean forward) {
+        int[] offsets = forward ? backwardOffsets : forwardOffsets;
+        int[] targets = forward ? backwardTargets : forwardTargets;
+        int[] weights = forward ? backwardWeights : forwardWeights;
+        for (int e = offsets[node], last = offsets[node + 1]; e < last; e++) {
+            int higher = search.distances[targets[e]];
+            if (higher != Integer.MAX_VALUE && higher + weights[e] < distance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int[] unpackPath(QueryState state, int start, int meet) {
+        IntArrayList forwardNodes = new IntArrayList();
+        for (int node = meet; node != start; node = state.forward.parents[node]) {
+            forwardNodes.add(node);
+        }
+        IntArrayList path = new IntArrayList(2 * forwardNodes.size() + 2);
+        path.add(start);
+        int from = start;
+        for (int i = forwardNodes.size() - 1; i >= 0; i--) {
+            int to = forwardNodes.get(i);
+            unpack(from, to, state.forward.middles[to], path);
+            from = to;
+        }
+        for (int node = meet; state.backward.parents[node] >= 0; node = state.backward.parents[node]) {
+            unpack(node, state.backward.parents[node], state.backward.middles[node], path);
+        }
+        return path.toArray();
+    }
+
+    // Appends the original nodes of edge from -> to, excluding from
+    private void unpack(int from, int to, int middle, IntArrayList path) {
+        if (middle < 0) {
+            path.add(to);
+            return;
+        }
+        // The middle node was contracted before both ends: from -> middle is a backward edge of
+        // middle, middle -> to a forward edge of middle.
+        unpack(from, middle, middleOf(backwardOffsets, backwardTargets, backwardMiddles, middle, from), path);
+        unpack(middle, to, middleOf(forwardOffsets, forwardTargets, forwardMiddles, middle, to), path);
+    }
+
+    private static int middleOf(int[] offsets, int[] targets, int[] middles, int node, int target) {
+        for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+            if (targets[e] == target) {
+                return middles[e];
+            }
+        }
+        throw new IllegalStateException("Missing hierarchy edge " + node + " - " + target);
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int graphEdgeCount() {
+        return graphEdgeCount;
+    }
+
+    /** {@link fr.charles.algovisualizer.algorithms.graph.CsrGraph#checksum()} of the graph it was built from. */
+    public long graphChecksum() {
+        return graphChecksum;
+    }
+
+    public int shortcutCount() {
+        int shortcuts = 0;
+        for (int middle : forwardMiddles) {
+            if (middle >= 0) {
+                shortcuts++;
+            }
+        }
+        for (int middle : backwardMiddles) {
+            if (middle >= 0) {
+                shortcuts++;
+            }
+        }
+        return shortcuts;
+    }
+
+    public int[] rank() {
+        return rank;
+    }
+
+    public int[] forwardOffsets() {
+        return forwardOffsets;
+    }
+
+    public int[] forwardTargets() {
+        return forwardTargets;
+    }
+
+    public int[] forwardWeights() {
+        return forwardWeights;
+    }
+
+    public int[] forwardMiddles() {
+        return forwardMiddles;
+    }
+
+    public int[] backwardOffsets() {
+        return backwardOffsets;
+    }
+
+    public int[] backwardTargets() {
+        return backwardTargets;
+    }
+
+    public int[] backwardWeights() {
+        return backwardWeights;
+    }
+
+    public int[] backwardMiddles() {
+        return backwardMiddles;
+    }
+
+    private static final class QueryState {
+        final Search forward;
+        final Search backward;
+
+        QueryState(int nodeCount) {
+            forward = new Search(nodeCount);
+            backward = new Search(nodeCount);
+        }
+    }
+
+    /**
+     * One direction of the query. Only touched entries are reset, so a query costs time
+     * proportional to the search space rather than to the graph size.
+     */
+    private static final class Search {
+        final int[] distances;
+        final int[] parents;
+        final int[] middles;
+        final IntMinHeap heap;
+        final IntArrayList touched = new IntArrayList();
+
+        Search(int nodeCount) {
+            distances = new int[nodeCount];
+            parents = new int[nodeCount];
+            middles = new int[nodeCount];
+            heap = new IntMinHeap(nodeCount);
+            Arrays.fill(distances, Integer.MAX_VALUE);
+        }
+
+        boolean push(int node, int distance, int parent, int middle) {
+            if (distance >= distances[node]) {
+                return false;
+            }
+            if (distances[node] == Integer.MAX_VALUE) {
+                touched.add(node);
+            }
+            distances[node] = distance;
+            parents[node] = parent;
+            middles[node] = middle;
+            heap.push(node, distance);
+            return true;
+        }
+
+        void reset() {
+            for (int i = 0; i < touched.size(); i++) {
+                distances[touched.get(i)] = Integer.MAX_VALUE;
+            }
+            touched.clear();
+            heap.clear();
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package fr.charles.algovisualizer.algorithms.graph.ch;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+import fr.charles.algovisualizer.algorithms.graph.IntArrayList;
+import fr.charles.algovisualizer.algorithms.graph.IntMinHeap;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Builds a {@link ContractionHierarchy} by contracting nodes in rounds. Each round contracts an
+ * independent set of nodes whose priority (edge difference and contracted neighbours) is minimal
+ * among their neighbours. Within a round the witness searches run in parallel on the common
+ * ForkJoin pool; they treat every node of the round as already contracted, so shortcuts of one
+ * node never rely on a path through another node of the same round. The graph is then updated
+ * sequentially and the priorities of the touched neighbours are recomputed in parallel.
+ * <p>
+ * The caller's {@link CancellationToken} is captured once and checked for every node handled by
+ * a parallel stream, since the pool's worker threads do not see it.
+ */
+public final class ContractionHierarchyBuilder {
+
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+    private static final int WITNESS_HOP_LIMIT = Integer.MAX_VALUE;
+    private static final int SIMULATION_SETTLE_LIMIT = 50;
+    private static final int SIMULATION_HOP_LIMIT = 3;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final int nodeCount;
+    private final int graphEdgeCount;
+    private final long graphChecksum;
+
+    // Remaining graph: contracted nodes are removed from their neighbours' lists
+    private final int[][] outTargets;
+    private final int[][] outWeights;
+    private final int[][] outMiddles;
+    private final int[] outSizes;
+    private final int[][] inSources;
+    private final int[][] inWeights;
+    private final int[][] inMiddles;
+    private final int[] inSizes;
+
+    private final boolean[] contracted;
+    private final int[] priorities;
+    private final int[] contractedNeighbors;
+    private final int[] rank;
+
+    // Upward edges saved when a node is contracted
+    private final int[][] upForward;
+    private final int[][] upBackward;
+
+    // Witness search workspaces, returned after each node: as many as nodes searched at once
+    private final Queue<WitnessSearch> witnessSearches = new ConcurrentLinkedQueue<>();
+
+    private ContractionHierarchyBuilder(CsrGraph graph) {
+        nodeCount = graph.nodeCount();
+        graphEdgeCount = graph.edgeCount();
+        graphChecksum = graph.checksum();
+        outTargets = new int[nodeCount][];
+        outWeights = new int[nodeCount][];
+        outMiddles = new int[nodeCount][];
+        outSizes = new int[nodeCount];
+        inSources = new int[nodeCount][];
+        inWeights = new int[nodeCount][];
+        inMiddles = new int[nodeCount][];
+        inSizes = new int[nodeCount];
+        contracted = new boolean[nodeCount];
+        priorities = new int[nodeCount];
+        contractedNeighbors = new int[nodeCount];
+        rank = new int[nodeCount];
+        upForward = new int[nodeCount][];
+        upBackward = new int[nodeCount][];
+
+        for (int u = 0; u < nodeCount; u++) {
+            int degree = Math.max(INITIAL_CAPACITY, graph.endEdge(u) - graph.firstEdge(u));
+            outTargets[u] = new int[degree];
+            outWeights[u] = new int[degree];
+            outMiddles[u] = new int[degree];
+            inSources[u] = new int[INITIAL_CAPACITY];
+            inWeights[u] = new int[INITIAL_CAPACITY];
+            inMiddles[u] = new int[INITIAL_CAPACITY];
+        }
+        for (int u = 0; u < nodeCount; u++) {
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int v = graph.target(e);
+                if (v != u) {
+                    addEdge(u, v, graph.weight(e), -1);
+                }
+            }
+        }
+    }
+
+    public static ContractionHierarchy build(CsrGraph graph) {
+        return new ContractionHierarchyBuilder(graph).contract();
+    }
+
+    private ContractionHierarchy contract() {
+        CancellationToken token = CancellationToken.current();
+        IntStream.range(0, nodeCount).parallel().forEach(v -> priorities[v] = computePriority(v, token));
+
+        int[] remaining = IntStream.range(0, nodeCount).toArray();
+        int remainingCount = nodeCount;
+        int nextRank = 0;
+        boolean[] dirty = new boolean[nodeCount];
+        IntArrayList dirtyNodes = new IntArrayList();
+
+        while (remainingCount > 0) {
+            token.throwIfCancelled();
+            int[] selected = Arrays.stream(remaining, 0, remainingCount).parallel()
+                    .filter(this::isLocalMinimum)
+                    .toArray();
+            for (int v : selected) {
+                contracted[v] = true;
+            }
+            int[][] shortcuts = new int[selected.length][];
+            IntStream.range(0, selected.length).parallel()
+                    .forEach(i -> {
+                        token.throwIfCancelled();
+                        shortcuts[i] = findShortcuts(selected[i], WITNESS_SETTLE_LIMIT, WITNESS_HOP_LIMIT).toArray();
+                    });
+
+            for (int i = 0; i < selected.length; i++) {
+                int v = selected[i];
+                rank[v] = nextRank++;
+                detach(v, dirty, dirtyNodes);
+                int[] packed = shortcuts[i];
+                for (int s = 0; s < packed.length; s += 3) {
+                    addEdge(packed[s], packed[s + 1], packed[s + 2], v);
+                }
+            }
+
+            int kept = 0;
+            for (int i = 0; i < remainingCount; i++) {
+                if (!contracted[remaining[i]]) {
+                    remaining[kept++] = remaining[i];
+                }
+            }
+            remainingCount = kept;
+
+            int[] toUpdate = dirtyNodes.toArray();
+            for (int v : toUpdate) {
+                dirty[v] = false;
+            }
+            dirtyNodes.clear();
+            IntStream.of(toUpdate).parallel()
+                    .filter(v -> !contracted[v])
+                    .forEach(v -> priorities[v] = computePriority(v, token));
+        }
+        return assemble();
+    }
+
+    private boolean isLocalMinimum(int v) {
+        for (int i = 0; i < outSizes[v]; i++) {
+            if (precedes(outTargets[v][i], v)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < inSizes[v]; i++) {
+            if (precedes(inSources[v][i], v)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean precedes(int u, int v) {
+        return priorities[u] < priorities[v] || (priorities[u] == priorities[v] && u < v);
+    }
+
+    private int computePriority(int v, CancellationToken token) {
+        token.throwIfCancelled();
+        int shortcuts = findShortcuts(v, SIMULATION_SETTLE_LIMIT, SIMULATION_HOP_LIMIT).size() / 3;
+        int edgeDifference = shortcuts - outSizes[v] - inSizes[v];
+        return 2 * edgeDifference + contractedNeighbors[v];
+    }
+
+    /**
+     * Shortcuts needed to bypass {@code v}, as packed {@code (from, to, weight)} triples. The
+     * witness searches ignore {@code v} and every contracted node.
+     */
+    private IntArrayList findShortcuts(int v, int settleLimit, int hopLimit) {
+        IntArrayList shortcuts = new IntArrayList();
+        int maxOut = 0;
+        for (int j = 0; j < outSizes[v]; j++) {
+            maxOut = Math.max(maxOut, outWeights[v][j]);
+        }
+        WitnessSearch search = witnessSearches.poll();
+        if (search == null) {
+            search = new WitnessSearch(nodeCount);
+        }
+        try {
+            findShortcuts(v, settleLimit, hopLimit, maxOut, search, shortcuts);
+        } finally {
+            search.reset();
+            witnessSearches.add(search);
+        }
+        return shortcuts;
+    }
+
+    private void findShortcuts(int v, int settleLimit, int hopLimit, int maxOut, WitnessSearch search,
+                               IntArrayList shortcuts) {
+        for (int i = 0; i < inSizes[v]; i++) {
+            int from = inSources[v][i];
+            int inWeight = inWeights[v][i];
+            search.run(from, v, inWeight + maxOut, outTargets[v], outSizes[v], settleLimit, hopLimit);
+            for (int j = 0; j < outSizes[v]; j++) {
+                int to = outTargets[v][j];
+                if (to == from) {
+                    continue;
+                }
+                int viaWeight = inWeight + outWeights[v][j];
+                if (search.distance(to) > viaWeight) {
+                    shortcuts.add(from);
+                    shortcuts.add(to);
+                    shortcuts.add(viaWeight);
+                }
+            }
+            search.reset();
+        }
+    }
+
+    // Saves the upward edges of v and removes v from its neighbours' adjacency lists
+    private void detach(int v, boolean[] dirty, IntArrayList dirtyNodes) {
+        upForward[v] = pack(outTargets[v], outWeights[v], outMiddles[v], outSizes[v]);
+        upBackward[v] = pack(inSources[v], inWeights[v], inMiddles[v], inSizes[v]);
+        for (int j = 0; j < outSizes[v]; j++) {
+            int to = outTargets[v][j];
+            removeIn(to, v);
+            markDirty(to, dirty, dirtyNodes);
+        }
+        for (int i = 0; i < inSizes[v]; i++) {
+            int from = inSources[v][i];
+            removeOut(from, v);
+            markDirty(from, dirty, dirtyNodes);
+        }
+        outTargets[v] = outWeights[v] = outMiddles[v] = null;
+        inSources[v] = inWeights[v] = inMiddles[v] = null;
+        outSizes[v] = inSizes[v] = 0;
+    }
+
+    private void markDirty(int node, boolean[] dirty, IntArrayList dirtyNodes) {
+        contractedNeighbors[node]++;
+        if (!dirty[node]) {
+            dirty[node] = true;
+            dirtyNodes.add(node);
+        }
+    }
+
+    private static int[] pack(int[] targets, int[] weights, int[] middles, int size) {
+        int[] packed = new int[3 * size];
+        for (int i = 0; i < size; i++) {
+            packed[3 * i] = targets[i];
+            packed[3 * i + 1] = weights[i];
+            packed[3 * i + 2] = middles[i];
+        }
+        return packed;
+    }
+
+    private void addEdge(int from, int to, int weight, int middle) {
+        int existing = indexOf(outTargets[from], outSizes[from], to);
+        if (existing >= 0) {
+            if (weight < outWeights[from][existing]) {
+                outWeights[from][existing] = weight;
+                outMiddles[from][existing] = middle;
+                int reverse = indexOf(inSources[to], inSizes[to], from);
+                inWeights[to][reverse] = weight;
+                inMiddles[to][reverse] = middle;
+            }
+            return;
+        }
+        int out = outSizes[from]++;
+        if (out == outTargets[from].length) {
+            int capacity = 2 * out;
+            outTargets[from] = Arrays.copyOf(outTargets[from], capacity);
+            outWeights[from] = Arrays.copyOf(outWeights[from], capacity);
+            outMiddles[from] = Arrays.copyOf(outMiddles[from], capacity);
+        }
+        outTargets[from][out] = to;
+        outWeights[from][out] = weight;
+        outMiddles[from][out] = middle;
+
+        int in = inSizes[to]++;
+        if (in == inSources[to].length) {
+            int capacity = 2 * in;
+            inSources[to] = Arrays.copyOf(inSources[to], capacity);
+            inWeights[to] = Arrays.copyOf(inWeights[to], capacity);
+            inMiddles[to] = Arrays.copyOf(inMiddles[to], capacity);
+        }
+        inSources[to][in] = from;
+        inWeights[to][in] = weight;
+        inMiddles[to][in] = middle;
+    }
+
+    private void removeOut(int from, int to) {
+        int i = indexOf(outTargets[from], outSizes[from], to);
+        int last = --outSizes[from];
+        outTargets[from][i] = outTargets[from][last];
+        outWeights[from][i] = outWeights[from][last];
+        outMiddles[from][i] = outMiddles[from][last];
+    }
+
+    private void removeIn(int to, int from) {
+        int i = indexOf(inSources[to], inSizes[to], from);
+        int last = --inSizes[to];
+        inSources[to][i] = inSources[to][last];
+        inWeights[to][i] = inWeights[to][last];
+        inMiddles[to][i] = inMiddles[to][last];
+    }
+
+    private static int indexOf(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private ContractionHierarchy assemble() {
+        int[] forwardOffsets = new int[nodeCount + 1];
+        int[] backwardOffsets = new int[nodeCount + 1];
+        for (int v = 0; v < nodeCount; v++) {
+            forwardOffsets[v + 1] = forwardOffsets[v] + upForward[v].length / 3;
+            backwardOffsets[v + 1] = backwardOffsets[v] + upBackward[v].length / 3;
+        }
+        int[] forwardTargets = new int[forwardOffsets[nodeCount]];
+        int[] forwardWeights = new int[forwardTargets.length];
+        int[] forwardMiddles = new int[forwardTargets.length];
+        int[] backwardTargets = new int[backwardOffsets[nodeCount]];
+        int[] backwardWeights = new int[backwardTargets.length];
+        int[] backwardMiddles = new int[backwardTargets.length];
+        for (int v = 0; v < nodeCount; v++) {
+            unpack(upForward[v], forwardOffsets[v], forwardTargets, forwardWeights, forwardMiddles);
+            unpack(upBackward[v], backwardOffsets[v], backwardTargets, backwardWeights, backwardMiddles);
+            upForward[v] = upBackward[v] = null;
+        }
+        return new ContractionHierarchy(graphEdgeCount, graphChecksum, rank,
+                forwardOffsets, forwardTargets, forwardWeights, forwardMiddles,
+                backwardOffsets, backwardTargets, backwardWeights, backwardMiddles);
+    }
+
+    private static void unpack(int[] packed, int offset, int[] targets, int[] weights, int[] middles) {
+        for (int i = 0; i < packed.length / 3; i++) {
+            targets[offset + i] = packed[3 * i];
+            weights[offset + i] = packed[3 * i + 1];
+            middles[offset + i] = packed[3 * i + 2];
+        }
+    }
+
+    /**
+     * Bounded Dijkstra on the remaining graph, used by one node's shortcut search at a time.
+     */
+    private final class WitnessSearch {
+        private final int[] distances;
+        private final int[] hops;
+        private final int[] targetMarks;
+        private final IntMinHeap heap;
+        private final IntArrayList touched = new IntArrayList();
+        private int mark;
+
+        WitnessSearch(int nodeCount) {
+            distances = new int[nodeCount];
+            hops = new int[nodeCount];
+            targetMarks = new int[nodeCount];
+            heap = new IntMinHeap(nodeCount);
+            Arrays.fill(distances, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Stops once every target is settled, past {@code maxDistance} or after
+         * {@code settleLimit} settled nodes. Nodes {@code hopLimit} edges away are not expanded.
+         */
+        void run(int source, int excluded, int maxDistance, int[] targets, int targetCount, int settleLimit, int hopLimit) {
+            mark++;
+            int pending = 0;
+            for (int i = 0; i < targetCount; i++) {
+                if (targetMarks[targets[i]] != mark && targets[i] != source) {
+                    targetMarks[targets[i]] = mark;
+                    pending++;
+                }
+            }
+            visit(source, 0, 0);
+            int settled = 0;
+            while (pending > 0 && !heap.isEmpty() && settled < settleLimit) {
+                int node = heap.pop();
+                int distance = distances[node];
+                if (distance > maxDistance) {
+                    break;
+                }
+                settled++;
+                if (targetMarks[node] == mark) {
+                    pending--;
+                }
+                int nextHops = hops[node] + 1;
+                if (nextHops > hopLimit) {
+                    continue;
+                }
+                for (int j = 0; j < outSizes[node]; j++) {
+                    int next = outTargets[node][j];
+                    if (next != excluded && !contracted[next]) {
+                        visit(next, distance + outWeights[node][j], nextHops);
+                    }
+                }
+            }
+        }
+
+        private void visit(int node, int distance, int hopCount) {
+            if (distance < distances[node]) {
+                hops[node] = hopCount;
+                if (distances[node] == Integer.MAX_VALUE) {
+                    touched.add(node);
+                }
+                distances[node] = distance;
+                heap.push(node, distance);
+            }
+        }
+
+        int distance(int node) {
+            return distances[node];
+        }
+
+        void reset() {
+            for (int i = 0; i < touched.size(); i++) {
+                distances[touched.get(i)] = Integer.MAX_VALUE;
+            }
+            touched.clear();
+            heap.clear();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package fr.charles.algovisualizer.algorithms.graph.io;
+
+import fr.charles.algovisualizer.algorithms.graph.ch.ContractionHierarchy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary contraction hierarchy file, little-endian:
+ * <pre>
+ * header   : magic "CHIE", version, nodeCount, graphEdgeCount, forwardEdges, backwardEdges (6 ints),
+ *            graphChecksum (1 long)
+ * rank     : nodeCount ints
+ * forward  : nodeCount + 1 offsets, then targets, weights, middles
+ * backward : nodeCount + 1 offsets, then targets, weights, middles
+ * </pre>
+ * Unlike {@link CsrGraphFile} the arrays are copied onto the heap: queries hit them randomly and
+ * the hierarchy is much smaller than the graph it was built from. Each section is mapped on its
+ * own, as a single mapping cannot exceed 2 GB.
+ */
+public final class ContractionHierarchyFile {
+
+    static final int MAGIC = 0x45494843; // "CHIE" read as a little-endian int
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 32;
+
+    private ContractionHierarchyFile() {
+    }
+
+    public static void write(ContractionHierarchy hierarchy, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(CsrGraphFile.WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION)
+                    .putInt(hierarchy.nodeCount())
+                    .putInt(hierarchy.graphEdgeCount())
+                    .putInt(hierarchy.forwardTargets().length)
+                    .putInt(hierarchy.backwardTargets().length)
+                    .putLong(hierarchy.graphChecksum());
+            int[][] sections = {
+                    hierarchy.rank(),
+                    hierarchy.forwardOffsets(), hierarchy.forwardTargets(), hierarchy.forwardWeights(), hierarchy.forwardMiddles(),
+                    hierarchy.backwardOffsets(), hierarchy.backwardTargets(), hierarchy.backwardWeights(), hierarchy.backwardMiddles()
+            };
+            for (int[] section : sections) {
+                CsrGraphFile.writeInts(channel, buffer, IntBuffer.wrap(section));
+            }
+            CsrGraphFile.drain(channel, buffer);
+        }
+    }
+
+    public static ContractionHierarchy read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.read(header, 0) < HEADER_BYTES || header.flip().getInt() != MAGIC) {
+                throw new IOException("Not a contraction hierarchy file: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported contraction hierarchy file version " + version);
+            }
+            int nodeCount = header.getInt();
+            int graphEdgeCount = header.getInt();
+            int forwardEdges = header.getInt();
+            int backwardEdges = header.getInt();
+            long graphChecksum = header.getLong();
+            long expectedInts = nodeCount + 2L * (nodeCount + 1) + 3L * forwardEdges + 3L * backwardEdges;
+            if (nodeCount < 0 || forwardEdges < 0 || backwardEdges < 0
+                    || channel.size() != HEADER_BYTES + 4 * expectedInts) {
+                throw new IOException("Truncated contraction hierarchy file: " + file);
+            }
+            Sections sections = new Sections(channel);
+            return new ContractionHierarchy(graphEdgeCount, graphChecksum, sections.next(nodeCount),
+                    sections.next(nodeCount + 1), sections.next(forwardEdges), sections.next(forwardEdges), sections.next(forwardEdges),
+                    sections.next(nodeCount + 1), sections.next(backwardEdges), sections.next(backwardEdges), sections.next(backwardEdges));
+        }
+    }
+
+    /** Copies the sections one after the other, mapping each on its own. */
+    private static final class Sections {
+        private final FileChannel channel;
+        private long position = HEADER_BYTES;
+
+        Sections(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        int[] next(int count) throws IOException {
+            int[] values = new int[count];
+            CsrGraphFile.mapInts(channel, position, 4L * count).get(values);
+            position += 4L * count;
+            return values;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package fr.charles.algovisualizer.algorithms.graph.io;
+
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+import fr.charles.algovisualizer.algorithms.graph.ch.ContractionHierarchy;
+import fr.charles.algovisualizer.algorithms.graph.ch.ContractionHierarchyBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Offline contraction hierarchy preprocessing.
+ * <pre>
+ * ./mvnw -q exec:java -Dexec.mainClass=fr.charles.algovisualizer.algorithms.graph.io.ContractionHierarchyTool \
+ *     -Dexec.args="data/USA-road-d.NY.csr data/USA-road-d.NY.ch"
+ * </pre>
+ * A {@code .ch} file placed next to a dataset with the same base name is picked up when the
+ * dataset is loaded.
+ */
+public final class ContractionHierarchyTool {
+
+    private ContractionHierarchyTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ContractionHierarchyTool <graph.gr|graph.csr> <output.ch>");
+            System.exit(1);
+        }
+        CsrGraph graph = GraphFileConverter.load(Path.of(args[0]));
+        long begin = System.nanoTime();
+        ContractionHierarchy hierarchy = ContractionHierarchyBuilder.build(graph);
+        long built = System.nanoTime();
+        ContractionHierarchyFile.write(hierarchy, Path.of(args[1]));
+        System.out.printf(Locale.ROOT, "%d nodes, %d edges, %d shortcuts: contracted in %d ms%n",
+                graph.nodeCount(), graph.edgeCount(), hierarchy.shortcutCount(), (built - begin) / 1_000_000);
+    }
+
+    /**
+     * Path of the hierarchy file that goes with a graph file: same name, {@code .ch} extension.
+     */
+    public static Path hierarchyFileFor(Path graphFile) {
+        String name = graphFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return graphFile.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + ".ch");
+    }
+}
@@ -0,0 +1,132 @@
+package fr.charles.algovisualizer.algorithms.graph.io;
+
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary CSR graph file, little-endian:
+ * <pre>
+ * header   : magic "CSRG", version, nodeCount, edgeCount   (4 ints)
+ * offsets  : nodeCount + 1 ints
+ * targets  : edgeCount ints
+ * weights  : edgeCount ints
+ * </pre>
+ * {@link #map(Path)} maps each section with {@link FileChannel#map} and returns a graph whose
+ * arrays are views over the mapping: nothing is copied onto the heap and the OS pages the file in.
+ * The sections are checked in one linear pass, so a corrupt file is rejected with an
+ * {@link IllegalArgumentException} instead of failing later in the middle of a search.
+ */
+public final class CsrGraphFile {
+
+    static final int MAGIC = 0x47525343; // "CSRG" read as a little-endian int
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private CsrGraphFile() {
+    }
+
+    public static CsrGraph map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.read(header, 0) < HEADER_BYTES || header.flip().getInt() != MAGIC) {
+                throw new IOException("Not a CSR graph file: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported CSR graph file version " + version);
+            }
+            int nodeCount = header.getInt();
+            int edgeCount = header.getInt();
+            if (nodeCount < 0 || nodeCount > CsrGraph.MAX_NODES || edgeCount < 0) {
+                throw new IllegalArgumentException("Taille de graphe invalide : " + nodeCount + " nœuds, "
+                        + edgeCount + " arêtes");
+            }
+            long offsetsBytes = 4L * (nodeCount + 1);
+            long edgesBytes = 4L * edgeCount;
+            if (channel.size() != HEADER_BYTES + offsetsBytes + 2 * edgesBytes) {
+                throw new IOException("Truncated CSR graph file: " + file);
+            }
+            IntBuffer offsets = mapInts(channel, HEADER_BYTES, offsetsBytes);
+            IntBuffer targets = mapInts(channel, HEADER_BYTES + offsetsBytes, edgesBytes);
+            IntBuffer weights = mapInts(channel, HEADER_BYTES + offsetsBytes + edgesBytes, edgesBytes);
+            validate(nodeCount, offsets, targets, weights);
+            return new CsrGraph(offsets, targets, weights);
+        }
+    }
+
+    static void validate(int nodeCount, IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+        if (offsets.get(0) != 0) {
+            throw new IllegalArgumentException("Le premier décalage doit valoir 0 : " + offsets.get(0));
+        }
+        for (int u = 0; u < nodeCount; u++) {
+            int first = offsets.get(u);
+            int end = offsets.get(u + 1);
+            if (end < first || end > targets.limit()) {
+                throw new IllegalArgumentException("Décalages non croissants au nœud " + u);
+            }
+            for (int e = first; e < end; e++) {
+                int target = targets.get(e);
+                if (target < 0 || target >= nodeCount) {
+                    throw new IllegalArgumentException("Arête " + u + " -> " + target + " hors du graphe");
+                }
+                if (weights.get(e) < 0) {
+                    throw new IllegalArgumentException("Poids négatif sur l'arête " + u + " -> " + target);
+                }
+            }
+        }
+        if (offsets.get(nodeCount) != targets.limit()) {
+            throw new IllegalArgumentException("Le dernier décalage doit valoir " + targets.limit());
+        }
+    }
+
+    static IntBuffer mapInts(FileChannel channel, long position, long bytes) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, bytes)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asIntBuffer();
+    }
+
+    public static void write(CsrGraph graph, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(graph.nodeCount()).putInt(graph.edgeCount());
+            writeInts(channel, buffer, graph.offsets());
+            writeInts(channel, buffer, graph.targets());
+            writeInts(channel, buffer, graph.weights());
+            drain(channel, buffer);
+        }
+    }
+
+    static void writeInts(FileChannel channel, ByteBuffer buffer, IntBuffer values) throws IOException {
+        values.rewind();
+        while (values.hasRemaining()) {
+            if (buffer.remaining() < Integer.BYTES) {
+                drain(channel, buffer);
+            }
+            IntBuffer view = buffer.asIntBuffer();
+            int count = Math.min(view.remaining(), values.remaining());
+            IntBuffer chunk = values.slice();
+            chunk.limit(count);
+            view.put(chunk);
+            values.position(values.position() + count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+        }
+    }
+
+    static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,131 @@
+package fr.charles.algovisualizer.algorithms.graph.io;
+
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads the 9th DIMACS challenge shortest-path format ({@code .gr}):
+ * <pre>
+ * c comment
+ * p sp &lt;nodes&gt; &lt;arcs&gt;
+ * a &lt;from&gt; &lt;to&gt; &lt;weight&gt;
+ * </pre>
+ * Node ids are 1-based in the file and 0-based in the returned graph. The parser works on raw
+ * bytes to avoid creating one String per line on multi-million-arc files.
+ */
+public final class DimacsGraphReader {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final InputStream in;
+    private int lookahead;
+
+    private DimacsGraphReader(InputStream in) {
+        this.in = in;
+    }
+
+    public static CsrGraph read(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+            return read(in);
+        }
+    }
+
+    public static CsrGraph read(InputStream in) throws IOException {
+        return new DimacsGraphReader(in).parse();
+    }
+
+    private CsrGraph parse() throws IOException {
+        int nodeCount = -1;
+        int arcCount = 0;
+        int[] sources = null;
+        int[] targets = null;
+        int[] weights = null;
+        int arc = 0;
+
+        lookahead = in.read();
+        while (lookahead != -1) {
+            int type = lookahead;
+            if (type == 'p') {
+                lookahead = in.read();
+                skipSpaces();
+                expectWord("sp");
+                nodeCount = readInt();
+                arcCount = readInt();
+                sources = new int[arcCount];
+                targets = new int[arcCount];
+                weights = new int[arcCount];
+            } else if (type == 'a') {
+                if (sources == null) {
+                    throw new IOException("Arc before problem line");
+                }
+                if (arc == arcCount) {
+                    throw new IOException("More arcs than declared in the problem line");
+                }
+                lookahead = in.read();
+                sources[arc] = readInt() - 1;
+                targets[arc] = readInt() - 1;
+                weights[arc] = readInt();
+                arc++;
+            } else if (type != 'c' && type != '\n' && type != '\r') {
+                throw new IOException("Unexpected line type '" + (char) type + "'");
+            }
+            skipLine();
+        }
+        if (sources == null) {
+            throw new IOException("Missing problem line");
+        }
+        if (arc != arcCount) {
+            throw new IOException("Expected " + arcCount + " arcs but found " + arc);
+        }
+        return CsrGraph.fromEdges(nodeCount, sources, targets, weights);
+    }
+
+    private void expectWord(String word) throws IOException {
+        for (int i = 0; i < word.length(); i++) {
+            if (lookahead != word.charAt(i)) {
+                throw new IOException("Expected '" + word + "' in problem line");
+            }
+            lookahead = in.read();
+        }
+    }
+
+    private void skipSpaces() throws IOException {
+        while (lookahead == ' ' || lookahead == '\t') {
+            lookahead = in.read();
+        }
+    }
+
+    private void skipLine() throws IOException {
+        while (lookahead != -1 && lookahead != '\n') {
+            lookahead = in.read();
+        }
+        if (lookahead == '\n') {
+            lookahead = in.read();
+        }
+    }
+
+    private int readInt() throws IOException {
+        skipSpaces();
+        boolean negative = lookahead == '-';
+        if (negative) {
+            lookahead = in.read();
+        }
+        if (lookahead < '0' || lookahead > '9') {
+            throw new IOException("Expected a number");
+        }
+        long value = 0;
+        while (lookahead >= '0' && lookahead <= '9') {
+            value = value * 10 + (lookahead - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw new IOException("Number too large");
+            }
+            lookahead = in.read();
+        }
+        return (int) (negative ? -value : value);
+    }
+}
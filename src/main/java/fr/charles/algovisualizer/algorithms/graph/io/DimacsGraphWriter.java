@@ -0,0 +1,41 @@
+package fr.charles.algovisualizer.algorithms.graph.io;
+
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes a {@link CsrGraph} back to the DIMACS {@code .gr} text format (1-based node ids).
+ */
+public final class DimacsGraphWriter {
+
+    private DimacsGraphWriter() {
+    }
+
+    public static void write(CsrGraph graph, Path file) throws IOException {
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.US_ASCII), 1 << 20)) {
+            write(graph, out);
+        }
+    }
+
+    public static void write(CsrGraph graph, Writer out) throws IOException {
+        out.write("p sp " + graph.nodeCount() + " " + graph.edgeCount() + "\n");
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                out.write("a ");
+                out.write(Integer.toString(u + 1));
+                out.write(' ');
+                out.write(Integer.toString(graph.target(e) + 1));
+                out.write(' ');
+                out.write(Integer.toString(graph.weight(e)));
+                out.write('\n');
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,52 @@
+package fr.charles.algovisualizer.algorithms.graph.io;
+
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Command line conversion between DIMACS {@code .gr} and binary {@code .csr} graph files.
+ * The direction is picked from the input file extension.
+ * <pre>
+ * ./mvnw -q exec:java -Dexec.mainClass=fr.charles.algovisualizer.algorithms.graph.io.GraphFileConverter \
+ *     -Dexec.args="USA-road-d.NY.gr USA-road-d.NY.csr"
+ * </pre>
+ */
+public final class GraphFileConverter {
+
+    private GraphFileConverter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: GraphFileConverter <input.gr|input.csr> <output.csr|output.gr>");
+            System.exit(1);
+        }
+        Path input = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        long begin = System.nanoTime();
+        CsrGraph graph = load(input);
+        long loaded = System.nanoTime();
+        if (isDimacs(output)) {
+            DimacsGraphWriter.write(graph, output);
+        } else {
+            CsrGraphFile.write(graph, output);
+        }
+        long written = System.nanoTime();
+        System.out.printf(Locale.ROOT, "%d nodes, %d edges: read in %d ms, written in %d ms%n",
+                graph.nodeCount(), graph.edgeCount(), (loaded - begin) / 1_000_000, (written - loaded) / 1_000_000);
+    }
+
+    /**
+     * Loads a graph file: DIMACS text is parsed onto the heap, binary CSR is memory-mapped.
+     */
+    public static CsrGraph load(Path file) throws IOException {
+        return isDimacs(file) ? DimacsGraphReader.read(file) : CsrGraphFile.map(file);
+    }
+
+    private static boolean isDimacs(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gr");
+    }
+}
@@ -0,0 +1,15 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+/**
+ * One stage of a bitonic sorting network: every element {@code i} is compare-exchanged with
+ * {@code i ^ j}, ascending where {@code i & direction == 0} and descending elsewhere. Applied
+ * for {@code k = 2, 4, ..., blockSize} and {@code j = k/2, ..., 1} with {@code direction = k}
+ * (0 for the last merge, {@code k = blockSize}, so that every block ends up ascending), it
+ * sorts each aligned block of {@code blockSize} elements.
+ */
+interface BitonicKernel {
+
+    void compareExchange(int[] a, int length, int direction, int j);
+
+    String name();
+}
@@ -1,5 +1,6 @@
 package fr.charles.algovisualizer.algorithms.sorting;
 
+import fr.charles.algovisualizer.algorithms.CancellationToken;
 import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,10 +12,12 @@ public class BubbleSort implements SortingAlgorithm {
     public List<int[]> sort(int[] array) {
         // Déclarez et initialisez la variable steps pour stocker les étapes
         List<int[]> steps = new ArrayList<>();
+        CancellationToken token = CancellationToken.current();
         int n = array.length;
 
         for (int i = 0; i < n - 1; i++) {
             for (int j = 0; j < n - i - 1; j++) {
+                token.throwIfCancelled();
                 if (array[j] > array[j + 1]) {
                     // Échange des éléments
                     int temp = array[j];
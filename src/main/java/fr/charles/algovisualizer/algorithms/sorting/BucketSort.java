@@ -1,8 +1,9 @@
 package fr.charles.algovisualizer.algorithms.sorting;
 
+import fr.charles.algovisualizer.algorithms.CancellationToken;
 import org.springframework.stereotype.Component;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
 @Component
@@ -11,6 +12,7 @@ public class BucketSort implements SortingAlgorithm {
     @Override
     public List<int[]> sort(int[] array) {
         List<int[]> steps = new ArrayList<>();
+        CancellationToken token = CancellationToken.current();
         int[] arr = array.clone();
         int n = arr.length;
         
@@ -29,19 +31,18 @@ public class BucketSort implements SortingAlgorithm {
             if (arr[i] < minValue) minValue = arr[i];
         }
         
-        int range = maxValue - minValue + 1;
+        long range = (long) maxValue - minValue + 1;
         int bucketCount = Math.max(1, n / 2); // Use n/2 buckets for better distribution
         
         // Create empty buckets
-        @SuppressWarnings("unchecked")
-        ArrayList<Integer>[] buckets = new ArrayList[bucketCount];
+        IntBucket[] buckets = new IntBucket[bucketCount];
         for (int i = 0; i < bucketCount; i++) {
-            buckets[i] = new ArrayList<>();
+            buckets[i] = new IntBucket();
         }
         
         // Distribute elements into buckets
         for (int i = 0; i < n; i++) {
-            int bucketIndex = (int) ((long)(arr[i] - minValue) * bucketCount / range);
+            int bucketIndex = (int) (((long) arr[i] - minValue) * bucketCount / range);
             if (bucketIndex >= bucketCount) bucketIndex = bucketCount - 1; // Handle edge case
             buckets[bucketIndex].add(arr[i]);
         }
@@ -50,11 +51,12 @@ public class BucketSort implements SortingAlgorithm {
         int index = 0;
         for (int i = 0; i < bucketCount; i++) {
             // Sort the bucket
-            Collections.sort(buckets[i]);
+            buckets[i].sort();
             
             // Copy sorted elements back to array
-            for (int j = 0; j < buckets[i].size(); j++) {
-                arr[index++] = buckets[i].get(j);
+            for (int j = 0; j < buckets[i].size; j++) {
+                arr[index++] = buckets[i].values[j];
+                token.throwIfCancelled();
                 
                 // Record step after each element placement
                 steps.add(arr.clone());
@@ -64,6 +66,27 @@ public class BucketSort implements SortingAlgorithm {
         return steps;
     }
 
+    /**
+     * Growable int list, so bucketing does not box every element.
+     */
+    private static final class IntBucket {
+        private static final int[] EMPTY = new int[0];
+
+        int[] values = EMPTY;
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.max(4, size * 2));
+            }
+            values[size++] = value;
+        }
+
+        void sort() {
+            Arrays.sort(values, 0, size);
+        }
+    }
+
     @Override
     public String getName() {
         return "Bucket Sort";
@@ -0,0 +1,155 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Yaroslavskiy's dual-pivot quicksort, the scheme behind {@code Arrays.sort(int[])}. The two
+ * pivots are the second and fourth of five evenly spaced samples, splitting the range into
+ * {@code < p}, {@code p..q} and {@code > q}. Equal pivots fall back to a three-way partition,
+ * and a large middle part has its copies of the pivots moved aside before being recursed into.
+ */
+@Component
+public class DualPivotQuickSort implements SortingAlgorithm {
+
+    private static final int INSERTION_SORT_THRESHOLD = 27;
+
+    @Override
+    public List<int[]> sort(int[] array) {
+        List<int[]> steps = new ArrayList<>();
+        int[] arr = array.clone();
+        steps.add(arr.clone());
+        sort(arr, 0, arr.length - 1, steps);
+        return steps;
+    }
+
+    private void sort(int[] arr, int left, int right, List<int[]> steps) {
+        int length = right - left + 1;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            insertionSort(arr, left, right, steps);
+            return;
+        }
+
+        int seventh = (length >> 3) + (length >> 6) + 1;
+        int e3 = (left + right) >>> 1;
+        int e2 = e3 - seventh;
+        int e1 = e2 - seventh;
+        int e4 = e3 + seventh;
+        int e5 = e4 + seventh;
+        sortSamples(arr, new int[]{e1, e2, e3, e4, e5}, steps);
+
+        if (arr[e2] == arr[e4]) {
+            partitionAroundOnePivot(arr, left, right, arr[e3], steps);
+            return;
+        }
+
+        swap(arr, left, e2, steps);
+        swap(arr, right, e4, steps);
+        int p = arr[left];
+        int q = arr[right];
+
+        int less = left + 1;
+        int great = right - 1;
+        for (int k = less; k <= great; k++) {
+            if (arr[k] < p) {
+                swap(arr, k, less++, steps);
+            } else if (arr[k] > q) {
+                while (arr[great] > q && k < great) {
+                    great--;
+                }
+                swap(arr, k, great--, steps);
+                if (arr[k] < p) {
+                    swap(arr, k, less++, steps);
+                }
+            }
+        }
+        less--;
+        great++;
+        swap(arr, left, less, steps);
+        swap(arr, right, great, steps);
+
+        sort(arr, left, less - 1, steps);
+        sort(arr, great + 1, right, steps);
+
+        if (great - less > length * 2 / 3) {
+            // Many copies of the pivots: gather them at the ends of the middle part
+            int lo = less + 1;
+            int hi = great - 1;
+            for (int k = lo; k <= hi; k++) {
+                if (arr[k] == p) {
+                    swap(arr, k, lo++, steps);
+                } else if (arr[k] == q) {
+                    while (arr[hi] == q && k < hi) {
+                        hi--;
+                    }
+                    swap(arr, k, hi--, steps);
+                    if (arr[k] == p) {
+                        swap(arr, k, lo++, steps);
+                    }
+                }
+            }
+            sort(arr, lo, hi, steps);
+        } else {
+            sort(arr, less + 1, great - 1, steps);
+        }
+    }
+
+    private void partitionAroundOnePivot(int[] arr, int left, int right, int pivot, List<int[]> steps) {
+        int less = left;
+        int great = right;
+        int k = left;
+        while (k <= great) {
+            if (arr[k] < pivot) {
+                swap(arr, k++, less++, steps);
+            } else if (arr[k] > pivot) {
+                swap(arr, k, great--, steps);
+            } else {
+                k++;
+            }
+        }
+        sort(arr, left, less - 1, steps);
+        sort(arr, great + 1, right, steps);
+    }
+
+    private void sortSamples(int[] arr, int[] samples, List<int[]> steps) {
+        for (int i = 1; i < samples.length; i++) {
+            for (int j = i; j > 0 && arr[samples[j]] < arr[samples[j - 1]]; j--) {
+                swap(arr, samples[j], samples[j - 1], steps);
+            }
+        }
+    }
+
+    private void insertionSort(int[] arr, int left, int right, List<int[]> steps) {
+        for (int i = left + 1; i <= right; i++) {
+            int value = arr[i];
+            int j = i - 1;
+            while (j >= left && arr[j] > value) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            if (j != i - 1) {
+                arr[j + 1] = value;
+                record(arr, steps);
+            }
+        }
+    }
+
+    private void swap(int[] arr, int i, int j, List<int[]> steps) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+        record(arr, steps);
+    }
+
+    private void record(int[] arr, List<int[]> steps) {
+        CancellationToken.check();
+        steps.add(arr.clone());
+    }
+
+    @Override
+    public String getName() {
+        return "Dual Pivot Quick Sort";
+    }
+}
@@ -0,0 +1,102 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the array described by an {@link InputSpec}. Values lie in {@code [0, n)}.
+ * <p>
+ * The array is filled in fixed-size blocks, each drawing from its own {@link SplittableRandom}
+ * split off the seed in block order, so the result does not depend on whether the blocks are
+ * filled sequentially or in parallel. The caller's {@link CancellationToken} is checked once per
+ * block, including on the worker threads of a parallel fill, and once per block of swaps.
+ */
+public final class InputGenerator {
+
+    static final int BLOCK_SIZE = 1 << 14;
+    private static final int PARALLEL_THRESHOLD = 1 << 17;
+
+    private InputGenerator() {
+    }
+
+    public static int[] generate(InputSpec spec) {
+        int n = spec.n();
+        int[] array = new int[n];
+        int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        SplittableRandom root = new SplittableRandom(spec.seed());
+        SplittableRandom[] randoms = new SplittableRandom[blocks];
+        for (int block = 0; block < blocks; block++) {
+            randoms[block] = root.split();
+        }
+        IntStream indices = IntStream.range(0, blocks);
+        if (n >= PARALLEL_THRESHOLD) {
+            indices = indices.parallel();
+        }
+        CancellationToken token = CancellationToken.current();
+        indices.forEach(block -> {
+            token.throwIfCancelled();
+            fill(spec, array, block * BLOCK_SIZE, Math.min(n, (block + 1) * BLOCK_SIZE), randoms[block]);
+        });
+
+        if (spec.distribution() == InputSpec.Distribution.NEARLY_SORTED && n > 1) {
+            // Swaps are applied in order so that overlapping swaps stay deterministic
+            for (int swap = 0; swap < spec.k(); swap++) {
+                if (swap % BLOCK_SIZE == 0) {
+                    token.throwIfCancelled();
+                }
+                int i = root.nextInt(n);
+                int j = root.nextInt(n);
+                int temp = array[i];
+                array[i] = array[j];
+                array[j] = temp;
+            }
+        }
+        return array;
+    }
+
+    private static void fill(InputSpec spec, int[] array, int from, int to, SplittableRandom random) {
+        int n = spec.n();
+        switch (spec.distribution()) {
+            case UNIFORM -> {
+                for (int i = from; i < to; i++) {
+                    array[i] = random.nextInt(n);
+                }
+            }
+            case NEARLY_SORTED -> {
+                for (int i = from; i < to; i++) {
+                    array[i] = i;
+                }
+            }
+            case REVERSED -> {
+                for (int i = from; i < to; i++) {
+                    array[i] = n - 1 - i;
+                }
+            }
+            case FEW_UNIQUE -> {
+                int distinct = Math.min(spec.k(), n);
+                for (int i = from; i < to; i++) {
+                    array[i] = (int) ((long) random.nextInt(distinct) * n / distinct);
+                }
+            }
+            case SAWTOOTH -> {
+                int period = Math.max(1, (n + spec.k() - 1) / spec.k());
+                for (int i = from; i < to; i++) {
+                    array[i] = (int) ((long) (i % period) * n / period);
+                }
+            }
+            case ORGAN_PIPE -> {
+                for (int i = from; i < to; i++) {
+                    array[i] = 2 * Math.min(i, n - 1 - i);
+                }
+            }
+            case SKEWED -> {
+                // Values bunch up near 0: half of them fall below n / 2^k
+                for (int i = from; i < to; i++) {
+                    array[i] = (int) (n * Math.pow(random.nextDouble(), spec.k()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.util.Locale;
+
+/**
+ * Describes a generated input array. Two equal specs always produce the same array, so a spec
+ * can stand in for its array as a cache key.
+ * <p>
+ * {@code k} depends on the distribution: the number of random swaps for
+ * {@link Distribution#NEARLY_SORTED}, at most {@code n}, the number of distinct values for
+ * {@link Distribution#FEW_UNIQUE}, the number of teeth for {@link Distribution#SAWTOOTH} and
+ * the exponent applied to uniform draws in {@code [0, 1)} for {@link Distribution#SKEWED}.
+ * It is ignored by the other distributions. When it is 0, a default based on {@code n} is used.
+ */
+public record InputSpec(Distribution distribution, int n, long seed, int k) {
+
+    public static final int MAX_SIZE = 1 << 24;
+
+    public enum Distribution {
+        UNIFORM, NEARLY_SORTED, REVERSED, FEW_UNIQUE, SAWTOOTH, ORGAN_PIPE, SKEWED;
+
+        @JsonCreator
+        public static Distribution of(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    public InputSpec {
+        if (distribution == null) {
+            throw new IllegalArgumentException("Distribution manquante");
+        }
+        if (n < 0 || n > MAX_SIZE) {
+            throw new IllegalArgumentException("Taille invalide : " + n);
+        }
+        // More swaps than elements would only burn time
+        if (k < 0 || distribution == Distribution.NEARLY_SORTED && k > n) {
+            throw new IllegalArgumentException("Paramètre k invalide : " + k);
+        }
+        k = switch (distribution) {
+            case NEARLY_SORTED -> k == 0 ? Math.max(1, n / 100) : k;
+            case FEW_UNIQUE -> k == 0 ? 8 : k;
+            case SAWTOOTH, SKEWED -> k == 0 ? 4 : k;
+            default -> 0;
+        };
+    }
+}
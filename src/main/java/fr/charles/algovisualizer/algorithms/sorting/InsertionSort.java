@@ -1,5 +1,6 @@
 package fr.charles.algovisualizer.algorithms.sorting;
 
+import fr.charles.algovisualizer.algorithms.CancellationToken;
 import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
@@ -10,6 +11,7 @@ public class InsertionSort implements SortingAlgorithm {
     @Override
     public List<int[]> sort(int[] array) {
         List<int[]> steps = new ArrayList<>();
+        CancellationToken token = CancellationToken.current();
         int n = array.length;
 
         for (int i = 1; i < n; ++i) {
@@ -17,11 +19,13 @@ public class InsertionSort implements SortingAlgorithm {
             int j = i - 1;
 
             while (j >= 0 && array[j] > key) {
+                token.throwIfCancelled();
                 array[j + 1] = array[j];
                 j = j - 1;
                 steps.add(array.clone());
             }
             array[j + 1] = key;
+            token.throwIfCancelled();
             steps.add(array.clone());
         }
 
@@ -1,5 +1,6 @@
 package fr.charles.algovisualizer.algorithms.sorting;
 
+import fr.charles.algovisualizer.algorithms.CancellationToken;
 import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
@@ -7,36 +8,36 @@ import java.util.List;
 @Component
 public class MergeSort implements SortingAlgorithm {
 
-    private List<int[]> steps;
+    private static final int INSERTION_SORT_RUN = 32;
 
     @Override
     public List<int[]> sort(int[] array) {
-        steps = new ArrayList<>();
+        List<int[]> steps = new ArrayList<>();
         int[] arr = array.clone();
         
         // Record initial state
         steps.add(arr.clone());
         
         // Start merge sort
-        mergeSort(arr, 0, arr.length - 1);
+        mergeSort(arr, 0, arr.length - 1, steps, CancellationToken.current());
         
         return steps;
     }
 
-    private void mergeSort(int[] arr, int left, int right) {
+    private void mergeSort(int[] arr, int left, int right, List<int[]> steps, CancellationToken token) {
         if (left < right) {
             int mid = left + (right - left) / 2;
             
             // Sort first and second halves
-            mergeSort(arr, left, mid);
-            mergeSort(arr, mid + 1, right);
+            mergeSort(arr, left, mid, steps, token);
+            mergeSort(arr, mid + 1, right, steps, token);
             
             // Merge the sorted halves
-            merge(arr, left, mid, right);
+            merge(arr, left, mid, right, steps, token);
         }
     }
 
-    private void merge(int[] arr, int left, int mid, int right) {
+    private void merge(int[] arr, int left, int mid, int right, List<int[]> steps, CancellationToken token) {
         // Find sizes of two subarrays to be merged
         int n1 = mid - left + 1;
         int n2 = right - mid;
@@ -68,6 +69,7 @@ public class MergeSort implements SortingAlgorithm {
             k++;
             
             // Record step after each merge operation
+            token.throwIfCancelled();
             steps.add(arr.clone());
         }
 
@@ -76,6 +78,7 @@ public class MergeSort implements SortingAlgorithm {
             arr[k] = L[i];
             i++;
             k++;
+            token.throwIfCancelled();
             steps.add(arr.clone());
         }
 
@@ -84,10 +87,52 @@ public class MergeSort implements SortingAlgorithm {
             arr[k] = R[j];
             j++;
             k++;
+            token.throwIfCancelled();
             steps.add(arr.clone());
         }
     }
 
+    /**
+     * Untraced bottom-up merge sort of {@code arr[0, length)}, for inputs too large to record.
+     * {@code buffer} must hold {@code length} elements; runs of {@value #INSERTION_SORT_RUN}
+     * are insertion sorted first, then merged back and forth between the two arrays.
+     */
+    public static void sort(int[] arr, int[] buffer, int length) {
+        for (int from = 0; from < length; from += INSERTION_SORT_RUN) {
+            int to = Math.min(from + INSERTION_SORT_RUN, length);
+            for (int i = from + 1; i < to; i++) {
+                int value = arr[i];
+                int j = i - 1;
+                while (j >= from && arr[j] > value) {
+                    arr[j + 1] = arr[j];
+                    j--;
+                }
+                arr[j + 1] = value;
+            }
+        }
+        int[] source = arr;
+        int[] target = buffer;
+        for (int width = INSERTION_SORT_RUN; width < length; width *= 2) {
+            CancellationToken.check();
+            for (int left = 0; left < length; left += 2 * width) {
+                int mid = Math.min(left + width, length);
+                int right = Math.min(left + 2 * width, length);
+                int i = left, j = mid, k = left;
+                while (i < mid && j < right) {
+                    target[k++] = source[i] <= source[j] ? source[i++] : source[j++];
+                }
+                System.arraycopy(source, i, target, k, mid - i);
+                System.arraycopy(source, j, target, k + mid - i, right - j);
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != arr) {
+            System.arraycopy(source, 0, arr, 0, length);
+        }
+    }
+
     @Override
     public String getName() {
         return "Merge Sort";
@@ -0,0 +1,291 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pattern-defeating quicksort (Orson Peters). Compared to {@link QuickSort}:
+ * <ul>
+ *     <li>the pivot is a median of three, or a ninther above {@value #NINTHER_THRESHOLD} elements;</li>
+ *     <li>partitions smaller than {@value #INSERTION_SORT_THRESHOLD} are insertion sorted;</li>
+ *     <li>a partition that needed no swap is finished with a bounded insertion sort, so sorted
+ *     and reversed runs take linear time;</li>
+ *     <li>runs of elements equal to the previous pivot are skipped in one pass;</li>
+ *     <li>unbalanced partitions shuffle a few elements to break patterns, and a path deeper than
+ *     2·log n partitions falls back to heapsort.</li>
+ * </ul>
+ * Only the smaller side is recursed into, so the stack depth stays within log n.
+ */
+@Component
+public class PdqSort implements SortingAlgorithm {
+
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+    private static final int NINTHER_THRESHOLD = 128;
+    private static final int PARTIAL_INSERTION_SORT_LIMIT = 8;
+
+    @Override
+    public List<int[]> sort(int[] array) {
+        List<int[]> steps = new ArrayList<>();
+        int[] arr = array.clone();
+        steps.add(arr.clone());
+        if (arr.length > 1) {
+            int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(arr.length));
+            pdqSort(arr, 0, arr.length, depthLimit, true, steps, CancellationToken.current());
+        }
+        return steps;
+    }
+
+    private void pdqSort(int[] arr, int begin, int end, int depthLimit, boolean leftmost,
+                         List<int[]> steps, CancellationToken token) {
+        while (true) {
+            int size = end - begin;
+            if (size < INSERTION_SORT_THRESHOLD) {
+                insertionSort(arr, begin, end, steps, token);
+                return;
+            }
+            if (depthLimit-- == 0) {
+                heapSort(arr, begin, end, steps, token);
+                return;
+            }
+
+            int half = size / 2;
+            if (size > NINTHER_THRESHOLD) {
+                sort3(arr, begin, begin + half, end - 1, steps, token);
+                sort3(arr, begin + 1, begin + half - 1, end - 2, steps, token);
+                sort3(arr, begin + 2, begin + half + 1, end - 3, steps, token);
+                sort3(arr, begin + half - 1, begin + half, begin + half + 1, steps, token);
+                swap(arr, begin, begin + half, steps, token);
+            } else {
+                sort3(arr, begin + half, begin, end - 1, steps, token);
+            }
+
+            // The element before a non-leftmost range is a previous pivot, no greater than
+            // anything in the range: if it equals the new pivot, so do all elements moved left
+            if (!leftmost && arr[begin - 1] >= arr[begin]) {
+                begin = partitionLeft(arr, begin, end, steps, token) + 1;
+                continue;
+            }
+
+            int pivotPos = partitionRight(arr, begin, end, steps, token);
+            boolean alreadyPartitioned = pivotPos < 0;
+            if (alreadyPartitioned) {
+                pivotPos = ~pivotPos;
+            }
+
+            int leftSize = pivotPos - begin;
+            int rightSize = end - (pivotPos + 1);
+            boolean highlyUnbalanced = leftSize < size / 8 || rightSize < size / 8;
+            if (highlyUnbalanced) {
+                breakPatterns(arr, begin, pivotPos, end, steps, token);
+            } else if (alreadyPartitioned
+                    && partialInsertionSort(arr, begin, pivotPos, steps, token)
+                    && partialInsertionSort(arr, pivotPos + 1, end, steps, token)) {
+                return;
+            }
+
+            if (leftSize < rightSize) {
+                pdqSort(arr, begin, pivotPos, depthLimit, leftmost, steps, token);
+                begin = pivotPos + 1;
+                leftmost = false;
+            } else {
+                pdqSort(arr, pivotPos + 1, end, depthLimit, false, steps, token);
+                end = pivotPos;
+            }
+        }
+    }
+
+    /**
+     * Partitions around {@code arr[begin]} with equal elements on the right. Returns the final
+     * pivot position, bitwise complemented when no element had to be swapped.
+     */
+    private int partitionRight(int[] arr, int begin, int end, List<int[]> steps, CancellationToken token) {
+        int pivot = arr[begin];
+        int first = begin;
+        int last = end;
+
+        // The pivot selection left an element >= pivot at the end, so this scan is bounded
+        while (arr[++first] < pivot) {
+        }
+        if (first - 1 == begin) {
+            while (first < last && arr[--last] >= pivot) {
+            }
+        } else {
+            while (arr[--last] >= pivot) {
+            }
+        }
+
+        boolean alreadyPartitioned = first >= last;
+        while (first < last) {
+            swap(arr, first, last, steps, token);
+            while (arr[++first] < pivot) {
+            }
+            while (arr[--last] >= pivot) {
+            }
+        }
+
+        int pivotPos = first - 1;
+        arr[begin] = arr[pivotPos];
+        arr[pivotPos] = pivot;
+        record(arr, steps, token);
+        return alreadyPartitioned ? ~pivotPos : pivotPos;
+    }
+
+    /**
+     * Partitions around {@code arr[begin]} with equal elements on the left and returns the final
+     * pivot position.
+     */
+    private int partitionLeft(int[] arr, int begin, int end, List<int[]> steps, CancellationToken token) {
+        int pivot = arr[begin];
+        int first = begin;
+        int last = end;
+
+        while (pivot < arr[--last]) {
+        }
+        if (last + 1 == end) {
+            while (first < last && pivot >= arr[++first]) {
+            }
+        } else {
+            while (pivot >= arr[++first]) {
+            }
+        }
+
+        while (first < last) {
+            swap(arr, first, last, steps, token);
+            while (pivot < arr[--last]) {
+            }
+            while (pivot >= arr[++first]) {
+            }
+        }
+
+        arr[begin] = arr[last];
+        arr[last] = pivot;
+        record(arr, steps, token);
+        return last;
+    }
+
+    private void breakPatterns(int[] arr, int begin, int pivotPos, int end, List<int[]> steps, CancellationToken token) {
+        int leftSize = pivotPos - begin;
+        int rightSize = end - (pivotPos + 1);
+        if (leftSize >= INSERTION_SORT_THRESHOLD) {
+            int quarter = leftSize / 4;
+            swap(arr, begin, begin + quarter, steps, token);
+            swap(arr, pivotPos - 1, pivotPos - quarter, steps, token);
+            if (leftSize > NINTHER_THRESHOLD) {
+                swap(arr, begin + 1, begin + quarter + 1, steps, token);
+                swap(arr, begin + 2, begin + quarter + 2, steps, token);
+                swap(arr, pivotPos - 2, pivotPos - quarter - 1, steps, token);
+                swap(arr, pivotPos - 3, pivotPos - quarter - 2, steps, token);
+            }
+        }
+        if (rightSize >= INSERTION_SORT_THRESHOLD) {
+            int quarter = rightSize / 4;
+            swap(arr, pivotPos + 1, pivotPos + 1 + quarter, steps, token);
+            swap(arr, end - 1, end - quarter, steps, token);
+            if (rightSize > NINTHER_THRESHOLD) {
+                swap(arr, pivotPos + 2, pivotPos + 2 + quarter, steps, token);
+                swap(arr, pivotPos + 3, pivotPos + 3 + quarter, steps, token);
+                swap(arr, end - 2, end - quarter - 1, steps, token);
+                swap(arr, end - 3, end - quarter - 2, steps, token);
+            }
+        }
+    }
+
+    private void insertionSort(int[] arr, int begin, int end, List<int[]> steps, CancellationToken token) {
+        for (int cur = begin + 1; cur < end; cur++) {
+            int value = arr[cur];
+            int sift = cur;
+            while (sift > begin && value < arr[sift - 1]) {
+                arr[sift] = arr[sift - 1];
+                sift--;
+            }
+            if (sift != cur) {
+                arr[sift] = value;
+                record(arr, steps, token);
+            }
+        }
+    }
+
+    /**
+     * Insertion sort that gives up once more than {@value #PARTIAL_INSERTION_SORT_LIMIT} elements
+     * have been moved. Returns whether the range ended up sorted.
+     */
+    private boolean partialInsertionSort(int[] arr, int begin, int end, List<int[]> steps, CancellationToken token) {
+        int moved = 0;
+        for (int cur = begin + 1; cur < end; cur++) {
+            int value = arr[cur];
+            int sift = cur;
+            while (sift > begin && value < arr[sift - 1]) {
+                arr[sift] = arr[sift - 1];
+                sift--;
+            }
+            if (sift != cur) {
+                arr[sift] = value;
+                moved += cur - sift;
+                record(arr, steps, token);
+                if (moved > PARTIAL_INSERTION_SORT_LIMIT) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void heapSort(int[] arr, int begin, int end, List<int[]> steps, CancellationToken token) {
+        int size = end - begin;
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(arr, begin, i, size, steps, token);
+        }
+        for (int last = size - 1; last > 0; last--) {
+            swap(arr, begin, begin + last, steps, token);
+            siftDown(arr, begin, 0, last, steps, token);
+        }
+    }
+
+    private void siftDown(int[] arr, int offset, int root, int size, List<int[]> steps, CancellationToken token) {
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && arr[offset + child + 1] > arr[offset + child]) {
+                child++;
+            }
+            if (arr[offset + root] >= arr[offset + child]) {
+                return;
+            }
+            swap(arr, offset + root, offset + child, steps, token);
+            root = child;
+        }
+    }
+
+    private void sort3(int[] arr, int a, int b, int c, List<int[]> steps, CancellationToken token) {
+        if (arr[b] < arr[a]) {
+            swap(arr, a, b, steps, token);
+        }
+        if (arr[c] < arr[b]) {
+            swap(arr, b, c, steps, token);
+        }
+        if (arr[b] < arr[a]) {
+            swap(arr, a, b, steps, token);
+        }
+    }
+
+    private void swap(int[] arr, int i, int j, List<int[]> steps, CancellationToken token) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+        record(arr, steps, token);
+    }
+
+    private void record(int[] arr, List<int[]> steps, CancellationToken token) {
+        token.throwIfCancelled();
+        steps.add(arr.clone());
+    }
+
+    @Override
+    public String getName() {
+        return "Pdq Sort";
+    }
+}
@@ -0,0 +1,187 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Untraced sorts over primitive keys that never box an element. Every element type is mapped
+ * to a {@code long} whose signed order is the wanted order, and one stable LSD radix sort
+ * (8-bit digits, passes where every key shares the digit are skipped) sorts those keys,
+ * optionally dragging an {@code int} payload along.
+ * <p>
+ * Doubles follow {@link Double#compare}: {@code -0.0} before {@code 0.0}, and NaN after
+ * positive infinity. NaNs come back as the canonical {@link Double#NaN}.
+ * <p>
+ * Records are sorted by extracting their key once into a {@code long[]}, sorting the indices
+ * with the keys, then permuting the array. The sort is stable.
+ */
+public final class PrimitiveSort {
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+
+    private PrimitiveSort() {
+    }
+
+    public static void sort(int[] array) {
+        long[] keys = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            keys[i] = array[i];
+        }
+        sortKeys(keys, null, Integer.BYTES);
+        for (int i = 0; i < array.length; i++) {
+            array[i] = (int) keys[i];
+        }
+    }
+
+    public static void sort(long[] array) {
+        sortKeys(array, null, Long.BYTES);
+    }
+
+    public static void sort(double[] array) {
+        long[] keys = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            keys[i] = sortableBits(array[i]);
+        }
+        sortKeys(keys, null, Long.BYTES);
+        for (int i = 0; i < array.length; i++) {
+            array[i] = fromSortableBits(keys[i]);
+        }
+    }
+
+    public static <T> void sortByIntKey(T[] items, ToIntFunction<? super T> key) {
+        long[] keys = new long[items.length];
+        for (int i = 0; i < items.length; i++) {
+            keys[i] = key.applyAsInt(items[i]);
+        }
+        permute(items, keys, Integer.BYTES);
+    }
+
+    public static <T> void sortByLongKey(T[] items, ToLongFunction<? super T> key) {
+        long[] keys = new long[items.length];
+        for (int i = 0; i < items.length; i++) {
+            keys[i] = key.applyAsLong(items[i]);
+        }
+        permute(items, keys, Long.BYTES);
+    }
+
+    public static <T> void sortByDoubleKey(T[] items, ToDoubleFunction<? super T> key) {
+        long[] keys = new long[items.length];
+        for (int i = 0; i < items.length; i++) {
+            keys[i] = sortableBits(key.applyAsDouble(items[i]));
+        }
+        permute(items, keys, Long.BYTES);
+    }
+
+    /**
+     * Maps a double to a long with the same order as {@link Double#compare}: negative values
+     * have their magnitude bits flipped so larger magnitudes sort first. The mapping is its
+     * own inverse.
+     */
+    static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    static double fromSortableBits(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    private static <T> void permute(T[] items, long[] keys, int keyBytes) {
+        int n = items.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        sortKeys(keys, order, keyBytes);
+        T[] copy = items.clone();
+        for (int i = 0; i < n; i++) {
+            items[i] = copy[order[i]];
+        }
+    }
+
+    /**
+     * Sorts {@code keys} as signed values of {@code keyBytes} bytes, applying the same moves
+     * to {@code payload} when it is not null.
+     */
+    private static void sortKeys(long[] keys, int[] payload, int keyBytes) {
+        int n = keys.length;
+        if (n < INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, payload);
+            return;
+        }
+
+        // One read fills the histograms of every digit; the top digit has its sign bit flipped
+        int[][] counts = new int[keyBytes][RADIX];
+        int signShift = keyBytes * 8 - RADIX_BITS;
+        for (long key : keys) {
+            for (int d = 0; d < keyBytes; d++) {
+                counts[d][digit(key, d, signShift)]++;
+            }
+        }
+
+        long[] keyBuffer = new long[n];
+        int[] payloadBuffer = payload != null ? new int[n] : null;
+        long[] fromKeys = keys;
+        int[] fromPayload = payload;
+        for (int d = 0; d < keyBytes; d++) {
+            int[] count = counts[d];
+            if (count[digit(fromKeys[0], d, signShift)] == n) {
+                continue;
+            }
+            CancellationToken.check();
+            int sum = 0;
+            for (int b = 0; b < RADIX; b++) {
+                int c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+            long[] toKeys = fromKeys == keys ? keyBuffer : keys;
+            int[] toPayload = fromPayload == payload ? payloadBuffer : payload;
+            for (int i = 0; i < n; i++) {
+                int target = count[digit(fromKeys[i], d, signShift)]++;
+                toKeys[target] = fromKeys[i];
+                if (toPayload != null) {
+                    toPayload[target] = fromPayload[i];
+                }
+            }
+            fromKeys = toKeys;
+            fromPayload = toPayload;
+        }
+        if (fromKeys != keys) {
+            System.arraycopy(fromKeys, 0, keys, 0, n);
+            if (payload != null) {
+                System.arraycopy(fromPayload, 0, payload, 0, n);
+            }
+        }
+    }
+
+    private static int digit(long key, int d, int signShift) {
+        int shift = d * RADIX_BITS;
+        int digit = (int) (key >>> shift) & (RADIX - 1);
+        return shift == signShift ? digit ^ (RADIX >> 1) : digit;
+    }
+
+    private static void insertionSort(long[] keys, int[] payload) {
+        for (int i = 1; i < keys.length; i++) {
+            long key = keys[i];
+            int value = payload != null ? payload[i] : 0;
+            int j = i - 1;
+            while (j >= 0 && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                if (payload != null) {
+                    payload[j + 1] = payload[j];
+                }
+                j--;
+            }
+            keys[j + 1] = key;
+            if (payload != null) {
+                payload[j + 1] = value;
+            }
+        }
+    }
+}
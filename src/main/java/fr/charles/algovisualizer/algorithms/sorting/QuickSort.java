@@ -1,5 +1,6 @@
 package fr.charles.algovisualizer.algorithms.sorting;
 
+import fr.charles.algovisualizer.algorithms.CancellationToken;
 import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +24,7 @@ public class QuickSort implements SortingAlgorithm {
     }
 
     private int partition(int[] array, int low, int high, List<int[]> steps) {
+        CancellationToken token = CancellationToken.current();
         int pivot = array[high];
         int i = low - 1;
 
@@ -32,6 +34,7 @@ public class QuickSort implements SortingAlgorithm {
                 int temp = array[i];
                 array[i] = array[j];
                 array[j] = temp;
+                token.throwIfCancelled();
                 steps.add(array.clone());
             }
         }
@@ -1,5 +1,6 @@
 package fr.charles.algovisualizer.algorithms.sorting;
 
+import fr.charles.algovisualizer.algorithms.CancellationToken;
 import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,6 +25,7 @@ public class RadixSort implements SortingAlgorithm {
         
         // Apply Counting Sort for each digit (units, tens, hundreds, etc.)
         for (int exp = 1; max / exp > 0; exp *= 10) {
+            CancellationToken.check();
             countingSortByDigit(arr, exp, steps);
         }
         
@@ -0,0 +1,165 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel sample sort. Unlike {@link BucketSort}'s equal-width buckets, bucket boundaries are
+ * taken from a sorted random sample of {@value #OVERSAMPLING} elements per bucket, so skewed
+ * inputs still split into buckets of similar sizes.
+ * <ol>
+ *     <li>Classification: chunks are scanned in parallel, each element walking the splitters
+ *     laid out as an implicit binary tree with a branch-free comparison per level; the bucket
+ *     of each element and per-chunk bucket counts are kept.</li>
+ *     <li>Scatter: prefix sums over (bucket, chunk) give every chunk its own slice of every
+ *     bucket, so chunks are moved in parallel without synchronization.</li>
+ *     <li>Buckets are sorted concurrently on the common {@link ForkJoinPool}.</li>
+ * </ol>
+ * The trace has one step per chunk scattered (replayed in chunk order, so it is deterministic)
+ * and one per bucket sorted.
+ */
+@Component
+public class SampleSort implements SortingAlgorithm {
+
+    private static final int OVERSAMPLING = 16;
+    private static final int MIN_BUCKET_SIZE = 16;
+    private static final int MAX_BUCKETS = 64;
+    private static final int MIN_CHUNK_SIZE = 16;
+    private static final long SAMPLE_SEED = 0x5A3F1E5L;
+
+    @Override
+    public List<int[]> sort(int[] array) {
+        List<int[]> steps = new ArrayList<>();
+        int[] arr = array.clone();
+        steps.add(arr.clone());
+        int n = arr.length;
+        if (n < 2) {
+            return steps;
+        }
+        CancellationToken token = CancellationToken.current();
+
+        int buckets = Integer.highestOneBit(Math.max(1, Math.min(MAX_BUCKETS, n / MIN_BUCKET_SIZE)));
+        int levels = Integer.numberOfTrailingZeros(buckets);
+        int[] tree = splitterTree(arr, buckets);
+
+        int chunkCount = Math.max(1, Math.min(4 * ForkJoinPool.getCommonPoolParallelism(), n / MIN_CHUNK_SIZE));
+        int chunkSize = (n + chunkCount - 1) / chunkCount;
+        int chunks = (n + chunkSize - 1) / chunkSize;
+
+        // Classification
+        byte[] oracle = new byte[n];
+        int[][] counts = new int[chunks][buckets];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            token.throwIfCancelled();
+            int[] count = counts[chunk];
+            for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                int bucket = classify(tree, levels, arr[i]);
+                oracle[i] = (byte) bucket;
+                count[bucket]++;
+            }
+        });
+
+        // Prefix sums, bucket-major then chunk, so each chunk owns a slice of every bucket
+        int[][] offsets = new int[chunks][buckets];
+        int[] bucketStart = new int[buckets + 1];
+        int sum = 0;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            bucketStart[bucket] = sum;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                offsets[chunk][bucket] = sum;
+                sum += counts[chunk][bucket];
+            }
+        }
+        bucketStart[buckets] = n;
+
+        // Scatter
+        int[] scattered = new int[n];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            token.throwIfCancelled();
+            int[] next = offsets[chunk].clone();
+            for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                scattered[next[oracle[i]]++] = arr[i];
+            }
+        });
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int[] next = offsets[chunk];
+            for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                int position = next[oracle[i]]++;
+                arr[position] = scattered[position];
+            }
+            steps.add(arr.clone());
+        }
+
+        // Bucket sort
+        IntStream.range(0, buckets).parallel().forEach(bucket -> {
+            token.throwIfCancelled();
+            Arrays.sort(scattered, bucketStart[bucket], bucketStart[bucket + 1]);
+        });
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            int from = bucketStart[bucket];
+            int length = bucketStart[bucket + 1] - from;
+            if (length > 1) {
+                System.arraycopy(scattered, from, arr, from, length);
+                steps.add(arr.clone());
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Picks {@code buckets - 1} splitters from a sorted random sample and lays them out as an
+     * implicit binary search tree: node {@code i} has children {@code 2i} and {@code 2i + 1},
+     * the root is node 1.
+     */
+    private static int[] splitterTree(int[] arr, int buckets) {
+        int[] tree = new int[buckets];
+        if (buckets == 1) {
+            return tree;
+        }
+        SplittableRandom random = new SplittableRandom(SAMPLE_SEED);
+        int sampleSize = Math.min(arr.length, buckets * OVERSAMPLING);
+        int[] sample = new int[sampleSize];
+        for (int i = 0; i < sampleSize; i++) {
+            sample[i] = arr[random.nextInt(arr.length)];
+        }
+        Arrays.sort(sample);
+        int[] splitters = new int[buckets - 1];
+        for (int i = 0; i < splitters.length; i++) {
+            splitters[i] = sample[(int) ((long) (i + 1) * sampleSize / buckets)];
+        }
+        fillTree(tree, 1, splitters, new int[1]);
+        return tree;
+    }
+
+    private static void fillTree(int[] tree, int node, int[] splitters, int[] next) {
+        if (node >= tree.length) {
+            return;
+        }
+        fillTree(tree, 2 * node, splitters, next);
+        tree[node] = splitters[next[0]++];
+        fillTree(tree, 2 * node + 1, splitters, next);
+    }
+
+    /**
+     * Bucket of {@code value}: the number of splitters strictly below it. The comparison feeds
+     * the next index instead of a branch.
+     */
+    private static int classify(int[] tree, int levels, int value) {
+        int node = 1;
+        for (int level = 0; level < levels; level++) {
+            node = 2 * node + (value > tree[node] ? 1 : 0);
+        }
+        return node - tree.length;
+    }
+
+    @Override
+    public String getName() {
+        return "Sample Sort";
+    }
+}
@@ -0,0 +1,24 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+final class ScalarBitonicKernel implements BitonicKernel {
+
+    @Override
+    public void compareExchange(int[] a, int length, int direction, int j) {
+        for (int i = 0; i < length; i++) {
+            int partner = i ^ j;
+            if (partner > i) {
+                boolean ascending = (i & direction) == 0;
+                if ((a[i] > a[partner]) == ascending) {
+                    int temp = a[i];
+                    a[i] = a[partner];
+                    a[partner] = temp;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -1,5 +1,6 @@
 package fr.charles.algovisualizer.algorithms.sorting;
 
+import fr.charles.algovisualizer.algorithms.CancellationToken;
 import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
@@ -10,6 +11,7 @@ public class ShellSort implements SortingAlgorithm {
     @Override
     public List<int[]> sort(int[] array) {
         List<int[]> steps = new ArrayList<>();
+        CancellationToken token = CancellationToken.current();
         int[] arr = array.clone();
         int n = arr.length;
         
@@ -26,6 +28,7 @@ public class ShellSort implements SortingAlgorithm {
                 // Shift earlier gap-sorted elements up until the correct location for arr[i] is found
                 for (j = i; j >= interval && arr[j - interval] > temp; j -= interval) {
                     arr[j] = arr[j - interval];
+                    token.throwIfCancelled();
                     
                     // Record step after each shift
                     steps.add(arr.clone());
@@ -33,6 +36,7 @@ public class ShellSort implements SortingAlgorithm {
                 
                 // Put temp in its correct location
                 arr[j] = temp;
+                token.throwIfCancelled();
                 
                 // Record step after insertion
                 steps.add(arr.clone());
@@ -0,0 +1,487 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TimSort as in {@code java.util.TimSort}, specialised for ints. Natural runs are detected
+ * (descending ones reversed), extended to a minimum run length with binary insertion sort, and
+ * merged under the stack invariants. Merges gallop once one side wins
+ * {@value #MIN_GALLOP} times in a row, with the threshold adapting as they go.
+ */
+@Component
+public class TimSort implements SortingAlgorithm {
+
+    private static final int MIN_MERGE = 32;
+    private static final int MIN_GALLOP = 7;
+    private static final int MAX_RUNS = 49;
+
+    @Override
+    public List<int[]> sort(int[] array) {
+        List<int[]> steps = new ArrayList<>();
+        int[] arr = array.clone();
+        steps.add(arr.clone());
+        new Merger(arr, steps).sort();
+        return steps;
+    }
+
+    static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= n & 1;
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    private static final class Merger {
+
+        private final int[] a;
+        private final List<int[]> steps;
+        private final CancellationToken token = CancellationToken.current();
+        private final int[] runBase = new int[MAX_RUNS];
+        private final int[] runLen = new int[MAX_RUNS];
+        private int stackSize;
+        private int minGallop = MIN_GALLOP;
+        private int[] tmp = new int[0];
+
+        Merger(int[] a, List<int[]> steps) {
+            this.a = a;
+            this.steps = steps;
+        }
+
+        void sort() {
+            int lo = 0;
+            int remaining = a.length;
+            if (remaining < 2) {
+                return;
+            }
+            if (remaining < MIN_MERGE) {
+                binarySort(lo, a.length, lo + countRunAndMakeAscending(lo, a.length));
+                return;
+            }
+
+            int minRun = minRunLength(remaining);
+            do {
+                int length = countRunAndMakeAscending(lo, a.length);
+                if (length < minRun) {
+                    int force = Math.min(remaining, minRun);
+                    binarySort(lo, lo + force, lo + length);
+                    length = force;
+                }
+                runBase[stackSize] = lo;
+                runLen[stackSize] = length;
+                stackSize++;
+                mergeCollapse();
+                lo += length;
+                remaining -= length;
+            } while (remaining != 0);
+
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) {
+                    n--;
+                }
+                mergeAt(n);
+            }
+        }
+
+        private void record() {
+            token.throwIfCancelled();
+            steps.add(a.clone());
+        }
+
+        private int countRunAndMakeAscending(int lo, int hi) {
+            int runHi = lo + 1;
+            if (runHi == hi) {
+                return 1;
+            }
+            if (a[runHi++] < a[lo]) {
+                while (runHi < hi && a[runHi] < a[runHi - 1]) {
+                    runHi++;
+                }
+                for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                    int temp = a[i];
+                    a[i] = a[j];
+                    a[j] = temp;
+                }
+                record();
+            } else {
+                while (runHi < hi && a[runHi] >= a[runHi - 1]) {
+                    runHi++;
+                }
+            }
+            return runHi - lo;
+        }
+
+        private void binarySort(int lo, int hi, int start) {
+            if (start == lo) {
+                start++;
+            }
+            for (; start < hi; start++) {
+                int pivot = a[start];
+                int left = lo;
+                int right = start;
+                while (left < right) {
+                    int mid = (left + right) >>> 1;
+                    if (pivot < a[mid]) {
+                        right = mid;
+                    } else {
+                        left = mid + 1;
+                    }
+                }
+                if (left != start) {
+                    System.arraycopy(a, left, a, left + 1, start - left);
+                    a[left] = pivot;
+                    record();
+                }
+            }
+        }
+
+        /**
+         * Merges until runLen[i - 2] > runLen[i - 1] + runLen[i] and runLen[i - 1] > runLen[i]
+         * hold for the top runs, which keeps run lengths growing at least like Fibonacci.
+         */
+        private void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) {
+                        n--;
+                    }
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        private void mergeAt(int i) {
+            int base1 = runBase[i];
+            int len1 = runLen[i];
+            int base2 = runBase[i + 1];
+            int len2 = runLen[i + 1];
+
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // Elements of run1 already before run2's first and of run2 already after run1's
+            // last are in place
+            int k = gallopRight(a[base2], a, base1, len1, 0);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) {
+                return;
+            }
+            len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+            if (len2 == 0) {
+                return;
+            }
+            if (len1 <= len2) {
+                mergeLo(base1, len1, base2, len2);
+            } else {
+                mergeHi(base1, len1, base2, len2);
+            }
+        }
+
+        private void mergeLo(int base1, int len1, int base2, int len2) {
+            int[] run1 = ensureCapacity(len1);
+            System.arraycopy(a, base1, run1, 0, len1);
+            int cursor1 = 0;
+            int cursor2 = base2;
+            int dest = base1;
+
+            a[dest++] = a[cursor2++];
+            if (--len2 == 0) {
+                System.arraycopy(run1, cursor1, a, dest, len1);
+                record();
+                return;
+            }
+            if (len1 == 1) {
+                System.arraycopy(a, cursor2, a, dest, len2);
+                a[dest + len2] = run1[cursor1];
+                record();
+                return;
+            }
+
+            int gallop = minGallop;
+            outer:
+            while (true) {
+                int count1 = 0;
+                int count2 = 0;
+                do {
+                    if (a[cursor2] < run1[cursor1]) {
+                        a[dest++] = a[cursor2++];
+                        record();
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 0) {
+                            break outer;
+                        }
+                    } else {
+                        a[dest++] = run1[cursor1++];
+                        record();
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 1) {
+                            break outer;
+                        }
+                    }
+                } while ((count1 | count2) < gallop);
+
+                do {
+                    count1 = gallopRight(a[cursor2], run1, cursor1, len1, 0);
+                    if (count1 != 0) {
+                        System.arraycopy(run1, cursor1, a, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        len1 -= count1;
+                        record();
+                        if (len1 <= 1) {
+                            break outer;
+                        }
+                    }
+                    a[dest++] = a[cursor2++];
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+
+                    count2 = gallopLeft(run1[cursor1], a, cursor2, len2, 0);
+                    if (count2 != 0) {
+                        System.arraycopy(a, cursor2, a, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        len2 -= count2;
+                        record();
+                        if (len2 == 0) {
+                            break outer;
+                        }
+                    }
+                    a[dest++] = run1[cursor1++];
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                    gallop--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+                // Leaving galloping mode costs more, so make re-entering it harder
+                gallop = Math.max(gallop, 0) + 2;
+            }
+            minGallop = Math.max(gallop, 1);
+
+            if (len1 == 1) {
+                System.arraycopy(a, cursor2, a, dest, len2);
+                a[dest + len2] = run1[cursor1];
+            } else {
+                System.arraycopy(run1, cursor1, a, dest, len1);
+            }
+            record();
+        }
+
+        private void mergeHi(int base1, int len1, int base2, int len2) {
+            int[] run2 = ensureCapacity(len2);
+            System.arraycopy(a, base2, run2, 0, len2);
+            int cursor1 = base1 + len1 - 1;
+            int cursor2 = len2 - 1;
+            int dest = base2 + len2 - 1;
+
+            a[dest--] = a[cursor1--];
+            if (--len1 == 0) {
+                System.arraycopy(run2, 0, a, dest - (len2 - 1), len2);
+                record();
+                return;
+            }
+            if (len2 == 1) {
+                dest -= len1;
+                cursor1 -= len1;
+                System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+                a[dest] = run2[cursor2];
+                record();
+                return;
+            }
+
+            int gallop = minGallop;
+            outer:
+            while (true) {
+                int count1 = 0;
+                int count2 = 0;
+                do {
+                    if (run2[cursor2] < a[cursor1]) {
+                        a[dest--] = a[cursor1--];
+                        record();
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 0) {
+                            break outer;
+                        }
+                    } else {
+                        a[dest--] = run2[cursor2--];
+                        record();
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 1) {
+                            break outer;
+                        }
+                    }
+                } while ((count1 | count2) < gallop);
+
+                do {
+                    count1 = len1 - gallopRight(run2[cursor2], a, base1, len1, len1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        len1 -= count1;
+                        System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                        record();
+                        if (len1 == 0) {
+                            break outer;
+                        }
+                    }
+                    a[dest--] = run2[cursor2--];
+                    if (--len2 == 1) {
+                        break outer;
+                    }
+
+                    count2 = len2 - gallopLeft(a[cursor1], run2, 0, len2, len2 - 1);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        len2 -= count2;
+                        System.arraycopy(run2, cursor2 + 1, a, dest + 1, count2);
+                        record();
+                        if (len2 <= 1) {
+                            break outer;
+                        }
+                    }
+                    a[dest--] = a[cursor1--];
+                    if (--len1 == 0) {
+                        break outer;
+                    }
+                    gallop--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+                gallop = Math.max(gallop, 0) + 2;
+            }
+            minGallop = Math.max(gallop, 1);
+
+            if (len2 == 1) {
+                dest -= len1;
+                cursor1 -= len1;
+                System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+                a[dest] = run2[cursor2];
+            } else {
+                System.arraycopy(run2, 0, a, dest - (len2 - 1), len2);
+            }
+            record();
+        }
+
+        private int[] ensureCapacity(int length) {
+            if (tmp.length < length) {
+                tmp = new int[Math.max(length, Math.min(a.length / 2, 2 * length))];
+            }
+            return tmp;
+        }
+
+        /**
+         * Position of the leftmost element of {@code array[base, base + len)} not smaller than
+         * {@code key}, searched by exponential steps from {@code hint} then binary search.
+         */
+        private static int gallopLeft(int key, int[] array, int base, int len, int hint) {
+            int lastOfs = 0;
+            int ofs = 1;
+            if (key > array[base + hint]) {
+                int maxOfs = len - hint;
+                while (ofs < maxOfs && key > array[base + hint + ofs]) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) {
+                        ofs = maxOfs;
+                    }
+                }
+                ofs = Math.min(ofs, maxOfs);
+                lastOfs += hint;
+                ofs += hint;
+            } else {
+                int maxOfs = hint + 1;
+                while (ofs < maxOfs && key <= array[base + hint - ofs]) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) {
+                        ofs = maxOfs;
+                    }
+                }
+                ofs = Math.min(ofs, maxOfs);
+                int previous = lastOfs;
+                lastOfs = hint - ofs;
+                ofs = hint - previous;
+            }
+
+            lastOfs++;
+            while (lastOfs < ofs) {
+                int m = lastOfs + ((ofs - lastOfs) >>> 1);
+                if (key > array[base + m]) {
+                    lastOfs = m + 1;
+                } else {
+                    ofs = m;
+                }
+            }
+            return ofs;
+        }
+
+        /**
+         * Like {@link #gallopLeft} but returns the position after the last element equal to
+         * {@code key}, which keeps merges stable.
+         */
+        private static int gallopRight(int key, int[] array, int base, int len, int hint) {
+            int lastOfs = 0;
+            int ofs = 1;
+            if (key < array[base + hint]) {
+                int maxOfs = hint + 1;
+                while (ofs < maxOfs && key < array[base + hint - ofs]) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) {
+                        ofs = maxOfs;
+                    }
+                }
+                ofs = Math.min(ofs, maxOfs);
+                int previous = lastOfs;
+                lastOfs = hint - ofs;
+                ofs = hint - previous;
+            } else {
+                int maxOfs = len - hint;
+                while (ofs < maxOfs && key >= array[base + hint + ofs]) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) {
+                        ofs = maxOfs;
+                    }
+                }
+                ofs = Math.min(ofs, maxOfs);
+                lastOfs += hint;
+                ofs += hint;
+            }
+
+            lastOfs++;
+            while (lastOfs < ofs) {
+                int m = lastOfs + ((ofs - lastOfs) >>> 1);
+                if (key < array[base + m]) {
+                    ofs = m;
+                } else {
+                    lastOfs = m + 1;
+                }
+            }
+            return ofs;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Tim Sort";
+    }
+}
@@ -0,0 +1,77 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Bitonic stages on SIMD lanes. Only loaded by {@link VectorBitonicSort} when the
+ * {@code jdk.incubator.vector} module is present.
+ * <p>
+ * When partners are at least a vector apart ({@code j >= lanes}), two vectors are loaded and
+ * their lane-wise min and max stored back in the stage's direction. Closer partners sit in
+ * the same vector: it is permuted against itself ({@code l -> l ^ j}) and each lane blends the
+ * min or the max by a mask derived from {@code j} and the direction.
+ */
+final class VectorBitonicKernel implements BitonicKernel {
+
+    private final VectorSpecies<Integer> species;
+    private final int lanes;
+
+    VectorBitonicKernel(int blockSize) {
+        VectorSpecies<Integer> preferred = IntVector.SPECIES_PREFERRED;
+        species = preferred.length() <= blockSize
+                ? preferred
+                : VectorSpecies.of(int.class, VectorShape.forBitSize(blockSize * Integer.SIZE));
+        lanes = species.length();
+    }
+
+    @Override
+    public void compareExchange(int[] a, int length, int direction, int j) {
+        if (j >= lanes) {
+            for (int base = 0; base < length; base += 2 * j) {
+                for (int i = base; i < base + j; i += lanes) {
+                    IntVector x = IntVector.fromArray(species, a, i);
+                    IntVector y = IntVector.fromArray(species, a, i + j);
+                    IntVector min = x.min(y);
+                    IntVector max = x.max(y);
+                    if ((i & direction) == 0) {
+                        min.intoArray(a, i);
+                        max.intoArray(a, i + j);
+                    } else {
+                        max.intoArray(a, i);
+                        min.intoArray(a, i + j);
+                    }
+                }
+            }
+            return;
+        }
+
+        VectorShuffle<Integer> partners = VectorShuffle.fromOp(species, lane -> lane ^ j);
+        // Within a vector, the direction depends on the lane when direction < lanes, else on the vector
+        VectorMask<Integer> ascendingMax = takeMaxMask(direction, j, false);
+        VectorMask<Integer> descendingMax = takeMaxMask(direction, j, true);
+        for (int i = 0; i < length; i += lanes) {
+            IntVector v = IntVector.fromArray(species, a, i);
+            IntVector p = v.rearrange(partners);
+            VectorMask<Integer> takeMax = direction < lanes || (i & direction) == 0 ? ascendingMax : descendingMax;
+            v.min(p).blend(v.max(p), takeMax).intoArray(a, i);
+        }
+    }
+
+    private VectorMask<Integer> takeMaxMask(int direction, int j, boolean descending) {
+        boolean[] bits = new boolean[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            boolean laneDescending = direction < lanes ? (lane & direction) != 0 : descending;
+            bits[lane] = ((lane & j) != 0) != laneDescending;
+        }
+        return VectorMask.fromArray(species, bits, 0);
+    }
+
+    @Override
+    public String name() {
+        return "vector " + species.vectorBitSize() + "-bit";
+    }
+}
@@ -0,0 +1,143 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorts aligned blocks of {@code blockSize} elements with a bitonic sorting network, then
+ * merges the sorted blocks pairwise. The network's compare-exchanges run on SIMD lanes
+ * through the Java Vector API when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, and on a scalar loop otherwise.
+ * <p>
+ * Each network stage is applied to every block at once and recorded as one step, followed by
+ * one step per merge pass. A trailing partial block is padded with copies of the maximum, so
+ * its stages may briefly show a duplicated maximum in place of an element not yet moved in.
+ */
+@Component
+public class VectorBitonicSort implements SortingAlgorithm {
+
+    static final int DEFAULT_BLOCK_SIZE = 64;
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private final int blockSize;
+    private final BitonicKernel kernel;
+
+    public VectorBitonicSort() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    public VectorBitonicSort(int blockSize) {
+        this(blockSize, kernelFor(blockSize));
+    }
+
+    VectorBitonicSort(int blockSize, BitonicKernel kernel) {
+        if (blockSize < 8 || Integer.bitCount(blockSize) != 1) {
+            throw new IllegalArgumentException("Taille de bloc invalide : " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.kernel = kernel;
+    }
+
+    /**
+     * The vector kernel when the incubator module is in the boot layer, else the scalar one.
+     * The vector class is only loaded reflectively so that its absence cannot break this one.
+     */
+    static BitonicKernel kernelFor(int blockSize) {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return (BitonicKernel) Class.forName(VectorBitonicSort.class.getPackageName() + ".VectorBitonicKernel")
+                        .getDeclaredConstructor(int.class)
+                        .newInstance(blockSize);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall back to the scalar network
+            }
+        }
+        return new ScalarBitonicKernel();
+    }
+
+    @Override
+    public List<int[]> sort(int[] array) {
+        List<int[]> steps = new ArrayList<>();
+        int[] arr = array.clone();
+        steps.add(arr.clone());
+        int n = arr.length;
+        if (n < 2) {
+            return steps;
+        }
+
+        int padded = (n + blockSize - 1) / blockSize * blockSize;
+        int[] work = arr;
+        if (padded != n) {
+            work = new int[padded];
+            System.arraycopy(arr, 0, work, 0, n);
+            int max = Integer.MIN_VALUE;
+            for (int value : arr) {
+                max = Math.max(max, value);
+            }
+            Arrays.fill(work, n, padded, max);
+        }
+
+        int[] network = work;
+        runNetwork(work, padded, () -> steps.add(Arrays.copyOf(network, n)));
+        if (work != arr) {
+            System.arraycopy(work, 0, arr, 0, n);
+        }
+
+        int[] source = arr;
+        int[] target = new int[n];
+        for (int width = blockSize; width < n; width *= 2) {
+            CancellationToken.check();
+            for (int left = 0; left < n; left += 2 * width) {
+                int mid = Math.min(left + width, n);
+                int right = Math.min(left + 2 * width, n);
+                int i = left, j = mid, k = left;
+                while (i < mid && j < right) {
+                    target[k++] = source[i] <= source[j] ? source[i++] : source[j++];
+                }
+                System.arraycopy(source, i, target, k, mid - i);
+                System.arraycopy(source, j, target, k + mid - i, right - j);
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+            steps.add(source.clone());
+        }
+        return steps;
+    }
+
+    /**
+     * Untraced: sorts every aligned block of {@code a}, whose length must be a multiple of the
+     * block size.
+     */
+    public void sortBlocks(int[] a) {
+        if (a.length % blockSize != 0) {
+            throw new IllegalArgumentException("Longueur non multiple de la taille de bloc : " + a.length);
+        }
+        runNetwork(a, a.length, () -> { });
+    }
+
+    private void runNetwork(int[] a, int length, Runnable afterStage) {
+        for (int k = 2; k <= blockSize; k *= 2) {
+            for (int j = k / 2; j > 0; j /= 2) {
+                CancellationToken.check();
+                kernel.compareExchange(a, length, k == blockSize ? 0 : k, j);
+                afterStage.run();
+            }
+        }
+    }
+
+    /**
+     * Name of the kernel in use, {@code "scalar"} or the vector width.
+     */
+    public String kernelName() {
+        return kernel.name();
+    }
+
+    @Override
+    public String getName() {
+        return "Vector Bitonic Sort";
+    }
+}
@@ -0,0 +1,413 @@
+package fr.charles.algovisualizer.algorithms.sorting.external;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import fr.charles.algovisualizer.algorithms.sorting.MergeSort;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Sorts a file of little-endian 32-bit ints that does not fit in the heap.
+ * <ol>
+ *     <li>Chunks of {@code chunkSize} ints are read in turn and sorted with the untraced
+ *     {@link MergeSort#sort(int[], int[], int)} on {@code threads} workers, each sorted chunk
+ *     being written to the temporary directory as a binary run. At most {@code threads}
+ *     chunks (and their merge buffers) are in memory at once.</li>
+ *     <li>Runs are merged {@code fanIn} at a time through a binary heap of primitive
+ *     (value, run) pairs, reading each run through its own direct buffer, until one run is
+ *     left. The last pass also writes to the temporary directory, and its run is then renamed
+ *     over the output file.</li>
+ * </ol>
+ * Disk usage peaks at twice the input size. Input and output may be the same file: it is only
+ * replaced once the sort has succeeded, so a cancelled or failed sort leaves it untouched.
+ */
+public final class ExternalMergeSort {
+
+    public enum Phase { RUN_CREATED, MERGE_PASS, DONE }
+
+    /**
+     * Coarse progress: a run written ({@code runs} so far), a merge pass finished ({@code runs}
+     * left), or the end of the sort.
+     */
+    public record Step(Phase phase, int pass, int runs, long elements, long millis) {
+    }
+
+    /** Largest chunk, so the merge sort's index arithmetic cannot overflow. */
+    public static final int MAX_CHUNK_SIZE = 1 << 28;
+    public static final int DEFAULT_BUFFER_BYTES = 1 << 20;
+
+    private final int chunkSize;
+    private final int fanIn;
+    private final int threads;
+    private final int bufferBytes;
+    private final Path tempDir;
+
+    public ExternalMergeSort(int chunkSize, int fanIn, int threads, int bufferBytes, Path tempDir) {
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE || fanIn < 2 || threads < 1 || bufferBytes < Integer.BYTES) {
+            throw new IllegalArgumentException("Paramètres de tri externe invalides");
+        }
+        this.chunkSize = chunkSize;
+        this.fanIn = fanIn;
+        this.threads = threads;
+        this.bufferBytes = bufferBytes & -Integer.BYTES;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * Chunk size that keeps {@code threads} chunks and their merge buffers within half of
+     * the heap left free.
+     */
+    public static int defaultChunkSize(int threads) {
+        Runtime runtime = Runtime.getRuntime();
+        long free = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        long ints = free / 2 / threads / (2L * Integer.BYTES);
+        return (int) Math.max(1 << 16, Math.min(MAX_CHUNK_SIZE, ints));
+    }
+
+    public List<Step> sort(Path input, Path output) throws IOException {
+        return sort(input, output, step -> { });
+    }
+
+    public List<Step> sort(Path input, Path output, Consumer<Step> listener) throws IOException {
+        long size = Files.size(input);
+        if (size % Integer.BYTES != 0) {
+            throw new IllegalArgumentException("Taille de fichier non multiple de 4 : " + input);
+        }
+        long begin = System.nanoTime();
+        List<Step> steps = new ArrayList<>();
+        Consumer<Step> record = step -> {
+            steps.add(step);
+            listener.accept(step);
+        };
+        Path work = Files.createTempDirectory(tempDir, "external-sort");
+        try {
+            List<Path> runs = createRuns(input, size / Integer.BYTES, work, record, begin);
+            int pass = 0;
+            while (runs.size() > 1) {
+                pass++;
+                boolean last = runs.size() <= fanIn;
+                List<Path> merged = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += fanIn) {
+                    List<Path> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    Path target = work.resolve((last ? "sorted" : "pass" + pass + "-" + merged.size()) + ".run");
+                    merge(group, target);
+                    for (Path run : group) {
+                        Files.delete(run);
+                    }
+                    merged.add(target);
+                }
+                runs = merged;
+                record.accept(new Step(Phase.MERGE_PASS, pass, runs.size(), size / Integer.BYTES, elapsed(begin)));
+            }
+            if (runs.isEmpty()) {
+                Files.write(output, new byte[0]);
+            } else {
+                replace(runs.get(0), output);
+            }
+            record.accept(new Step(Phase.DONE, pass, 1, size / Integer.BYTES, elapsed(begin)));
+            return steps;
+        } finally {
+            deleteRecursively(work);
+        }
+    }
+
+    /**
+     * Moves the sorted run over the output in one rename, so the output (possibly the input
+     * itself) holds either its old content or the whole result. Across file systems, the run is
+     * first copied next to the output.
+     */
+    private static void replace(Path run, Path output) throws IOException {
+        try {
+            Files.move(run, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return;
+        } catch (AtomicMoveNotSupportedException e) {
+            // Different file systems
+        }
+        Path parent = output.toAbsolutePath().getParent();
+        Path sibling = Files.createTempFile(parent, output.getFileName() + ".", ".sorting");
+        try {
+            Files.move(run, sibling, StandardCopyOption.REPLACE_EXISTING);
+            try {
+                Files.move(sibling, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(sibling, output, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(sibling);
+        }
+    }
+
+    private List<Path> createRuns(Path input, long count, Path work, Consumer<Step> record, long begin)
+            throws IOException {
+        CancellationToken token = CancellationToken.current();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        Semaphore inMemory = new Semaphore(threads);
+        List<Future<Path>> pending = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bufferBytes).order(ByteOrder.LITTLE_ENDIAN);
+            for (long offset = 0; offset < count; offset += chunkSize) {
+                inMemory.acquire();
+                int length = (int) Math.min(chunkSize, count - offset);
+                int[] chunk;
+                try {
+                    token.throwIfCancelled();
+                    chunk = new int[length];
+                    readFully(channel, buffer, chunk, length);
+                } catch (IOException | RuntimeException e) {
+                    inMemory.release();
+                    throw e;
+                }
+                Path run = work.resolve("run-" + pending.size() + ".run");
+                pending.add(pool.submit(() -> token.run(() -> {
+                    try {
+                        MergeSort.sort(chunk, new int[length], length);
+                        writeRun(run, chunk, length);
+                        return run;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } finally {
+                        inMemory.release();
+                    }
+                })));
+            }
+            List<Path> runs = new ArrayList<>();
+            for (Future<Path> future : pending) {
+                runs.add(future.get());
+                record.accept(new Step(Phase.RUN_CREATED, 0, runs.size(), count, elapsed(begin)));
+            }
+            return runs;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Tri externe interrompu", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void readFully(FileChannel channel, ByteBuffer buffer, int[] target, int length) throws IOException {
+        int filled = 0;
+        while (filled < length) {
+            buffer.clear().limit(Math.min(buffer.capacity(), (length - filled) * Integer.BYTES));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Fin de fichier inattendue");
+                }
+            }
+            IntBuffer ints = buffer.flip().asIntBuffer();
+            int read = ints.remaining();
+            ints.get(target, filled, read);
+            filled += read;
+        }
+    }
+
+    private void writeRun(Path run, int[] values, int length) throws IOException {
+        try (RunWriter writer = new RunWriter(run, bufferBytes)) {
+            for (int i = 0; i < length; i++) {
+                writer.write(values[i]);
+            }
+        }
+    }
+
+    private void merge(List<Path> group, Path target) throws IOException {
+        int k = group.size();
+        RunReader[] readers = new RunReader[k];
+        int perRunBuffer = Math.max(Integer.BYTES * 1024, bufferBytes / k) & -Integer.BYTES;
+        // Heap of (value, run) pairs, ordered by value then run so equal values keep run order
+        int[] heapValues = new int[k];
+        int[] heapRuns = new int[k];
+        int heapSize = 0;
+        try (RunWriter writer = new RunWriter(target, bufferBytes)) {
+            for (int r = 0; r < k; r++) {
+                readers[r] = new RunReader(group.get(r), perRunBuffer);
+                if (readers[r].hasNext()) {
+                    heapValues[heapSize] = readers[r].next();
+                    heapRuns[heapSize] = r;
+                    siftUp(heapValues, heapRuns, heapSize++);
+                }
+            }
+            while (heapSize > 0) {
+                int run = heapRuns[0];
+                writer.write(heapValues[0]);
+                if (readers[run].hasNext()) {
+                    heapValues[0] = readers[run].next();
+                } else {
+                    heapSize--;
+                    heapValues[0] = heapValues[heapSize];
+                    heapRuns[0] = heapRuns[heapSize];
+                }
+                siftDown(heapValues, heapRuns, 0, heapSize);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    private static boolean less(int[] values, int[] runs, int a, int b) {
+        return values[a] < values[b] || (values[a] == values[b] && runs[a] < runs[b]);
+    }
+
+    private static void siftUp(int[] values, int[] runs, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(values, runs, i, parent)) {
+                return;
+            }
+            swap(values, runs, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] values, int[] runs, int i, int size) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && less(values, runs, child + 1, child)) {
+                child++;
+            }
+            if (!less(values, runs, child, i)) {
+                return;
+            }
+            swap(values, runs, i, child);
+            i = child;
+        }
+    }
+
+    private static void swap(int[] values, int[] runs, int a, int b) {
+        int value = values[a];
+        values[a] = values[b];
+        values[b] = value;
+        int run = runs[a];
+        runs[a] = runs[b];
+        runs[b] = run;
+    }
+
+    private static long elapsed(long begin) {
+        return (System.nanoTime() - begin) / 1_000_000;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /** Sequential reader over a run, refilling one direct buffer. */
+    private static final class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private boolean exhausted;
+
+        RunReader(Path run, int bufferBytes) throws IOException {
+            channel = FileChannel.open(run, StandardOpenOption.READ);
+            buffer = ByteBuffer.allocateDirect(bufferBytes).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.flip();
+        }
+
+        boolean hasNext() throws IOException {
+            if (buffer.remaining() >= Integer.BYTES) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            CancellationToken.check();
+            buffer.compact();
+            while (buffer.position() < Integer.BYTES || buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    exhausted = true;
+                    break;
+                }
+            }
+            buffer.flip();
+            return buffer.remaining() >= Integer.BYTES;
+        }
+
+        int next() {
+            return buffer.getInt();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /** Sequential writer flushing one direct buffer. */
+    private static final class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunWriter(Path run, int bufferBytes) throws IOException {
+            channel = FileChannel.open(run, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer = ByteBuffer.allocateDirect(bufferBytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        void write(int value) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        private void flush() throws IOException {
+            CancellationToken.check();
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
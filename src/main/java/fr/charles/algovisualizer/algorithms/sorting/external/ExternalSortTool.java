@@ -0,0 +1,84 @@
+package fr.charles.algovisualizer.algorithms.sorting.external;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Command-line external sort of a file of little-endian 32-bit ints.
+ * <pre>
+ * ./mvnw -q exec:java -Dexec.mainClass=fr.charles.algovisualizer.algorithms.sorting.external.ExternalSortTool \
+ *     -Dexec.args="data/values.bin data/values.sorted.bin"
+ * </pre>
+ * Options: {@code --chunk-size <ints>}, {@code --fan-in <runs>}, {@code --threads <n>},
+ * {@code --temp-dir <dir>}. {@code --generate <file> <count> [seed]} writes a file of random
+ * ints to try it on.
+ */
+public final class ExternalSortTool {
+
+    private ExternalSortTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && args[0].equals("--generate")) {
+            generate(Path.of(args[1]), Long.parseLong(args[2]), args.length > 3 ? Long.parseLong(args[3]) : 42);
+            return;
+        }
+        if (args.length < 2 || args.length % 2 != 0) {
+            System.err.println("Usage: ExternalSortTool <input> <output> [--chunk-size n] [--fan-in k] [--threads t] [--temp-dir dir]");
+            System.err.println("       ExternalSortTool --generate <file> <count> [seed]");
+            System.exit(1);
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunkSize = 0;
+        int fanIn = 64;
+        Path tempDir = Path.of(System.getProperty("java.io.tmpdir"));
+        for (int i = 2; i < args.length; i += 2) {
+            switch (args[i]) {
+                case "--chunk-size" -> chunkSize = Integer.parseInt(args[i + 1]);
+                case "--fan-in" -> fanIn = Integer.parseInt(args[i + 1]);
+                case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                case "--temp-dir" -> tempDir = Path.of(args[i + 1]);
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(1);
+                }
+            }
+        }
+        if (chunkSize == 0) {
+            chunkSize = ExternalMergeSort.defaultChunkSize(threads);
+        }
+        new ExternalMergeSort(chunkSize, fanIn, threads, ExternalMergeSort.DEFAULT_BUFFER_BYTES, tempDir)
+                .sort(Path.of(args[0]), Path.of(args[1]), step -> System.out.printf(Locale.ROOT,
+                        "%6d ms  %-11s pass %d, %d runs, %d ints%n",
+                        step.millis(), step.phase(), step.pass(), step.runs(), step.elements()));
+    }
+
+    static void generate(Path file, long count, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(ExternalMergeSort.DEFAULT_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (long i = 0; i < count; i++) {
+                if (!buffer.hasRemaining()) {
+                    write(channel, buffer);
+                }
+                buffer.putInt(random.nextInt());
+            }
+            write(channel, buffer);
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
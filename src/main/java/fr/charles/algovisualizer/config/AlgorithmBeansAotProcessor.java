@@ -0,0 +1,37 @@
+package fr.charles.algovisualizer.config;
+
+import fr.charles.algovisualizer.algorithms.graph.GraphAlgorithm;
+import fr.charles.algovisualizer.algorithms.sorting.SortingAlgorithm;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Registers reflection hints for every {@link SortingAlgorithm} and {@link GraphAlgorithm}
+ * bean found at build time, so that algorithms added later need no hint of their own.
+ * Declared in {@code META-INF/spring/aot.factories}.
+ */
+class AlgorithmBeansAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Class<?> algorithmType : new Class<?>[]{SortingAlgorithm.class, GraphAlgorithm.class}) {
+            for (String name : beanFactory.getBeanNamesForType(algorithmType, false, false)) {
+                Class<?> type = beanFactory.getType(name);
+                if (type != null) {
+                    types.add(type);
+                }
+            }
+        }
+        if (types.isEmpty()) {
+            return null;
+        }
+        return (context, code) -> types.forEach(type -> context.getRuntimeHints().reflection()
+                .registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+    }
+}
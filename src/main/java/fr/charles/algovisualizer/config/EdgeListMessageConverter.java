@@ -0,0 +1,213 @@
+package fr.charles.algovisualizer.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+import fr.charles.algovisualizer.dto.EdgeListRequest;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Reads an {@link EdgeListRequest} from one of two compact bodies, without building any boxed
+ * map on the way:
+ * <ul>
+ *     <li>{@value #EDGES_JSON_VALUE}: {@code {"start": 0, "end": 3, "edges": [[u, v, w], ...]}},
+ *     walked token by token with a Jackson {@link JsonParser};</li>
+ *     <li>{@value #EDGES_BINARY_VALUE}: little-endian 32-bit ints
+ *     {@code [start, end, edgeCount, (u, v, w) * edgeCount]}, read through an NIO buffer.</li>
+ * </ul>
+ * Node ids are used as CSR indices, so they must be dense and below {@value #MAX_NODES}; sparse
+ * ids still go through the adjacency map of {@code GraphRequest}.
+ */
+public class EdgeListMessageConverter extends AbstractHttpMessageConverter<EdgeListRequest> {
+
+    public static final String EDGES_JSON_VALUE = "application/vnd.algovisualizer.edges+json";
+    public static final String EDGES_BINARY_VALUE = "application/vnd.algovisualizer.edges";
+    public static final MediaType EDGES_JSON = MediaType.parseMediaType(EDGES_JSON_VALUE);
+    public static final MediaType EDGES_BINARY = MediaType.parseMediaType(EDGES_BINARY_VALUE);
+
+    static final int MAX_NODES = CsrGraph.MAX_NODES;
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+    private static final int EDGE_BYTES = 3 * Integer.BYTES;
+    private static final JsonFactory JSON = new JsonFactory();
+
+    public EdgeListMessageConverter() {
+        super(EDGES_JSON, EDGES_BINARY);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EdgeListRequest.class == clazz;
+    }
+
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected EdgeListRequest readInternal(Class<? extends EdgeListRequest> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        MediaType contentType = inputMessage.getHeaders().getContentType();
+        try {
+            return EDGES_BINARY.equalsTypeAndSubtype(contentType)
+                    ? readBinary(inputMessage.getBody())
+                    : readJson(inputMessage.getBody());
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(EdgeListRequest request, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("Format de requête uniquement");
+    }
+
+    public static EdgeListRequest readJson(InputStream in) throws IOException {
+        EdgeBuffer edges = new EdgeBuffer(64, Integer.MAX_VALUE);
+        int start = 0;
+        int end = 0;
+        try (JsonParser parser = JSON.createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "start" -> start = intValue(parser, value);
+                    case "end" -> end = intValue(parser, value);
+                    case "edges" -> readJsonEdges(parser, value, edges);
+                    default -> parser.skipChildren();
+                }
+            }
+            expect(parser.currentToken(), JsonToken.END_OBJECT);
+        }
+        return edges.toRequest(start, end);
+    }
+
+    private static void readJsonEdges(JsonParser parser, JsonToken token, EdgeBuffer edges) throws IOException {
+        expect(token, JsonToken.START_ARRAY);
+        while ((token = parser.nextToken()) == JsonToken.START_ARRAY) {
+            int u = intValue(parser, parser.nextToken());
+            int v = intValue(parser, parser.nextToken());
+            int w = intValue(parser, parser.nextToken());
+            expect(parser.nextToken(), JsonToken.END_ARRAY);
+            edges.add(u, v, w);
+        }
+        expect(token, JsonToken.END_ARRAY);
+    }
+
+    private static int intValue(JsonParser parser, JsonToken token) throws IOException {
+        expect(token, JsonToken.VALUE_NUMBER_INT);
+        return parser.getIntValue();
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new IllegalArgumentException("Liste d'arêtes invalide : " + expected + " attendu, " + actual + " trouvé");
+        }
+    }
+
+    public static EdgeListRequest readBinary(InputStream in) throws IOException {
+        ReadableByteChannel channel = Channels.newChannel(in);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+        fill(channel, buffer, HEADER_BYTES);
+        int start = buffer.getInt();
+        int end = buffer.getInt();
+        int edgeCount = buffer.getInt();
+        if (edgeCount < 0) {
+            throw new IllegalArgumentException("Nombre d'arêtes invalide : " + edgeCount);
+        }
+        // The count only caps growth: memory follows what has actually been received
+        EdgeBuffer edges = new EdgeBuffer(Math.min(edgeCount, BUFFER_BYTES / EDGE_BYTES), edgeCount);
+        for (int e = 0; e < edgeCount; e++) {
+            if (buffer.remaining() < EDGE_BYTES) {
+                fill(channel, buffer, EDGE_BYTES);
+            }
+            edges.add(buffer.getInt(), buffer.getInt(), buffer.getInt());
+        }
+        if (buffer.hasRemaining() || channel.read(buffer.clear()) != -1) {
+            throw new IllegalArgumentException("Données après la dernière arête");
+        }
+        return edges.toRequest(start, end);
+    }
+
+    /**
+     * Reads until at least {@code bytes} bytes are available; the buffer is left in read mode.
+     */
+    private static void fill(ReadableByteChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) == -1) {
+                throw new IllegalArgumentException("Liste d'arêtes tronquée");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Growable parallel arrays of edges, handed to {@link CsrGraph#fromEdges} untrimmed.
+     */
+    private static final class EdgeBuffer {
+        private int[] sources;
+        private int[] targets;
+        private int[] weights;
+        private final int limit;
+        private int size;
+        private int maxNode = -1;
+
+        EdgeBuffer(int capacity, int limit) {
+            this.limit = limit;
+            capacity = Math.max(capacity, 1);
+            sources = new int[capacity];
+            targets = new int[capacity];
+            weights = new int[capacity];
+        }
+
+        void add(int u, int v, int w) {
+            if (u < 0 || u >= MAX_NODES || v < 0 || v >= MAX_NODES) {
+                throw new IllegalArgumentException("Arête hors limites : " + u + " -> " + v);
+            }
+            if (size == sources.length) {
+                int capacity = (int) Math.min((long) size * 2, Math.max(limit, size + 1));
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            sources[size] = u;
+            targets[size] = v;
+            weights[size] = w;
+            size++;
+            maxNode = Math.max(maxNode, Math.max(u, v));
+        }
+
+        /**
+         * Start and end count as nodes so that an isolated endpoint gives an empty path, like
+         * the map format, instead of an out-of-range error.
+         */
+        EdgeListRequest toRequest(int start, int end) {
+            int nodeCount = maxNode + 1;
+            if (start >= 0 && start < MAX_NODES) {
+                nodeCount = Math.max(nodeCount, start + 1);
+            }
+            if (end >= 0 && end < MAX_NODES) {
+                nodeCount = Math.max(nodeCount, end + 1);
+            }
+            return new EdgeListRequest(CsrGraph.fromEdges(nodeCount, size, sources, targets, weights), start, end);
+        }
+    }
+}
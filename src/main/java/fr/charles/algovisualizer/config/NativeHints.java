@@ -0,0 +1,41 @@
+package fr.charles.algovisualizer.config;
+
+import fr.charles.algovisualizer.algorithms.graph.KShortestPaths;
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec;
+import fr.charles.algovisualizer.algorithms.sorting.external.ExternalMergeSort;
+import fr.charles.algovisualizer.dto.DatasetLoadRequest;
+import fr.charles.algovisualizer.dto.EdgeUpdate;
+import fr.charles.algovisualizer.dto.GraphRequest;
+import fr.charles.algovisualizer.dto.GraphTraceResponse;
+import fr.charles.algovisualizer.dto.JobRequest;
+import fr.charles.algovisualizer.dto.JobStatus;
+import fr.charles.algovisualizer.dto.RecordingStatus;
+import fr.charles.algovisualizer.dto.SortTiming;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+
+import java.util.ArrayList;
+
+/**
+ * Hints for a native image. Spring AOT infers the bodies of plain controller methods, but not
+ * those returned through a {@code DeferredResult} or as a job's untyped result, so every DTO is
+ * registered for JSON binding, along with the {@code int[]} and {@code List<int[]>} responses.
+ * <p>
+ * The Vector API kernel of {@code VectorBitonicSort} is left out: native images run the scalar
+ * network.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                GraphRequest.class, GraphTraceResponse.class, EdgeUpdate.class, DatasetLoadRequest.class,
+                JobRequest.class, JobStatus.class, RecordingStatus.class, SortTiming.class, InputSpec.class, ExternalMergeSort.Step.class,
+                KShortestPaths.Path.class);
+        hints.reflection().registerType(int[].class);
+        hints.serialization().registerType(int[].class);
+        hints.serialization().registerType(ArrayList.class);
+        hints.resources().registerPattern("jfr/*.jfc");
+    }
+}
@@ -1,6 +1,8 @@
 package fr.charles.algovisualizer.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.HandlerInterceptor;
@@ -8,15 +10,33 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.time.Duration;
+import java.util.List;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    // Answers that change over time, never served from a cache
+    private static final String[] LIVE_PATHS = {
+            "/api/jobs/**",
+            "/api/graph/datasets",
+            "/api/graph/datasets/*/sources/*",
+            "/api/graph/datasets/*/*",
+            "/api/graph/datasets/*/*/k-paths",
+            "/api/recordings/**",
+            "/api/graph/cache"
+    };
+
     private static class CacheControlInterceptor implements HandlerInterceptor {
+        private final String value;
+
+        CacheControlInterceptor(CacheControl cacheControl) {
+            this.value = cacheControl.getHeaderValue();
+        }
+
         @Override
         public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
             if (!response.containsHeader("Cache-Control")) {
-                response.setHeader("Cache-Control", "max-age=" + Duration.ofHours(1).toSeconds());
+                response.setHeader("Cache-Control", value);
             }
             return true;
         }
@@ -24,6 +44,15 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new CacheControlInterceptor());
+        registry.addInterceptor(new CacheControlInterceptor(CacheControl.noStore()))
+                .addPathPatterns(LIVE_PATHS);
+        registry.addInterceptor(new CacheControlInterceptor(CacheControl.maxAge(Duration.ofHours(1))))
+                .excludePathPatterns(LIVE_PATHS);
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Ahead of Jackson, which would otherwise claim the +json edge list type
+        converters.add(0, new EdgeListMessageConverter());
     }
 }
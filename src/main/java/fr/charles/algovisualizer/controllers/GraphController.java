@@ -1,10 +1,18 @@
 package fr.charles.algovisualizer.controllers;
 
+import fr.charles.algovisualizer.algorithms.graph.KShortestPaths;
+import fr.charles.algovisualizer.config.EdgeListMessageConverter;
+import fr.charles.algovisualizer.dto.EdgeListRequest;
 import fr.charles.algovisualizer.dto.GraphRequest;
+import fr.charles.algovisualizer.dto.GraphTraceResponse;
+import fr.charles.algovisualizer.services.AlgorithmRunner;
 import fr.charles.algovisualizer.services.GraphService;
-import org.springframework.http.HttpStatus;
+import fr.charles.algovisualizer.services.ShortestPathCache;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -14,9 +22,13 @@ import java.util.Map;
 public class GraphController {
 
     private final GraphService graphService;
+    private final ShortestPathCache shortestPathCache;
+    private final AlgorithmRunner runner;
 
-    public GraphController(GraphService graphService) {
+    public GraphController(GraphService graphService, ShortestPathCache shortestPathCache, AlgorithmRunner runner) {
         this.graphService = graphService;
+        this.shortestPathCache = shortestPathCache;
+        this.runner = runner;
     }
 
     @GetMapping("/algorithms")
@@ -24,15 +36,55 @@ public class GraphController {
         return graphService.getAvailableAlgorithms();
     }
 
+    @GetMapping("/cache")
+    public Map<String, Object> getCacheStatistics() {
+        return shortestPathCache.getStatistics();
+    }
+
     @PostMapping("/{algorithm}")
-    public ResponseEntity<List<Integer>> shortestPath(@PathVariable String algorithm, @RequestBody GraphRequest request) {
-        try {
-            List<Integer> path = graphService.findShortestPath(algorithm, request.getGraph(), request.getStart(), request.getEnd());
-            return ResponseEntity.ok(path);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
-        }
+    public DeferredResult<ResponseEntity<List<Integer>>> shortestPath(@PathVariable String algorithm, @RequestBody GraphRequest request) {
+        return runner.run(() -> ResponseEntity.ok(
+                graphService.findShortestPath(algorithm, request.getGraph(), request.getStart(), request.getEnd())));
+    }
+
+    @PostMapping(value = "/{algorithm}", consumes = {EdgeListMessageConverter.EDGES_JSON_VALUE, EdgeListMessageConverter.EDGES_BINARY_VALUE})
+    public DeferredResult<ResponseEntity<int[]>> shortestPath(@PathVariable String algorithm, @RequestBody EdgeListRequest request) {
+        return runner.run(() -> ResponseEntity.ok(
+                graphService.findShortestPath(algorithm, request.getGraph(), request.getStart(), request.getEnd())));
+    }
+
+    @PostMapping("/{algorithm}/k-paths")
+    public DeferredResult<ResponseEntity<List<KShortestPaths.Path>>> kShortestPaths(@PathVariable String algorithm, @RequestParam int k,
+                                                                                   @RequestBody GraphRequest request) {
+        return runner.run(() -> ResponseEntity.ok(
+                graphService.findKShortestPaths(algorithm, request.getGraph(), request.getStart(), request.getEnd(), k)));
+    }
+
+    @PostMapping(value = "/{algorithm}/k-paths", consumes = {EdgeListMessageConverter.EDGES_JSON_VALUE, EdgeListMessageConverter.EDGES_BINARY_VALUE})
+    public DeferredResult<ResponseEntity<List<KShortestPaths.Path>>> kShortestPaths(@PathVariable String algorithm, @RequestParam int k,
+                                                                                   @RequestBody EdgeListRequest request) {
+        return runner.run(() -> ResponseEntity.ok(
+                graphService.findKShortestPaths(algorithm, request.getGraph(), request.getStart(), request.getEnd(), k)));
+    }
+
+    @PostMapping(value = "/{algorithm}/trace", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public DeferredResult<ResponseEntity<StreamingResponseBody>> trace(@PathVariable String algorithm, @RequestBody GraphRequest request) {
+        return runner.run(() -> {
+            GraphTraceResponse response = graphService.traceShortestPath(algorithm, request.getGraph(), request.getStart(), request.getEnd());
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(response::writeTo);
+        });
+    }
+
+    @PostMapping(value = "/{algorithm}/trace", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            consumes = {EdgeListMessageConverter.EDGES_JSON_VALUE, EdgeListMessageConverter.EDGES_BINARY_VALUE})
+    public DeferredResult<ResponseEntity<StreamingResponseBody>> trace(@PathVariable String algorithm, @RequestBody EdgeListRequest request) {
+        return runner.run(() -> {
+            GraphTraceResponse response = graphService.traceShortestPath(algorithm, request.getGraph(), request.getStart(), request.getEnd());
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(response::writeTo);
+        });
     }
 }
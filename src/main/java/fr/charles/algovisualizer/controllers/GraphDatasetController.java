@@ -0,0 +1,116 @@
+package fr.charles.algovisualizer.controllers;
+
+import fr.charles.algovisualizer.algorithms.graph.KShortestPaths;
+import fr.charles.algovisualizer.algorithms.graph.ch.ContractionHierarchy;
+import fr.charles.algovisualizer.dto.DatasetLoadRequest;
+import fr.charles.algovisualizer.dto.EdgeUpdate;
+import fr.charles.algovisualizer.services.GraphDatasetService;
+import fr.charles.algovisualizer.services.AlgorithmRunner;
+import fr.charles.algovisualizer.services.GraphService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/graph/datasets")
+public class GraphDatasetController {
+
+    private final GraphDatasetService datasetService;
+    private final GraphService graphService;
+    private final AlgorithmRunner runner;
+
+    public GraphDatasetController(GraphDatasetService datasetService, GraphService graphService, AlgorithmRunner runner) {
+        this.datasetService = datasetService;
+        this.graphService = graphService;
+        this.runner = runner;
+    }
+
+    @GetMapping
+    public Map<String, Map<String, Long>> getDatasets() {
+        return datasetService.describe();
+    }
+
+    @PostMapping("/{name}")
+    public ResponseEntity<Map<String, Long>> load(@PathVariable String name, @RequestBody DatasetLoadRequest request) {
+        try {
+            GraphDatasetService.Dataset dataset = datasetService.load(name, request.getFile());
+            return ResponseEntity.ok(Map.of(
+                    "nodes", (long) dataset.graph().nodeCount(),
+                    "edges", (long) dataset.graph().edgeCount(),
+                    "version", dataset.version()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @PostMapping("/{name}/hierarchy")
+    public ResponseEntity<Map<String, Long>> contract(@PathVariable String name) {
+        try {
+            long begin = System.nanoTime();
+            ContractionHierarchy hierarchy = datasetService.contract(name);
+            return ResponseEntity.ok(Map.of(
+                    "nodes", (long) hierarchy.nodeCount(),
+                    "shortcuts", (long) hierarchy.shortcutCount(),
+                    "millis", (System.nanoTime() - begin) / 1_000_000));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @PatchMapping("/{name}/edges")
+    public ResponseEntity<Map<String, Long>> updateEdges(@PathVariable String name, @RequestBody List<EdgeUpdate> updates) {
+        try {
+            return ResponseEntity.ok(datasetService.applyUpdates(name, updates));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @PostMapping("/{name}/sources/{source}")
+    public ResponseEntity<Void> maintain(@PathVariable String name, @PathVariable int source) {
+        try {
+            datasetService.maintain(name, source);
+            return ResponseEntity.ok().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/{name}/sources/{source}")
+    public ResponseEntity<int[]> maintainedPath(@PathVariable String name, @PathVariable int source, @RequestParam int end) {
+        try {
+            return ResponseEntity.ok(datasetService.maintainedPath(name, source, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/{name}/{algorithm}/k-paths")
+    public DeferredResult<ResponseEntity<List<KShortestPaths.Path>>> kShortestPaths(@PathVariable String name, @PathVariable String algorithm,
+                                                                                   @RequestParam int start, @RequestParam int end,
+                                                                                   @RequestParam int k) {
+        return runner.run(() -> ResponseEntity.ok(
+                graphService.findKShortestPaths(algorithm, datasetService.get(name), start, end, k)));
+    }
+
+    @GetMapping("/{name}/{algorithm}")
+    public DeferredResult<ResponseEntity<int[]>> shortestPath(@PathVariable String name, @PathVariable String algorithm,
+                                                              @RequestParam int start, @RequestParam int end) {
+        return runner.run(() -> ResponseEntity.ok(
+                graphService.findShortestPath(algorithm, datasetService.get(name), start, end)));
+    }
+}
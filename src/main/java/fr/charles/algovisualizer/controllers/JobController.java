@@ -0,0 +1,70 @@
+package fr.charles.algovisualizer.controllers;
+
+import fr.charles.algovisualizer.dto.JobRequest;
+import fr.charles.algovisualizer.dto.JobStatus;
+import fr.charles.algovisualizer.services.JobService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    private final JobService jobService;
+
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @PostMapping
+    public ResponseEntity<JobStatus> submit(@RequestBody JobRequest request, HttpServletRequest servletRequest) {
+        // Quotas and fairness go by address: a header chosen by the caller could be rotated at will
+        try {
+            JobStatus status = jobService.submit(servletRequest.getRemoteAddr(), request);
+            return ResponseEntity.accepted().location(URI.create("/api/jobs/" + status.getId())).body(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JobStatus> status(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(jobService.status(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+    }
+
+    @GetMapping("/{id}/result")
+    public ResponseEntity<Object> result(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(jobService.result(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(null);
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancel(@PathVariable String id) {
+        try {
+            return jobService.cancel(id)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package fr.charles.algovisualizer.controllers;
+
+import fr.charles.algovisualizer.dto.RecordingStatus;
+import fr.charles.algovisualizer.services.RecordingService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Flight recordings on demand: {@code POST /api/recordings?duration=2m} starts one,
+ * {@code POST /{id}/stop} ends it early, {@code GET /{id}/data} downloads the {@code .jfr} file
+ * for JDK Mission Control or {@code jfr print}, and {@code DELETE /{id}} discards it.
+ */
+@RestController
+@RequestMapping("/api/recordings")
+public class RecordingController {
+
+    private final RecordingService recordingService;
+
+    public RecordingController(RecordingService recordingService) {
+        this.recordingService = recordingService;
+    }
+
+    @GetMapping
+    public List<RecordingStatus> list() {
+        return recordingService.list();
+    }
+
+    @PostMapping
+    public ResponseEntity<RecordingStatus> start(@RequestParam(required = false) String name,
+                                                 @RequestParam(required = false) Duration duration) {
+        try {
+            RecordingStatus status = recordingService.start(name, duration);
+            return ResponseEntity.created(URI.create("/api/recordings/" + status.getId())).body(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<RecordingStatus> status(@PathVariable long id) {
+        try {
+            return ResponseEntity.ok(recordingService.status(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+    }
+
+    @PostMapping("/{id}/stop")
+    public ResponseEntity<RecordingStatus> stop(@PathVariable long id) {
+        try {
+            return recordingService.stop(id)
+                    ? ResponseEntity.ok(recordingService.status(id))
+                    : ResponseEntity.status(HttpStatus.CONFLICT).body(recordingService.status(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+    }
+
+    @GetMapping(value = "/{id}/data", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> data(@PathVariable long id) {
+        try {
+            InputStream data = recordingService.data(id);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recording-" + id + ".jfr\"")
+                    .body(out -> {
+                        try (data) {
+                            data.transferTo(out);
+                        }
+                    });
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable long id) {
+        try {
+            recordingService.delete(id);
+            return ResponseEntity.noContent().build();
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+}
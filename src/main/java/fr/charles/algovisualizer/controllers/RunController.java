@@ -0,0 +1,23 @@
+package fr.charles.algovisualizer.controllers;
+
+import fr.charles.algovisualizer.services.AlgorithmRunner;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/runs")
+public class RunController {
+
+    private final AlgorithmRunner runner;
+
+    public RunController(AlgorithmRunner runner) {
+        this.runner = runner;
+    }
+
+    @DeleteMapping("/{runId}")
+    public ResponseEntity<Void> cancel(@PathVariable String runId) {
+        return runner.cancel(runId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -1,9 +1,12 @@
 package fr.charles.algovisualizer.controllers;
 
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec;
+import fr.charles.algovisualizer.dto.SortTiming;
+import fr.charles.algovisualizer.services.AlgorithmRunner;
 import fr.charles.algovisualizer.services.SortingService;
 
 import java.util.List;
@@ -14,9 +17,11 @@ import java.util.Map;
 public class SortingController {
 
     private final SortingService sortingService;
+    private final AlgorithmRunner runner;
 
-    public SortingController(SortingService sortingService) {
+    public SortingController(SortingService sortingService, AlgorithmRunner runner) {
         this.sortingService = sortingService;
+        this.runner = runner;
     }
 
     @GetMapping("/algorithms")
@@ -24,15 +29,20 @@ public class SortingController {
         return sortingService.getAvailableAlgorithms();
     }
 
+    @PostMapping("/compare-baseline")
+    public DeferredResult<ResponseEntity<List<SortTiming>>> compareBaseline(@RequestBody InputSpec input,
+                                                                            @RequestParam(defaultValue = "") List<String> algorithms,
+                                                                            @RequestParam(defaultValue = "3") int repetitions) {
+        return runner.run(() -> ResponseEntity.ok(sortingService.compareBaseline(input, algorithms, repetitions)));
+    }
+
     @PostMapping("/{algorithm}")
-    public ResponseEntity<List<int[]>> sort(@PathVariable String algorithm, @RequestBody int[] array) {
-        try {
-            List<int[]> steps = sortingService.sort(algorithm, array);
-            return ResponseEntity.ok(steps);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
-        }
+    public DeferredResult<ResponseEntity<List<int[]>>> sort(@PathVariable String algorithm, @RequestBody int[] array) {
+        return runner.run(() -> ResponseEntity.ok(sortingService.sort(algorithm, array)));
+    }
+
+    @PostMapping("/{algorithm}/generated")
+    public DeferredResult<ResponseEntity<List<int[]>>> sortGenerated(@PathVariable String algorithm, @RequestBody InputSpec input) {
+        return runner.run(() -> ResponseEntity.ok(sortingService.sort(algorithm, input)));
     }
 }
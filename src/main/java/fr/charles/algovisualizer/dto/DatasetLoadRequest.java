@@ -0,0 +1,20 @@
+package fr.charles.algovisualizer.dto;
+
+public class DatasetLoadRequest {
+    private String file;
+
+    public DatasetLoadRequest() {
+    }
+
+    public DatasetLoadRequest(String file) {
+        this.file = file;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+}
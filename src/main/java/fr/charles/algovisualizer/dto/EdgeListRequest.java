@@ -0,0 +1,31 @@
+package fr.charles.algovisualizer.dto;
+
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+
+/**
+ * Shortest-path request sent as a flat edge list instead of a {@link GraphRequest} adjacency
+ * map. It is read by {@code EdgeListMessageConverter} straight into a {@link CsrGraph}.
+ */
+public class EdgeListRequest {
+    private final CsrGraph graph;
+    private final int start;
+    private final int end;
+
+    public EdgeListRequest(CsrGraph graph, int start, int end) {
+        this.graph = graph;
+        this.start = start;
+        this.end = end;
+    }
+
+    public CsrGraph getGraph() {
+        return graph;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+}
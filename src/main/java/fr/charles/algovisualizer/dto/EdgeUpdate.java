@@ -0,0 +1,55 @@
+package fr.charles.algovisualizer.dto;
+
+public class EdgeUpdate {
+
+    public enum Operation {
+        INSERT, DELETE, REWEIGHT
+    }
+
+    private Operation operation;
+    private int from;
+    private int to;
+    private int weight;
+
+    public EdgeUpdate() {
+    }
+
+    public EdgeUpdate(Operation operation, int from, int to, int weight) {
+        this.operation = operation;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public void setFrom(int from) {
+        this.from = from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+
+    public void setTo(int to) {
+        this.to = to;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+}
@@ -0,0 +1,39 @@
+package fr.charles.algovisualizer.dto;
+
+import fr.charles.algovisualizer.algorithms.graph.PackedGraphTrace;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public class GraphTraceResponse {
+    private final List<Integer> path;
+    private final PackedGraphTrace trace;
+
+    public GraphTraceResponse(List<Integer> path, PackedGraphTrace trace) {
+        this.path = path;
+        this.trace = trace;
+    }
+
+    public List<Integer> getPath() {
+        return path;
+    }
+
+    public PackedGraphTrace getTrace() {
+        return trace;
+    }
+
+    /**
+     * Binary layout (big-endian ints): {@code [pathLength, path..., count, stride, truncated, triples...]}.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(path.size());
+        for (int node : path) {
+            data.writeInt(node);
+        }
+        data.flush();
+        trace.writeTo(out);
+    }
+}
@@ -0,0 +1,113 @@
+package fr.charles.algovisualizer.dto;
+
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec;
+
+import java.util.Map;
+
+/**
+ * A sort ({@code type = "sort"}, with {@code array} or {@code input}), a shortest-path search
+ * ({@code type = "graph"}, with {@code graph} or a loaded {@code dataset}) or the external sort
+ * of a binary int {@code file} of the data directory into {@code output} ({@code type =
+ * "external-sort"}, in place when {@code output} is absent) to run as a job.
+ */
+public class JobRequest {
+    private String type;
+    private String algorithm;
+    private int priority;
+    private int[] array;
+    private InputSpec input;
+    private Map<Integer, Map<Integer, Integer>> graph;
+    private String dataset;
+    private int start;
+    private int end;
+    private String file;
+    private String output;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public int[] getArray() {
+        return array;
+    }
+
+    public void setArray(int[] array) {
+        this.array = array;
+    }
+
+    public InputSpec getInput() {
+        return input;
+    }
+
+    public void setInput(InputSpec input) {
+        this.input = input;
+    }
+
+    public Map<Integer, Map<Integer, Integer>> getGraph() {
+        return graph;
+    }
+
+    public void setGraph(Map<Integer, Map<Integer, Integer>> graph) {
+        this.graph = graph;
+    }
+
+    public String getDataset() {
+        return dataset;
+    }
+
+    public void setDataset(String dataset) {
+        this.dataset = dataset;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public void setStart(int start) {
+        this.start = start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    public void setEnd(int end) {
+        this.end = end;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    public void setOutput(String output) {
+        this.output = output;
+    }
+}
@@ -0,0 +1,96 @@
+package fr.charles.algovisualizer.dto;
+
+public class JobStatus {
+
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED
+    }
+
+    private String id;
+    private String type;
+    private String algorithm;
+    private State state;
+    private long progress;
+    private long queuedMillis;
+    private long runningMillis;
+    private String error;
+
+    public JobStatus() {
+    }
+
+    public JobStatus(String id, String type, String algorithm, State state, long progress,
+                     long queuedMillis, long runningMillis, String error) {
+        this.id = id;
+        this.type = type;
+        this.algorithm = algorithm;
+        this.state = state;
+        this.progress = progress;
+        this.queuedMillis = queuedMillis;
+        this.runningMillis = runningMillis;
+        this.error = error;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public long getProgress() {
+        return progress;
+    }
+
+    public void setProgress(long progress) {
+        this.progress = progress;
+    }
+
+    public long getQueuedMillis() {
+        return queuedMillis;
+    }
+
+    public void setQueuedMillis(long queuedMillis) {
+        this.queuedMillis = queuedMillis;
+    }
+
+    public long getRunningMillis() {
+        return runningMillis;
+    }
+
+    public void setRunningMillis(long runningMillis) {
+        this.runningMillis = runningMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,70 @@
+package fr.charles.algovisualizer.dto;
+
+public class RecordingStatus {
+    private long id;
+    private String name;
+    private String state;
+    private long startedAtMillis;
+    private long durationMillis;
+    private long bytes;
+
+    public RecordingStatus() {
+    }
+
+    public RecordingStatus(long id, String name, String state, long startedAtMillis, long durationMillis, long bytes) {
+        this.id = id;
+        this.name = name;
+        this.state = state;
+        this.startedAtMillis = startedAtMillis;
+        this.durationMillis = durationMillis;
+        this.bytes = bytes;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    public void setStartedAtMillis(long startedAtMillis) {
+        this.startedAtMillis = startedAtMillis;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
@@ -0,0 +1,51 @@
+package fr.charles.algovisualizer.dto;
+
+public class SortTiming {
+
+    private String algorithm;
+    private boolean traced;
+    private long nanos;
+    private int steps;
+
+    public SortTiming() {
+    }
+
+    public SortTiming(String algorithm, boolean traced, long nanos, int steps) {
+        this.algorithm = algorithm;
+        this.traced = traced;
+        this.nanos = nanos;
+        this.steps = steps;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public boolean isTraced() {
+        return traced;
+    }
+
+    public void setTraced(boolean traced) {
+        this.traced = traced;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public void setNanos(long nanos) {
+        this.nanos = nanos;
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    public void setSteps(int steps) {
+        this.steps = steps;
+    }
+}
@@ -0,0 +1,42 @@
+package fr.charles.algovisualizer.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Writing of one response body, from its first byte to the end of the request. Serializers
+ * buffer a few kilobytes before the first write, so the time spent producing those is missed.
+ */
+@Name("fr.charles.algovisualizer.ResponseWrite")
+@Label("Response Write")
+@Category({"AlgoVisualizer", "HTTP"})
+@Description("Serialization of a response body")
+@StackTrace(false)
+public class ResponseWriteEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Content Type")
+    public String contentType;
+
+    @Label("Bytes Written")
+    @Description("Before response compression")
+    @DataAmount
+    public long bytes;
+
+    @Label("Cancelled")
+    @Description("The request failed or timed out while the body was being written")
+    public boolean cancelled;
+}
@@ -0,0 +1,157 @@
+package fr.charles.algovisualizer.monitoring;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import jdk.jfr.EventType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Emits a {@link ResponseWriteEvent} per request while the event is enabled in a running
+ * recording; otherwise requests pass through unwrapped. Async requests (every algorithm run goes
+ * through {@code AlgorithmRunner}) are committed when the async cycle completes, after the
+ * deferred result or the streamed body has been written.
+ */
+@Component
+public class ResponseWriteFilter extends OncePerRequestFilter {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(ResponseWriteEvent.class);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!EVENT_TYPE.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        CountingResponse counting = new CountingResponse(request, response);
+        boolean failed = true;
+        try {
+            chain.doFilter(request, counting);
+            failed = false;
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(counting);
+            } else {
+                counting.commit(failed);
+            }
+        }
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper implements AsyncListener {
+        private final HttpServletRequest request;
+        private final ResponseWriteEvent event = new ResponseWriteEvent();
+        private final AtomicBoolean committed = new AtomicBoolean();
+        private ServletOutputStream stream;
+        private volatile boolean started;
+        private volatile long bytes;
+
+        CountingResponse(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (stream == null) {
+                stream = new CountingStream(super.getOutputStream());
+            }
+            return stream;
+        }
+
+        private void written(int count) {
+            if (!started) {
+                started = true;
+                event.begin();
+            }
+            bytes += count;
+        }
+
+        void commit(boolean cancelled) {
+            if (!started || !committed.compareAndSet(false, true)) {
+                return;
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = request.getMethod();
+                event.uri = request.getRequestURI();
+                event.status = getStatus();
+                event.contentType = getContentType();
+                event.bytes = bytes;
+                event.cancelled = cancelled;
+                event.commit();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent asyncEvent) {
+            commit(false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent asyncEvent) {
+            commit(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent asyncEvent) {
+            commit(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent asyncEvent) {
+            // A streamed body starts a second async cycle, which drops the listeners of the first
+            asyncEvent.getAsyncContext().addListener(this);
+        }
+
+        private final class CountingStream extends ServletOutputStream {
+            private final ServletOutputStream delegate;
+
+            CountingStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                written(1);
+                delegate.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                written(len);
+                delegate.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                delegate.setWriteListener(listener);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package fr.charles.algovisualizer.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One shortest-path query, including the cache lookup and, for adjacency maps, the content hash
+ * of the graph.
+ */
+@Name("fr.charles.algovisualizer.ShortestPath")
+@Label("Shortest Path")
+@Category({"AlgoVisualizer", "Algorithms"})
+@Description("A shortest-path query run by GraphService")
+@StackTrace(false)
+public class ShortestPathEvent extends Event {
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Graph")
+    @Description("Dataset name; empty for an adjacency map and [edges] for an edge list sent with the request")
+    public String graph;
+
+    @Label("Nodes")
+    public int nodes;
+
+    @Label("Edges")
+    public int edges;
+
+    @Label("Path Length")
+    public int pathLength;
+
+    @Label("Trace Events")
+    @Description("Exploration events recorded, 0 when the search is not traced")
+    public int steps;
+
+    @Label("Cached")
+    public boolean cached;
+
+    @Label("Cancelled")
+    public boolean cancelled;
+}
@@ -0,0 +1,36 @@
+package fr.charles.algovisualizer.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One traced sort, from the algorithm lookup to the last recorded step. Its duration includes
+ * the cloning of every step, which is most of the work for the quadratic sorts.
+ */
+@Name("fr.charles.algovisualizer.Sort")
+@Label("Sort")
+@Category({"AlgoVisualizer", "Algorithms"})
+@Description("A sort run by SortingService")
+@StackTrace(false)
+public class SortEvent extends Event {
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Input Size")
+    public int inputSize;
+
+    @Label("Steps Recorded")
+    public int steps;
+
+    @Label("Cached")
+    @Description("Steps of a generated input served from the cache")
+    public boolean cached;
+
+    @Label("Cancelled")
+    public boolean cancelled;
+}
@@ -0,0 +1,142 @@
+package fr.charles.algovisualizer.services;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs request computations off the servlet thread, each with its own {@link CancellationToken}.
+ * The token is cancelled when:
+ * <ul>
+ *     <li>the deadline expires;</li>
+ *     <li>the container reports an error on the async request;</li>
+ *     <li>the client cancels the run it tagged with an {@value #RUN_ID_HEADER} header. A blocking
+ *     HTTP/1.1 connection gives no signal when the client goes away before the response is
+ *     written, so the page sends this cancellation when its Stop button aborts a request.</li>
+ * </ul>
+ * The algorithm then stops at its next check and its steps become garbage instead of being
+ * finished for nobody.
+ * <p>
+ * Errors map to statuses like the controllers do: 400 for invalid arguments, 503 for a cancelled
+ * run and 500 otherwise.
+ * <p>
+ * Runs get their own pool of platform threads, one per core by default, even though requests are
+ * served on virtual threads. Virtual threads are not preempted: a CPU-bound run on one would hold
+ * its carrier, and with one carrier per core it would stall the request threads, including the
+ * cancellation meant to stop it.
+ */
+@Component
+public class AlgorithmRunner {
+
+    public static final String RUN_ID_HEADER = "X-Run-Id";
+
+    private final Executor executor;
+    private final Duration deadline;
+    private final Map<String, CancellationToken> runs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AlgorithmRunner(@Value("${algovisualizer.run.workers:0}") int workerCount,
+                           @Value("${algovisualizer.run.deadline:60s}") Duration deadline) {
+        this(Executors.newFixedThreadPool(workerCount > 0 ? workerCount : Runtime.getRuntime().availableProcessors(),
+                daemonThreads("run-")), deadline);
+    }
+
+    AlgorithmRunner(Executor executor, Duration deadline) {
+        this.executor = executor;
+        this.deadline = deadline;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    public <T> DeferredResult<ResponseEntity<T>> run(Supplier<ResponseEntity<T>> task) {
+        CancellationToken token = new CancellationToken();
+        DeferredResult<ResponseEntity<T>> result = new DeferredResult<>(deadline.toMillis(),
+                () -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        result.onTimeout(() -> token.cancel("deadline"));
+        result.onError(error -> token.cancel("request failed"));
+
+        String runId = currentRunId();
+        if (runId != null) {
+            runs.put(runId, token);
+            result.onCompletion(() -> runs.remove(runId, token));
+        }
+        executor.execute(() -> {
+            // An Error, typically OutOfMemoryError on a huge trace, escapes execute(): still answer
+            // 500 instead of leaving the request open until the deadline
+            ResponseEntity<T> response = ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            try {
+                response = execute(token, task);
+            } finally {
+                result.setResult(response);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Cancels the run tagged with {@code runId}. Returns false if no such run is in progress.
+     */
+    public boolean cancel(String runId) {
+        CancellationToken token = runs.get(runId);
+        if (token == null) {
+            return false;
+        }
+        token.cancel("cancelled by client");
+        return true;
+    }
+
+    static <T> ResponseEntity<T> execute(CancellationToken token, Supplier<ResponseEntity<T>> task) {
+        try {
+            // Skip runs cancelled while queued
+            token.throwIfCancelled();
+            return token.run(task);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (CancellationException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    private static String currentRunId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getHeader(RUN_ID_HEADER);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,131 @@
+package fr.charles.algovisualizer.services;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Concurrent map bounded by total weight (entry count by default). Eviction is second-chance
+ * FIFO (CLOCK): an entry read since it was queued is re-queued once instead of being evicted,
+ * which approximates LRU without locking on reads.
+ */
+class BoundedCache<K, V> {
+
+    private static final class Entry<V> {
+        final V value;
+        final long weight;
+        volatile boolean referenced;
+
+        Entry(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Queue<K> order = new ConcurrentLinkedQueue<>();
+    private final AtomicLong weight = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    BoundedCache(long maxEntries) {
+        this(maxEntries, value -> 1);
+    }
+
+    BoundedCache(long maxWeight, ToLongFunction<V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        entry.referenced = true;
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Returns false, keeping nothing, when the value alone weighs more than the cache can hold.
+     */
+    boolean put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, weigher.applyAsLong(value));
+        if (entry.weight > maxWeight) {
+            return false;
+        }
+        Entry<V> previous = entries.put(key, entry);
+        if (previous == null) {
+            order.add(key);
+        }
+        long total = weight.addAndGet(entry.weight - (previous == null ? 0 : previous.weight));
+        while (total > maxWeight && evictOne()) {
+            total = weight.get();
+        }
+        return true;
+    }
+
+    private boolean evictOne() {
+        K candidate;
+        while ((candidate = order.poll()) != null) {
+            Entry<V> entry = entries.get(candidate);
+            if (entry == null) {
+                continue; // already removed by invalidate
+            }
+            if (entry.referenced) {
+                entry.referenced = false;
+                order.add(candidate);
+                continue;
+            }
+            if (entries.remove(candidate, entry)) {
+                weight.addAndGet(-entry.weight);
+                evictions.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void invalidate(Predicate<K> predicate) {
+        for (K key : entries.keySet()) {
+            if (predicate.test(key)) {
+                Entry<V> removed = entries.remove(key);
+                if (removed != null) {
+                    weight.addAndGet(-removed.weight);
+                }
+            }
+        }
+        // A key put back in the meantime keeps its place
+        order.removeIf(key -> predicate.test(key) && !entries.containsKey(key));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /** Keys waiting in the eviction queue, normally one per entry. */
+    int queued() {
+        return order.size();
+    }
+
+    long hits() {
+        return hits.get();
+    }
+
+    long misses() {
+        return misses.get();
+    }
+
+    long evictions() {
+        return evictions.get();
+    }
+}
@@ -0,0 +1,63 @@
+package fr.charles.algovisualizer.services;
+
+import fr.charles.algovisualizer.algorithms.sorting.external.ExternalMergeSort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Sorts binary int files of the data directory with {@link ExternalMergeSort}, for the
+ * {@code external-sort} job type.
+ */
+@Service
+public class ExternalSortService {
+
+    private final Path dataDir;
+    private final Path tempDir;
+    private final int chunkSize;
+    private final int fanIn;
+    private final int threads;
+
+    public ExternalSortService(@Value("${algovisualizer.data-dir:data}") String dataDir,
+                               @Value("${algovisualizer.sort.external.temp-dir:${java.io.tmpdir}}") String tempDir,
+                               @Value("${algovisualizer.sort.external.chunk-size:0}") int chunkSize,
+                               @Value("${algovisualizer.sort.external.fan-in:64}") int fanIn,
+                               @Value("${algovisualizer.sort.external.threads:0}") int threads) {
+        this.dataDir = Path.of(dataDir).toAbsolutePath().normalize();
+        this.tempDir = Path.of(tempDir);
+        this.chunkSize = chunkSize;
+        this.fanIn = fanIn;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public List<ExternalMergeSort.Step> sort(String input, String output) {
+        Path source = resolve(input);
+        if (!Files.isRegularFile(source)) {
+            throw new IllegalArgumentException("Fichier introuvable : " + input);
+        }
+        Path target = resolve(output != null ? output : input);
+        int chunk = chunkSize > 0 ? chunkSize : ExternalMergeSort.defaultChunkSize(threads);
+        try {
+            return new ExternalMergeSort(chunk, fanIn, threads, ExternalMergeSort.DEFAULT_BUFFER_BYTES, tempDir)
+                    .sort(source, target);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path resolve(String fileName) {
+        if (fileName == null) {
+            throw new IllegalArgumentException("Fichier manquant");
+        }
+        Path file = dataDir.resolve(fileName).normalize();
+        if (!file.startsWith(dataDir)) {
+            throw new IllegalArgumentException("Chemin hors du répertoire de données : " + fileName);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,100 @@
+package fr.charles.algovisualizer.services;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Bounded queue of items tagged with a client and a priority. {@link #poll()} returns the
+ * highest priority item; between clients whose best items have the same priority it picks the
+ * one served least recently, so a client with many queued items cannot starve the others.
+ * A client joining the queue counts as served at that moment, behind clients already waiting.
+ */
+final class FairQueue<T> {
+
+    private record Entry<T>(T item, int priority, long sequence) {
+    }
+
+    private static final Comparator<Entry<?>> ORDER = Comparator.<Entry<?>>comparingInt(Entry::priority)
+            .reversed()
+            .thenComparingLong(Entry::sequence);
+
+    private final int maxSize;
+    private final int maxPerClient;
+    private final Map<String, PriorityQueue<Entry<T>>> queues = new HashMap<>();
+    private final Map<String, Long> lastServed = new HashMap<>();
+    private long sequence;
+    private long served;
+    private int size;
+
+    FairQueue(int maxSize, int maxPerClient) {
+        this.maxSize = maxSize;
+        this.maxPerClient = maxPerClient;
+    }
+
+    synchronized void offer(String client, T item, int priority) {
+        PriorityQueue<Entry<T>> queue = queues.get(client);
+        if (size >= maxSize) {
+            throw new RejectedExecutionException("File d'attente pleine");
+        }
+        if (queue != null && queue.size() >= maxPerClient) {
+            throw new RejectedExecutionException("Trop de tâches en attente pour " + client);
+        }
+        if (queue == null) {
+            queue = new PriorityQueue<>(ORDER);
+            queues.put(client, queue);
+            lastServed.put(client, served);
+        }
+        queue.add(new Entry<>(item, priority, sequence++));
+        size++;
+    }
+
+    synchronized T poll() {
+        String bestClient = null;
+        Entry<T> best = null;
+        for (Map.Entry<String, PriorityQueue<Entry<T>>> candidate : queues.entrySet()) {
+            Entry<T> head = candidate.getValue().peek();
+            if (best == null || head.priority() > best.priority()
+                    || head.priority() == best.priority()
+                    && lastServed.get(candidate.getKey()) < lastServed.get(bestClient)) {
+                bestClient = candidate.getKey();
+                best = head;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        PriorityQueue<Entry<T>> queue = queues.get(bestClient);
+        queue.poll();
+        size--;
+        served++;
+        if (queue.isEmpty()) {
+            queues.remove(bestClient);
+            lastServed.remove(bestClient);
+        } else {
+            lastServed.put(bestClient, served);
+        }
+        return best.item();
+    }
+
+    synchronized boolean remove(T item) {
+        for (Map.Entry<String, PriorityQueue<Entry<T>>> candidate : queues.entrySet()) {
+            PriorityQueue<Entry<T>> queue = candidate.getValue();
+            if (queue.removeIf(entry -> entry.item() == item)) {
+                size--;
+                if (queue.isEmpty()) {
+                    queues.remove(candidate.getKey());
+                    lastServed.remove(candidate.getKey());
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,208 @@
+package fr.charles.algovisualizer.services;
+
+import fr.charles.algovisualizer.algorithms.graph.ContractionHierarchies;
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+import fr.charles.algovisualizer.algorithms.graph.DynamicGraph;
+import fr.charles.algovisualizer.algorithms.graph.DynamicShortestPaths;
+import fr.charles.algovisualizer.algorithms.graph.ch.ContractionHierarchy;
+import fr.charles.algovisualizer.algorithms.graph.io.ContractionHierarchyFile;
+import fr.charles.algovisualizer.algorithms.graph.io.ContractionHierarchyTool;
+import fr.charles.algovisualizer.algorithms.graph.io.GraphFileConverter;
+import fr.charles.algovisualizer.dto.EdgeUpdate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Named graphs loaded from the data directory ({@code .gr} or memory-mapped {@code .csr} files).
+ * Every load gets a new version number so results computed on an older graph can be told apart.
+ * A preprocessed {@code .ch} file with the same base name is attached to the contraction
+ * hierarchies engine on load, so restarts don't repeat the preprocessing.
+ * <p>
+ * Edge updates switch a dataset to a {@link DynamicGraph}. Shortest-path trees registered with
+ * {@link #maintain(String, int)} are repaired incrementally on every update, while the CSR
+ * snapshot used by the other engines is only rebuilt when a query needs it.
+ */
+@Service
+public class GraphDatasetService {
+
+    public record Dataset(String name, CsrGraph graph, long version, Path source) {
+    }
+
+    private static final class DynamicState {
+        final DynamicGraph graph;
+        final Map<Integer, DynamicShortestPaths> trees = new HashMap<>();
+        long snapshotVersion;
+
+        DynamicState(DynamicGraph graph, long snapshotVersion) {
+            this.graph = graph;
+            this.snapshotVersion = snapshotVersion;
+        }
+    }
+
+    private final Map<String, Dataset> datasets = new ConcurrentHashMap<>();
+    private final Map<String, DynamicState> dynamicStates = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final Path dataDir;
+    private final ContractionHierarchies contractionHierarchies;
+    private final ShortestPathCache cache;
+
+    public GraphDatasetService(@Value("${algovisualizer.data-dir:data}") String dataDir,
+                               ContractionHierarchies contractionHierarchies, ShortestPathCache cache) {
+        this.dataDir = Path.of(dataDir).toAbsolutePath().normalize();
+        this.contractionHierarchies = contractionHierarchies;
+        this.cache = cache;
+    }
+
+    public Dataset load(String name, String fileName) throws IOException {
+        Path file = resolve(fileName);
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Fichier introuvable : " + fileName);
+        }
+        CsrGraph graph = GraphFileConverter.load(file);
+        Path hierarchyFile = ContractionHierarchyTool.hierarchyFileFor(file);
+        if (Files.isRegularFile(hierarchyFile)) {
+            contractionHierarchies.attach(graph, ContractionHierarchyFile.read(hierarchyFile));
+        }
+        return register(name, graph, file);
+    }
+
+    public Dataset register(String name, CsrGraph graph) {
+        return register(name, graph, null);
+    }
+
+    private Dataset register(String name, CsrGraph graph, Path source) {
+        Dataset dataset = new Dataset(name, graph, versions.incrementAndGet(), source);
+        datasets.put(name, dataset);
+        dynamicStates.remove(name);
+        cache.invalidate(name);
+        return dataset;
+    }
+
+    /**
+     * Starts maintaining the shortest-path tree of {@code source} across edge updates.
+     */
+    public void maintain(String name, int source) {
+        DynamicState state = dynamicState(name);
+        synchronized (state) {
+            state.trees.computeIfAbsent(source, s -> new DynamicShortestPaths(state.graph, s));
+        }
+    }
+
+    public int[] maintainedPath(String name, int source, int end) {
+        DynamicState state = dynamicState(name);
+        synchronized (state) {
+            DynamicShortestPaths tree = state.trees.get(source);
+            if (tree == null) {
+                throw new IllegalArgumentException("Source non suivie : " + source);
+            }
+            return tree.pathTo(end);
+        }
+    }
+
+    /**
+     * Applies the updates in order, repairing every maintained tree after each one. An invalid
+     * update stops the batch, but the updates before it stay applied, so the version is bumped
+     * and the cache invalidated whenever at least one of them went through.
+     */
+    public Map<String, Long> applyUpdates(String name, List<EdgeUpdate> updates) {
+        for (EdgeUpdate update : updates) {
+            if (update.getOperation() == null) {
+                throw new IllegalArgumentException("Opération manquante");
+            }
+        }
+        DynamicState state = dynamicState(name);
+        synchronized (state) {
+            long settled = 0;
+            int applied = 0;
+            try {
+                for (EdgeUpdate update : updates) {
+                    DynamicGraph.EdgeChange change = switch (update.getOperation()) {
+                        case INSERT -> state.graph.insert(update.getFrom(), update.getTo(), update.getWeight());
+                        case DELETE -> state.graph.delete(update.getFrom(), update.getTo());
+                        case REWEIGHT -> state.graph.reweight(update.getFrom(), update.getTo(), update.getWeight());
+                    };
+                    applied++;
+                    for (DynamicShortestPaths tree : state.trees.values()) {
+                        settled += tree.apply(change);
+                    }
+                }
+            } finally {
+                if (applied > 0) {
+                    Dataset current = datasets.get(name);
+                    // The source file no longer describes the graph
+                    datasets.put(name, new Dataset(name, current.graph(), versions.incrementAndGet(), null));
+                    cache.invalidate(name);
+                }
+            }
+            return Map.of("version", datasets.get(name).version(), "updates", (long) updates.size(),
+                    "settled", settled);
+        }
+    }
+
+    private DynamicState dynamicState(String name) {
+        Dataset dataset = get(name);
+        return dynamicStates.computeIfAbsent(name,
+                n -> new DynamicState(new DynamicGraph(dataset.graph()), dataset.version()));
+    }
+
+    /**
+     * Builds the contraction hierarchy of a dataset and saves it next to the source file.
+     */
+    public ContractionHierarchy contract(String name) throws IOException {
+        Dataset dataset = get(name);
+        ContractionHierarchy hierarchy = contractionHierarchies.prepare(dataset.graph());
+        if (dataset.source() != null) {
+            ContractionHierarchyFile.write(hierarchy, ContractionHierarchyTool.hierarchyFileFor(dataset.source()));
+        }
+        return hierarchy;
+    }
+
+    public Dataset get(String name) {
+        Dataset dataset = datasets.get(name);
+        if (dataset == null) {
+            throw new IllegalArgumentException("Graphe inconnu : " + name);
+        }
+        DynamicState state = dynamicStates.get(name);
+        if (state == null) {
+            return dataset;
+        }
+        synchronized (state) {
+            dataset = datasets.get(name);
+            if (state.snapshotVersion != dataset.version()) {
+                dataset = new Dataset(name, state.graph.toCsrGraph(), dataset.version(), dataset.source());
+                datasets.put(name, dataset);
+                state.snapshotVersion = dataset.version();
+            }
+            return dataset;
+        }
+    }
+
+    public Map<String, Map<String, Long>> describe() {
+        Map<String, Map<String, Long>> description = new HashMap<>();
+        datasets.keySet().stream().map(this::get).forEach(dataset -> description.put(dataset.name(), Map.of(
+                "nodes", (long) dataset.graph().nodeCount(),
+                "edges", (long) dataset.graph().edgeCount(),
+                "version", dataset.version())));
+        return description;
+    }
+
+    /**
+     * Only files inside the data directory can be loaded.
+     */
+    Path resolve(String fileName) {
+        Path file = dataDir.resolve(fileName).normalize();
+        if (!file.startsWith(dataDir)) {
+            throw new IllegalArgumentException("Chemin hors du répertoire de données : " + fileName);
+        }
+        return file;
+    }
+}
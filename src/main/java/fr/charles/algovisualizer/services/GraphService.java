@@ -1,21 +1,45 @@
 package fr.charles.algovisualizer.services;
 
+import fr.charles.algovisualizer.algorithms.graph.ContractionHierarchies;
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
 import fr.charles.algovisualizer.algorithms.graph.Dijkstra;
 import fr.charles.algovisualizer.algorithms.graph.GraphAlgorithm;
+import fr.charles.algovisualizer.algorithms.graph.GraphTraceRecorder;
+import fr.charles.algovisualizer.algorithms.graph.KShortestPaths;
+import fr.charles.algovisualizer.algorithms.graph.PackedGraphTrace;
+import fr.charles.algovisualizer.algorithms.graph.RelabeledGraph;
+import fr.charles.algovisualizer.algorithms.graph.ShortestPathTree;
+import fr.charles.algovisualizer.dto.GraphTraceResponse;
+import fr.charles.algovisualizer.monitoring.ShortestPathEvent;
+import fr.charles.algovisualizer.services.ShortestPathCache.GraphVersion;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 @Service
 public class GraphService {
 
     private final Map<String, GraphAlgorithm> algorithms = new HashMap<>();
+    private final Dijkstra dijkstra;
+    private final ShortestPathCache cache;
+    private final int maxTraceEvents;
+    private final int maxPaths;
 
-    public GraphService() {
-        registerAlgorithm(new Dijkstra());
+    public GraphService(List<GraphAlgorithm> algorithmList, Dijkstra dijkstra, ShortestPathCache cache,
+                        @Value("${algovisualizer.graph.trace.max-events:200000}") int maxTraceEvents,
+                        @Value("${algovisualizer.graph.k-paths.max-k:100}") int maxPaths) {
+        this.dijkstra = dijkstra;
+        this.cache = cache;
+        this.maxTraceEvents = maxTraceEvents;
+        this.maxPaths = maxPaths;
+        // Auto-register all algorithms found by Spring
+        algorithmList.forEach(this::registerAlgorithm);
     }
 
     private void registerAlgorithm(GraphAlgorithm algorithm) {
@@ -27,11 +51,199 @@ public class GraphService {
     }
 
     public List<Integer> findShortestPath(String algorithmName, Map<Integer, Map<Integer, Integer>> graph, int start, int end) {
+        ShortestPathEvent event = new ShortestPathEvent();
+        event.begin();
+        try {
+            GraphAlgorithm algorithm = getAlgorithm(algorithmName);
+            String key = slugify(algorithmName);
+            GraphVersion version = ShortestPathCache.versionOf(graph);
+            List<Integer> path = cache.getPath(version, key, start, end);
+            event.cached = path != null;
+            if (path == null) {
+                ShortestPathTree tree = cache.getTree(version, start);
+                event.cached = tree != null;
+                if (tree == null && algorithm == dijkstra
+                        && cache.shouldBuildTree(version, start, end, graph.size())) {
+                    tree = dijkstra.shortestPathTree(graph, start);
+                    cache.putTree(version, tree);
+                }
+                path = tree != null
+                        ? Arrays.stream(tree.pathTo(end)).boxed().toList()
+                        : List.copyOf(algorithm.findShortestPath(graph, start, end));
+                cache.putPath(version, key, start, end, path);
+            }
+            event.pathLength = path.size();
+            return path;
+        } catch (CancellationException e) {
+            event.cancelled = true;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                commit(event, algorithmName, "", graph.size(), edgeCount(graph));
+            }
+        }
+    }
+
+    public int[] findShortestPath(String algorithmName, GraphDatasetService.Dataset dataset, int start, int end) {
+        return findShortestPath(algorithmName, new GraphVersion(dataset.name(), dataset.version()), dataset.graph(),
+                start, end, true);
+    }
+
+    public int[] findShortestPath(String algorithmName, CsrGraph graph, int start, int end) {
+        return findShortestPath(algorithmName, ShortestPathCache.versionOf(graph), graph, start, end, false);
+    }
+
+    private int[] findShortestPath(String algorithmName, GraphVersion version, CsrGraph graph, int start, int end,
+                                   boolean loaded) {
+        ShortestPathEvent event = new ShortestPathEvent();
+        event.begin();
+        try {
+            GraphAlgorithm algorithm = getAlgorithm(algorithmName);
+            String key = slugify(algorithmName);
+            int[] path = cache.getPath(version, key, start, end);
+            event.cached = path != null;
+            if (path == null) {
+                ShortestPathTree tree = cache.getTree(version, start);
+                event.cached = tree != null;
+                if (tree == null && algorithm == dijkstra
+                        && cache.shouldBuildTree(version, start, end, graph.nodeCount())) {
+                    tree = dijkstra.shortestPathTree(graph, start);
+                    cache.putTree(version, tree);
+                }
+                path = tree != null
+                        ? tree.pathTo(end)
+                        : search(algorithm, graph, start, end, loaded);
+                cache.putPath(version, key, start, end, path);
+            }
+            event.pathLength = path.length;
+            return path.clone();
+        } catch (CancellationException e) {
+            event.cancelled = true;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                commit(event, algorithmName, version.graph(), graph.nodeCount(), graph.edgeCount());
+            }
+        }
+    }
+
+    // Hierarchies of loaded datasets are kept; graphs sent with a request are contracted and dropped
+    private static int[] search(GraphAlgorithm algorithm, CsrGraph graph, int start, int end, boolean loaded) {
+        if (loaded && algorithm instanceof ContractionHierarchies hierarchies) {
+            return hierarchies.prepare(graph).query(start, end, GraphTraceRecorder.NONE);
+        }
+        return algorithm.findShortestPath(graph, start, end, GraphTraceRecorder.NONE);
+    }
+
+    /**
+     * The {@code k} shortest loopless paths by increasing cost. The first one is the path
+     * {@code algorithmName} finds (and caches) for the same query; the next ones come from
+     * {@link KShortestPaths}. Adjacency maps are relabeled to a dense {@link CsrGraph} first, and
+     * the paths mapped back to their node ids.
+     */
+    public List<KShortestPaths.Path> findKShortestPaths(String algorithmName, Map<Integer, Map<Integer, Integer>> graph,
+                                                        int start, int end, int k) {
+        RelabeledGraph relabeled = RelabeledGraph.of(graph);
+        int from = relabeled.indexOf(start);
+        int to = relabeled.indexOf(end);
+        if (from < 0 || to < 0) {
+            checkK(k);
+            return start == end ? List.of(new KShortestPaths.Path(new int[]{start}, 0)) : List.of();
+        }
+        return findKShortestPaths(algorithmName, relabeled.graph(), from, to, k).stream()
+                .map(path -> new KShortestPaths.Path(relabeled.toIds(path.nodes()), path.cost()))
+                .toList();
+    }
+
+    public List<KShortestPaths.Path> findKShortestPaths(String algorithmName, GraphDatasetService.Dataset dataset,
+                                                        int start, int end, int k) {
+        return findKShortestPaths(algorithmName, new GraphVersion(dataset.name(), dataset.version()), dataset.graph(),
+                start, end, k, true);
+    }
+
+    public List<KShortestPaths.Path> findKShortestPaths(String algorithmName, CsrGraph graph, int start, int end, int k) {
+        return findKShortestPaths(algorithmName, ShortestPathCache.versionOf(graph), graph, start, end, k, false);
+    }
+
+    private List<KShortestPaths.Path> findKShortestPaths(String algorithmName, GraphVersion version, CsrGraph graph,
+                                                         int start, int end, int k, boolean loaded) {
+        checkK(k);
+        int[] shortest = findShortestPath(algorithmName, version, graph, start, end, loaded);
+        return new KShortestPaths(graph, end).find(start, k, shortest);
+    }
+
+    private void checkK(int k) {
+        if (k < 1 || k > maxPaths) {
+            throw new IllegalArgumentException("k doit être entre 1 et " + maxPaths + " : " + k);
+        }
+    }
+
+    public GraphTraceResponse traceShortestPath(String algorithmName, Map<Integer, Map<Integer, Integer>> graph, int start, int end) {
+        ShortestPathEvent event = new ShortestPathEvent();
+        event.begin();
+        PackedGraphTrace trace = new PackedGraphTrace(maxTraceEvents);
+        try {
+            GraphAlgorithm algorithm = getAlgorithm(algorithmName);
+            List<Integer> path = algorithm.findShortestPath(graph, start, end, trace);
+            event.pathLength = path.size();
+            return new GraphTraceResponse(path, trace);
+        } catch (CancellationException e) {
+            event.cancelled = true;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.steps = trace.size();
+                commit(event, algorithmName, "", graph.size(), edgeCount(graph));
+            }
+        }
+    }
+
+    public GraphTraceResponse traceShortestPath(String algorithmName, CsrGraph graph, int start, int end) {
+        ShortestPathEvent event = new ShortestPathEvent();
+        event.begin();
+        PackedGraphTrace trace = new PackedGraphTrace(maxTraceEvents);
+        try {
+            GraphAlgorithm algorithm = getAlgorithm(algorithmName);
+            int[] path = algorithm.findShortestPath(graph, start, end, trace);
+            event.pathLength = path.length;
+            return new GraphTraceResponse(Arrays.stream(path).boxed().toList(), trace);
+        } catch (CancellationException e) {
+            event.cancelled = true;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.steps = trace.size();
+                commit(event, algorithmName, ShortestPathCache.EDGE_LIST_GRAPH, graph.nodeCount(), graph.edgeCount());
+            }
+        }
+    }
+
+    private void commit(ShortestPathEvent event, String algorithmName, String graphName, int nodes, int edges) {
+        event.algorithm = slugify(algorithmName);
+        event.graph = graphName;
+        event.nodes = nodes;
+        event.edges = edges;
+        event.commit();
+    }
+
+    private static int edgeCount(Map<Integer, Map<Integer, Integer>> graph) {
+        int edges = 0;
+        for (Map<Integer, Integer> neighbors : graph.values()) {
+            edges += neighbors.size();
+        }
+        return edges;
+    }
+
+    private GraphAlgorithm getAlgorithm(String algorithmName) {
         GraphAlgorithm algorithm = algorithms.get(slugify(algorithmName));
         if (algorithm == null) {
             throw new IllegalArgumentException("Algorithme inconnu : " + algorithmName);
         }
-        return algorithm.findShortestPath(graph, start, end);
+        return algorithm;
     }
 
     public Map<String, String> getAvailableAlgorithms() {
@@ -0,0 +1,302 @@
+package fr.charles.algovisualizer.services;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import fr.charles.algovisualizer.dto.JobRequest;
+import fr.charles.algovisualizer.dto.JobStatus;
+import fr.charles.algovisualizer.dto.JobStatus.State;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs sorts and shortest-path searches as background jobs. Jobs wait in a {@link FairQueue}
+ * (bounded overall and per client, by priority then least recently served client) and run on a
+ * fixed pool of workers, one per core by default. Requested priorities are clamped to
+ * {@code [-max-priority, max-priority]}, so a client cannot outbid every other one. Every
+ * submission schedules one worker pass, which takes whichever job is best at that moment rather
+ * than the one just submitted.
+ * <p>
+ * Progress is the number of cancellation checks the run has passed: steps recorded for a sort,
+ * nodes settled for a search, buffers read or written for an external sort. Finished jobs are
+ * dropped oldest first once more than {@code max-retained} of them are kept or their results
+ * hold more than {@code max-retained-values} ints in total. A result heavier than that on its own
+ * is not kept at all and the job fails.
+ */
+@Service
+public class JobService {
+
+    private static final class Job {
+        final String id = UUID.randomUUID().toString();
+        final String type;
+        final String algorithm;
+        final Supplier<Object> work;
+        final CancellationToken token = new CancellationToken();
+        final long submittedAt = System.nanoTime();
+        volatile long startedAt;
+        volatile long finishedAt;
+        volatile State state = State.QUEUED;
+        volatile Object result;
+        volatile String error;
+        long weight;
+
+        Job(String type, String algorithm, Supplier<Object> work) {
+            this.type = type;
+            this.algorithm = algorithm;
+            this.work = work;
+        }
+    }
+
+    private final SortingService sortingService;
+    private final GraphService graphService;
+    private final GraphDatasetService datasetService;
+    private final ExternalSortService externalSortService;
+    private final Duration deadline;
+    private final int maxRetained;
+    private final long maxRetainedValues;
+    private final int maxPriority;
+    private final FairQueue<Job> queue;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // Guarded by itself, along with retainedValues
+    private final Queue<Job> finished = new ArrayDeque<>();
+    private long retainedValues;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService deadlines;
+
+    public JobService(SortingService sortingService, GraphService graphService, GraphDatasetService datasetService,
+                      ExternalSortService externalSortService,
+                      @Value("${algovisualizer.jobs.workers:0}") int workerCount,
+                      @Value("${algovisualizer.jobs.max-queued:100}") int maxQueued,
+                      @Value("${algovisualizer.jobs.max-queued-per-client:10}") int maxQueuedPerClient,
+                      @Value("${algovisualizer.jobs.max-priority:10}") int maxPriority,
+                      @Value("${algovisualizer.jobs.max-retained:100}") int maxRetained,
+                      @Value("${algovisualizer.jobs.max-retained-values:5000000}") long maxRetainedValues,
+                      @Value("${algovisualizer.jobs.deadline:10m}") Duration deadline) {
+        this.sortingService = sortingService;
+        this.graphService = graphService;
+        this.datasetService = datasetService;
+        this.externalSortService = externalSortService;
+        this.deadline = deadline;
+        this.maxRetained = maxRetained;
+        this.maxRetainedValues = maxRetainedValues;
+        this.maxPriority = maxPriority;
+        this.queue = new FairQueue<>(maxQueued, maxQueuedPerClient);
+        int threads = workerCount > 0 ? workerCount : Runtime.getRuntime().availableProcessors();
+        this.workers = Executors.newFixedThreadPool(threads, daemonThreads("job-"));
+        this.deadlines = Executors.newSingleThreadScheduledExecutor(daemonThreads("job-deadline-"));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+        deadlines.shutdownNow();
+    }
+
+    /**
+     * Queues the job and returns its status; throws {@link RejectedExecutionException} when the
+     * queue or the client's share of it is full.
+     */
+    public JobStatus submit(String client, JobRequest request) {
+        Job job = new Job(request.getType(), request.getAlgorithm(), plan(request));
+        jobs.put(job.id, job);
+        try {
+            queue.offer(client, job, Math.max(-maxPriority, Math.min(maxPriority, request.getPriority())));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+        workers.execute(this::runNext);
+        return status(job);
+    }
+
+    private Supplier<Object> plan(JobRequest request) {
+        String algorithm = request.getAlgorithm();
+        if (request.getType() == null) {
+            throw new IllegalArgumentException("Type de tâche manquant");
+        }
+        String type = request.getType().toLowerCase(Locale.ROOT);
+        if (algorithm == null && !type.equals("external-sort")) {
+            throw new IllegalArgumentException("Algorithme manquant");
+        }
+        switch (type) {
+            case "sort" -> {
+                if (request.getInput() != null) {
+                    return () -> sortingService.sort(algorithm, request.getInput());
+                }
+                if (request.getArray() != null) {
+                    return () -> sortingService.sort(algorithm, request.getArray());
+                }
+                throw new IllegalArgumentException("Tableau manquant");
+            }
+            case "graph" -> {
+                if (request.getDataset() != null) {
+                    return () -> graphService.findShortestPath(algorithm, datasetService.get(request.getDataset()),
+                            request.getStart(), request.getEnd());
+                }
+                if (request.getGraph() != null) {
+                    return () -> graphService.findShortestPath(algorithm, request.getGraph(),
+                            request.getStart(), request.getEnd());
+                }
+                throw new IllegalArgumentException("Graphe manquant");
+            }
+            case "external-sort" -> {
+                if (request.getFile() == null) {
+                    throw new IllegalArgumentException("Fichier manquant");
+                }
+                return () -> externalSortService.sort(request.getFile(), request.getOutput());
+            }
+            default -> throw new IllegalArgumentException("Type de tâche inconnu : " + request.getType());
+        }
+    }
+
+    private void runNext() {
+        Job job = queue.poll();
+        if (job == null) {
+            return;
+        }
+        synchronized (job) {
+            if (job.state != State.QUEUED) {
+                return;
+            }
+            job.state = State.RUNNING;
+            job.startedAt = System.nanoTime();
+        }
+        ScheduledFuture<?> timer = deadlines.schedule(() -> job.token.cancel("deadline"),
+                deadline.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            finish(job, State.SUCCEEDED, job.token.run(job.work), null);
+        } catch (CancellationException e) {
+            finish(job, State.CANCELLED, null, e.getMessage());
+        } catch (Exception e) {
+            finish(job, State.FAILED, null, e.getMessage());
+        } finally {
+            timer.cancel(false);
+        }
+    }
+
+    private void finish(Job job, State state, Object result, String error) {
+        long weight = weigh(result);
+        if (weight > maxRetainedValues) {
+            state = State.FAILED;
+            result = null;
+            error = "Résultat trop volumineux pour être conservé : " + weight + " valeurs";
+            weight = 0;
+        }
+        job.result = result;
+        job.error = error;
+        job.finishedAt = System.nanoTime();
+        job.state = state;
+        synchronized (finished) {
+            job.weight = weight;
+            finished.add(job);
+            retainedValues += weight;
+            while (finished.size() > maxRetained || retainedValues > maxRetainedValues) {
+                Job oldest = finished.poll();
+                retainedValues -= oldest.weight;
+                jobs.remove(oldest.id);
+            }
+        }
+    }
+
+    // Ints held by a result: one per value of every sort step, one per node of a path
+    private static long weigh(Object result) {
+        if (result instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof int[] first) {
+            return (long) list.size() * first.length;
+        }
+        if (result instanceof int[] array) {
+            return array.length;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        return 1;
+    }
+
+    /**
+     * Cancels a queued or running job. Returns false if it had already finished.
+     */
+    public boolean cancel(String id) {
+        Job job = find(id);
+        synchronized (job) {
+            if (job.state == State.QUEUED) {
+                queue.remove(job);
+                finish(job, State.CANCELLED, null, "cancelled");
+                return true;
+            }
+        }
+        if (job.state == State.RUNNING) {
+            job.token.cancel("cancelled");
+            return true;
+        }
+        return false;
+    }
+
+    public JobStatus status(String id) {
+        return status(find(id));
+    }
+
+    /**
+     * Result of a succeeded job; throws {@link IllegalStateException} for any other state.
+     */
+    public Object result(String id) {
+        Job job = find(id);
+        if (job.state != State.SUCCEEDED) {
+            throw new IllegalStateException("Tâche " + id + " : " + job.state);
+        }
+        return job.result;
+    }
+
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    private Job find(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new NoSuchElementException("Tâche inconnue : " + id);
+        }
+        return job;
+    }
+
+    private static JobStatus status(Job job) {
+        State state = job.state;
+        long now = System.nanoTime();
+        long started = job.startedAt;
+        long ended = job.finishedAt;
+        long queuedUntil = state == State.QUEUED ? now : started != 0 ? started : ended;
+        long runningUntil = state == State.RUNNING ? now : ended;
+        return new JobStatus(job.id, job.type, job.algorithm, state, job.token.progress(),
+                TimeUnit.NANOSECONDS.toMillis(queuedUntil - job.submittedAt),
+                started == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(runningUntil - started),
+                job.error);
+    }
+}
@@ -0,0 +1,144 @@
+package fr.charles.algovisualizer.services;
+
+import fr.charles.algovisualizer.dto.RecordingStatus;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Flight recordings started and stopped on demand. Each one uses the JDK {@code default}
+ * settings with the {@value #PRESET} preset on top, which enables the application events of
+ * the {@code monitoring} package. Recordings go to disk and stop by themselves after
+ * {@code max-duration}; their data stays available until they are deleted, and at most
+ * {@code max-recordings} are kept at once.
+ */
+@Service
+public class RecordingService {
+
+    static final String PRESET = "jfr/algovisualizer.jfc";
+
+    private final Map<String, String> settings;
+    private final int maxRecordings;
+    private final Duration maxDuration;
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+
+    public RecordingService(@Value("${algovisualizer.jfr.max-recordings:2}") int maxRecordings,
+                            @Value("${algovisualizer.jfr.max-duration:10m}") Duration maxDuration)
+            throws IOException, ParseException {
+        this.maxRecordings = maxRecordings;
+        this.maxDuration = maxDuration;
+        Map<String, String> merged = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (Reader reader = new InputStreamReader(new ClassPathResource(PRESET).getInputStream(), StandardCharsets.UTF_8)) {
+            merged.putAll(Configuration.create(reader).getSettings());
+        }
+        this.settings = Map.copyOf(merged);
+    }
+
+    /**
+     * Starts a recording that stops after {@code duration}, or {@code max-duration} when it is
+     * null or longer.
+     */
+    public synchronized RecordingStatus start(String name, Duration duration) {
+        if (duration != null && (duration.isNegative() || duration.isZero())) {
+            throw new IllegalArgumentException("Durée invalide : " + duration);
+        }
+        if (recordings.size() >= maxRecordings) {
+            throw new RejectedExecutionException("Trop d'enregistrements conservés : " + recordings.size());
+        }
+        Recording recording = new Recording(settings);
+        recording.setName(name == null || name.isBlank() ? "algovisualizer" : name);
+        recording.setToDisk(true);
+        recording.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        return status(recording);
+    }
+
+    /**
+     * Stops a running recording; its data can still be downloaded. Returns false if it had
+     * already stopped.
+     */
+    public boolean stop(long id) {
+        Recording recording = get(id);
+        try {
+            return recording.stop();
+        } catch (IllegalStateException e) {
+            // Already stopped, possibly by its duration running out
+            return false;
+        }
+    }
+
+    public RecordingStatus status(long id) {
+        return status(get(id));
+    }
+
+    public List<RecordingStatus> list() {
+        return recordings.values().stream()
+                .sorted(Comparator.comparingLong(Recording::getId))
+                .map(this::status)
+                .toList();
+    }
+
+    /**
+     * The recorded data in the {@code .jfr} format, up to now for a running recording.
+     */
+    public InputStream data(long id) throws IOException {
+        InputStream stream = get(id).getStream(null, null);
+        if (stream == null) {
+            throw new IllegalStateException("Aucune donnée enregistrée");
+        }
+        return stream;
+    }
+
+    public void delete(long id) {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            throw new NoSuchElementException("Enregistrement inconnu : " + id);
+        }
+        recording.close();
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+
+    private Recording get(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            throw new NoSuchElementException("Enregistrement inconnu : " + id);
+        }
+        return recording;
+    }
+
+    private RecordingStatus status(Recording recording) {
+        Instant started = recording.getStartTime();
+        Instant stopped = recording.getState() == RecordingState.RUNNING ? Instant.now() : recording.getStopTime();
+        long durationMillis = started == null || stopped == null ? 0 : Duration.between(started, stopped).toMillis();
+        return new RecordingStatus(recording.getId(), recording.getName(),
+                recording.getState().name().toLowerCase(Locale.ROOT),
+                started != null ? started.toEpochMilli() : 0, durationMillis, recording.getSize());
+    }
+}
@@ -0,0 +1,215 @@
+package fr.charles.algovisualizer.services;
+
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+import fr.charles.algovisualizer.algorithms.graph.ShortestPathTree;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shortest-path results keyed by graph identity and version.
+ * <ul>
+ *     <li>JSON graphs, as adjacency maps or edge lists, are identified by a SHA-256 digest of
+ *     their sorted edges, compared on every lookup, so an edited graph simply misses and two
+ *     different graphs never share entries.</li>
+ *     <li>Datasets are identified by name and version; entries of older versions are dropped
+ *     by {@link #invalidate(String)}.</li>
+ * </ul>
+ * When a second target is queried from the same source, the full shortest-path tree of that
+ * source is cached, and later targets from it are answered by walking the tree. Graphs whose
+ * trees are too large for {@code max-tree-nodes} never get one.
+ */
+@Component
+public class ShortestPathCache {
+
+    /**
+     * Datasets are told apart by {@code version}; JSON graphs by {@code digest}, which is
+     * {@code null} for datasets.
+     */
+    public record GraphVersion(String graph, long version, String digest) {
+        public GraphVersion(String graph, long version) {
+            this(graph, version, null);
+        }
+    }
+
+    static final String EDGE_LIST_GRAPH = "[edges]";
+
+    record PathKey(GraphVersion graph, String algorithm, int start, int end) {
+    }
+
+    record SourceKey(GraphVersion graph, int source) {
+    }
+
+    private final BoundedCache<PathKey, Object> paths;
+    private final BoundedCache<SourceKey, ShortestPathTree> trees;
+    private final BoundedCache<SourceKey, Integer> firstTargets;
+    private final BoundedCache<GraphVersion, Boolean> oversized;
+    private final long maxTreeNodes;
+
+    public ShortestPathCache(@Value("${algovisualizer.graph.cache.max-paths:10000}") int maxPaths,
+                             @Value("${algovisualizer.graph.cache.max-tree-nodes:20000000}") long maxTreeNodes) {
+        this.paths = new BoundedCache<>(maxPaths);
+        this.trees = new BoundedCache<>(maxTreeNodes, ShortestPathTree::size);
+        this.firstTargets = new BoundedCache<>(maxPaths);
+        this.oversized = new BoundedCache<>(maxPaths);
+        this.maxTreeNodes = maxTreeNodes;
+    }
+
+    /**
+     * Digest of a JSON adjacency map: nodes in increasing order, each with its degree and its
+     * edges sorted by target.
+     */
+    public static GraphVersion versionOf(Map<Integer, Map<Integer, Integer>> graph) {
+        EdgeDigest digest = new EdgeDigest();
+        digest.add(graph.size());
+        int[] nodes = graph.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        for (int node : nodes) {
+            Map<Integer, Integer> neighbors = graph.get(node);
+            long[] edges = new long[neighbors.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Integer> edge : neighbors.entrySet()) {
+                edges[i++] = pack(edge.getKey(), edge.getValue());
+            }
+            digest.add(node);
+            digest.addSorted(edges);
+        }
+        return new GraphVersion("", 0, digest.finish());
+    }
+
+    /**
+     * Digest of an edge-list graph, with the edges of each node sorted. It lives apart from the
+     * map digests because the two formats cache paths of different types.
+     */
+    public static GraphVersion versionOf(CsrGraph graph) {
+        EdgeDigest digest = new EdgeDigest();
+        digest.add(graph.nodeCount());
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            long[] edges = new long[graph.endEdge(u) - graph.firstEdge(u)];
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                edges[e - graph.firstEdge(u)] = pack(graph.target(e), graph.weight(e));
+            }
+            digest.addSorted(edges);
+        }
+        return new GraphVersion(EDGE_LIST_GRAPH, 0, digest.finish());
+    }
+
+    // Signed target first, so sorting the packed values sorts by target then by weight bits
+    private static long pack(int target, int weight) {
+        return ((long) target << 32) | (weight & 0xffffffffL);
+    }
+
+    private static final class EdgeDigest {
+        private final MessageDigest sha;
+        private final ByteBuffer buffer = ByteBuffer.allocate(8192);
+
+        EdgeDigest() {
+            try {
+                sha = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e); // every JRE provides SHA-256
+            }
+        }
+
+        void add(int value) {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void addSorted(long[] edges) {
+            Arrays.sort(edges);
+            add(edges.length);
+            for (long edge : edges) {
+                if (buffer.remaining() < Long.BYTES) {
+                    flush();
+                }
+                buffer.putLong(edge);
+            }
+        }
+
+        private void flush() {
+            sha.update(buffer.flip());
+            buffer.clear();
+        }
+
+        String finish() {
+            flush();
+            return HexFormat.of().formatHex(sha.digest());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <P> P getPath(GraphVersion graph, String algorithm, int start, int end) {
+        return (P) paths.get(new PathKey(graph, algorithm, start, end));
+    }
+
+    public void putPath(GraphVersion graph, String algorithm, int start, int end, Object path) {
+        paths.put(new PathKey(graph, algorithm, start, end), path);
+    }
+
+    public ShortestPathTree getTree(GraphVersion graph, int source) {
+        return trees.get(new SourceKey(graph, source));
+    }
+
+    /**
+     * Caches a tree, unless it is too large; the graph then gets no more trees.
+     */
+    public void putTree(GraphVersion graph, ShortestPathTree tree) {
+        if (!trees.put(new SourceKey(graph, tree.getSource()), tree)) {
+            oversized.put(graph, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Records a queried target and tells whether the source has now been used with another
+     * target, i.e. whether building its whole tree is worth it. It never is when a tree of
+     * {@code nodeCount} nodes, or an earlier tree of the same graph, was too large to keep.
+     */
+    public boolean shouldBuildTree(GraphVersion graph, int source, int target, int nodeCount) {
+        if (nodeCount > maxTreeNodes || oversized.get(graph) != null) {
+            return false;
+        }
+        SourceKey key = new SourceKey(graph, source);
+        Integer first = firstTargets.get(key);
+        if (first == null) {
+            firstTargets.put(key, target);
+            return false;
+        }
+        return first != target;
+    }
+
+    public void invalidate(String graph) {
+        paths.invalidate(key -> key.graph().graph().equals(graph));
+        trees.invalidate(key -> key.graph().graph().equals(graph));
+        firstTargets.invalidate(key -> key.graph().graph().equals(graph));
+        oversized.invalidate(key -> key.graph().equals(graph));
+    }
+
+    /**
+     * Hits and misses per request: trees are only looked up after a path miss, so a request
+     * answered from a tree counts as a tree hit and not as a miss.
+     */
+    public Map<String, Object> getStatistics() {
+        long pathHits = paths.hits();
+        long treeHits = trees.hits();
+        long misses = Math.max(0, paths.misses() - treeHits);
+        long hits = pathHits + treeHits;
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("pathHits", pathHits);
+        statistics.put("treeHits", treeHits);
+        statistics.put("misses", misses);
+        statistics.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        statistics.put("paths", paths.size());
+        statistics.put("trees", trees.size());
+        statistics.put("evictions", paths.evictions() + trees.evictions());
+        return statistics;
+    }
+}
@@ -1,21 +1,45 @@
 package fr.charles.algovisualizer.services;
 
+import fr.charles.algovisualizer.algorithms.sorting.InputGenerator;
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec;
 import fr.charles.algovisualizer.algorithms.sorting.SortingAlgorithm;
+import fr.charles.algovisualizer.dto.SortTiming;
+import fr.charles.algovisualizer.monitoring.SortEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 
 @Service
 public class SortingService {
 
+    private record GeneratedSortKey(String algorithm, InputSpec input) {
+    }
+
     private final Map<String, SortingAlgorithm> algorithms = new HashMap<>();
+    private final BoundedCache<GeneratedSortKey, List<int[]>> generatedSorts;
+    private final int maxCompareSize;
+    private final int maxGeneratedSize;
 
     @Autowired
-    public SortingService(List<SortingAlgorithm> algorithmList) {
+    public SortingService(List<SortingAlgorithm> algorithmList,
+                          @Value("${algovisualizer.sort.cache.max-values:5000000}") long maxCachedValues,
+                          @Value("${algovisualizer.sort.compare.max-size:300}") int maxCompareSize,
+                          @Value("${algovisualizer.sort.generated.max-size:10000}") int maxGeneratedSize) {
+        this.maxCompareSize = maxCompareSize;
+        this.maxGeneratedSize = maxGeneratedSize;
+        // Steps are weighted by the number of values they hold
+        this.generatedSorts = new BoundedCache<>(maxCachedValues,
+                steps -> steps.isEmpty() ? 1 : (long) steps.size() * steps.get(0).length);
         // Auto-register all algorithms found by Spring
         algorithmList.forEach(this::registerAlgorithm);
     }
@@ -29,11 +53,115 @@ public class SortingService {
     }
 
     public List<int[]> sort(String algorithmName, int[] array) {
+        checkTracedSize(array.length);
+        SortEvent event = new SortEvent();
+        event.begin();
+        try {
+            List<int[]> steps = getAlgorithm(algorithmName).sort(array);
+            event.steps = steps.size();
+            return steps;
+        } catch (CancellationException e) {
+            event.cancelled = true;
+            throw e;
+        } finally {
+            commit(event, algorithmName, array.length);
+        }
+    }
+
+    /**
+     * Sorts the array generated from {@code input}. Steps are cached per algorithm and spec,
+     * since the same spec always yields the same array.
+     */
+    public List<int[]> sort(String algorithmName, InputSpec input) {
+        checkTracedSize(input.n());
+        SortEvent event = new SortEvent();
+        event.begin();
+        try {
+            SortingAlgorithm algorithm = getAlgorithm(algorithmName);
+            GeneratedSortKey key = new GeneratedSortKey(slugify(algorithmName), input);
+            List<int[]> steps = generatedSorts.get(key);
+            event.cached = steps != null;
+            if (steps == null) {
+                steps = List.copyOf(algorithm.sort(InputGenerator.generate(input)));
+                generatedSorts.put(key, steps);
+            }
+            event.steps = steps.size();
+            return steps;
+        } catch (CancellationException e) {
+            event.cancelled = true;
+            throw e;
+        } finally {
+            commit(event, algorithmName, input.n());
+        }
+    }
+
+    // Traced sorts keep a copy of the array per step
+    private void checkTracedSize(int n) {
+        if (n > maxGeneratedSize) {
+            throw new IllegalArgumentException("Taille trop grande pour un tri tracé : " + n);
+        }
+    }
+
+    private void commit(SortEvent event, String algorithmName, int inputSize) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = slugify(algorithmName);
+            event.inputSize = inputSize;
+            event.commit();
+        }
+    }
+
+    /**
+     * Times the traced algorithms (all of them when {@code algorithmNames} is empty) against
+     * untraced {@link Arrays#sort(int[])} and {@link Arrays#parallelSort(int[])} on the array
+     * generated from {@code input}. Each timing is the best of {@code repetitions} runs.
+     */
+    public List<SortTiming> compareBaseline(InputSpec input, List<String> algorithmNames, int repetitions) {
+        if (input.n() > maxCompareSize) {
+            throw new IllegalArgumentException("Taille trop grande pour une comparaison : " + input.n());
+        }
+        if (repetitions < 1) {
+            throw new IllegalArgumentException("Nombre de répétitions invalide : " + repetitions);
+        }
+        List<SortingAlgorithm> selected = algorithmNames.isEmpty()
+                ? algorithms.values().stream().sorted(Comparator.comparing(SortingAlgorithm::getName)).toList()
+                : algorithmNames.stream().map(this::getAlgorithm).toList();
+        int[] array = InputGenerator.generate(input);
+
+        List<SortTiming> timings = new ArrayList<>();
+        for (SortingAlgorithm algorithm : selected) {
+            long best = Long.MAX_VALUE;
+            int steps = 0;
+            for (int run = 0; run < repetitions; run++) {
+                int[] copy = array.clone();
+                long start = System.nanoTime();
+                steps = algorithm.sort(copy).size();
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            timings.add(new SortTiming(algorithm.getName(), true, best, steps));
+        }
+        timings.add(new SortTiming("Arrays.sort", false, timeUntraced(array, Arrays::sort, repetitions), 0));
+        timings.add(new SortTiming("Arrays.parallelSort", false, timeUntraced(array, Arrays::parallelSort, repetitions), 0));
+        return timings;
+    }
+
+    private static long timeUntraced(int[] array, Consumer<int[]> sort, int repetitions) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < repetitions; run++) {
+            int[] copy = array.clone();
+            long start = System.nanoTime();
+            sort.accept(copy);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private SortingAlgorithm getAlgorithm(String algorithmName) {
         SortingAlgorithm algorithm = algorithms.get(slugify(algorithmName));
         if (algorithm == null) {
             throw new IllegalArgumentException("Algorithme inconnu : " + algorithmName);
         }
-        return algorithm.sort(array);
+        return algorithm;
     }
 
     public Map<String, String> getAvailableAlgorithms() {
@@ -0,0 +1,209 @@
+// Types d'événements de PackedGraphTrace
+const SETTLE = 0;
+const RELAX = 1;
+const UPDATE = 2;
+
+// Nombre d'images visé pour l'animation, quel que soit le nombre d'événements
+const TARGET_FRAMES = 600;
+
+let searchState = {
+    request: null,
+    frameId: null
+};
+
+document.addEventListener('DOMContentLoaded', async () => {
+    try {
+        const response = await fetch('/api/graph/algorithms');
+        const algorithms = await response.json();
+        const select = document.getElementById('algorithm');
+        select.innerHTML = '';
+        Object.entries(algorithms).sort().forEach(([slug, name]) => {
+            const option = document.createElement('option');
+            option.value = slug;
+            option.textContent = name;
+            select.appendChild(option);
+        });
+    } catch (error) {
+        console.error("Impossible de charger les algorithmes :", error);
+    }
+});
+
+/**
+ * Nœuds placés au hasard, chacun relié dans les deux sens à ses trois plus proches voisins.
+ * Le poids d'une arête est sa longueur en pixels.
+ */
+function randomGraph(nodeCount, width, height) {
+    const margin = 10;
+    const nodes = [];
+    for (let i = 0; i < nodeCount; i++) {
+        nodes.push({
+            x: margin + Math.random() * (width - 2 * margin),
+            y: margin + Math.random() * (height - 2 * margin)
+        });
+    }
+    const adjacency = {};
+    nodes.forEach((_, i) => adjacency[i] = {});
+    const distance = (a, b) => Math.max(1, Math.round(Math.hypot(nodes[a].x - nodes[b].x, nodes[a].y - nodes[b].y)));
+    for (let i = 0; i < nodeCount; i++) {
+        const nearest = [];
+        for (let j = 0; j < nodeCount; j++) {
+            if (j !== i) {
+                nearest.push([distance(i, j), j]);
+            }
+        }
+        nearest.sort((a, b) => a[0] - b[0]);
+        nearest.slice(0, 3).forEach(([weight, j]) => {
+            adjacency[i][j] = weight;
+            adjacency[j][i] = weight;
+        });
+    }
+    return { nodes, adjacency };
+}
+
+/**
+ * Décode la réponse de /api/graph/{algorithme}/trace (entiers big-endian) :
+ * [longueur du chemin, chemin..., nombre d'événements, pas, tronqué, triplets (type, a, b)...]
+ */
+function decodeTrace(buffer) {
+    const data = new DataView(buffer);
+    let offset = 0;
+    const readInt = () => {
+        const value = data.getInt32(offset);
+        offset += 4;
+        return value;
+    };
+    const path = [];
+    for (let i = readInt(); i > 0; i--) {
+        path.push(readInt());
+    }
+    const count = readInt();
+    const stride = readInt();
+    const truncated = readInt() === 1;
+    const events = new Int32Array(3 * count);
+    for (let i = 0; i < events.length; i++) {
+        events[i] = readInt();
+    }
+    return { path, count, stride, truncated, events };
+}
+
+async function startSearch(nodeCount) {
+    if (searchState.request || searchState.frameId) {
+        stopSearch();
+    }
+    const canvas = document.getElementById('canvas');
+    const graph = randomGraph(nodeCount, canvas.width, canvas.height);
+
+    // Du nœud le plus à gauche au plus à droite
+    let start = 0;
+    let end = 0;
+    graph.nodes.forEach((node, i) => {
+        if (node.x < graph.nodes[start].x) start = i;
+        if (node.x > graph.nodes[end].x) end = i;
+    });
+
+    const algorithm = document.getElementById('algorithm').value;
+    const runId = crypto.randomUUID();
+    searchState.request = { controller: new AbortController(), runId: runId };
+    document.getElementById('stopBtn').style.display = 'inline-block';
+
+    let response;
+    try {
+        response = await fetch(`/api/graph/${algorithm}/trace`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json', 'X-Run-Id': runId },
+            body: JSON.stringify({ graph: graph.adjacency, start: start, end: end }),
+            signal: searchState.request.controller.signal,
+        });
+    } catch (error) {
+        if (error.name === 'AbortError') {
+            return;
+        }
+        throw error;
+    } finally {
+        searchState.request = null;
+    }
+
+    if (!response.ok) {
+        console.error("Erreur de requête :", response.statusText);
+        alert("Erreur : " + response.statusText);
+        document.getElementById('stopBtn').style.display = 'none';
+        return;
+    }
+
+    const trace = decodeTrace(await response.arrayBuffer());
+    const info = document.getElementById('traceInfo');
+    info.style.display = 'block';
+    info.textContent = `${trace.count} événements` +
+        (trace.truncated ? ` (trace allégée : un relâchement sur ${trace.stride} conservé)` : '') +
+        ` — chemin de ${trace.path.length} nœuds`;
+    animateTrace(canvas, graph, start, end, trace);
+}
+
+function animateTrace(canvas, graph, start, end, trace) {
+    const ctx = canvas.getContext('2d');
+    const radius = graph.nodes.length > 1000 ? 1.5 : 3;
+    const drawNode = (i, color, size = radius) => {
+        ctx.fillStyle = color;
+        ctx.beginPath();
+        ctx.arc(graph.nodes[i].x, graph.nodes[i].y, size, 0, 2 * Math.PI);
+        ctx.fill();
+    };
+    const drawEdge = (from, to, color, lineWidth) => {
+        ctx.strokeStyle = color;
+        ctx.lineWidth = lineWidth;
+        ctx.beginPath();
+        ctx.moveTo(graph.nodes[from].x, graph.nodes[from].y);
+        ctx.lineTo(graph.nodes[to].x, graph.nodes[to].y);
+        ctx.stroke();
+    };
+
+    ctx.clearRect(0, 0, canvas.width, canvas.height);
+    Object.entries(graph.adjacency).forEach(([from, neighbors]) => {
+        Object.keys(neighbors).forEach(to => drawEdge(from, to, 'rgba(128, 128, 128, 0.25)', 1));
+    });
+    graph.nodes.forEach((_, i) => drawNode(i, 'gray'));
+
+    // Les événements sont dessinés par lots pour garder une durée d'animation à peu près fixe
+    const perFrame = Math.max(1, Math.ceil(trace.count / TARGET_FRAMES));
+    let index = 0;
+    const step = () => {
+        for (let last = Math.min(trace.count, index + perFrame); index < last; index++) {
+            const type = trace.events[3 * index];
+            const a = trace.events[3 * index + 1];
+            const b = trace.events[3 * index + 2];
+            if (type === SETTLE) {
+                drawNode(a, 'steelblue');
+            } else if (type === RELAX) {
+                drawEdge(a, b, 'rgba(255, 165, 0, 0.6)', 1);
+            } else if (type === UPDATE) {
+                drawNode(a, 'orange');
+            }
+        }
+        if (index < trace.count) {
+            searchState.frameId = requestAnimationFrame(step);
+            return;
+        }
+        searchState.frameId = null;
+        for (let i = 1; i < trace.path.length; i++) {
+            drawEdge(trace.path[i - 1], trace.path[i], 'crimson', 3);
+        }
+        drawNode(start, 'green', 2 * radius + 2);
+        drawNode(end, 'crimson', 2 * radius + 2);
+        document.getElementById('stopBtn').style.display = 'none';
+    };
+    searchState.frameId = requestAnimationFrame(step);
+}
+
+function stopSearch() {
+    // Annule la requête en cours et demande au serveur d'interrompre la recherche
+    if (searchState.request) {
+        searchState.request.controller.abort();
+        fetch(`/api/runs/${searchState.request.runId}`, { method: 'DELETE' });
+        searchState.request = null;
+    }
+    if (searchState.frameId) {
+        cancelAnimationFrame(searchState.frameId);
+        searchState.frameId = null;
+    }
+    document.getElementById('stopBtn').style.display = 'none';
+}
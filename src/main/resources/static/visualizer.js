@@ -5,7 +5,8 @@ let animationState = {
     timerIntervalId: null,
     startTime: null,
     elapsedTime: 0,
-    pausedTime: 0
+    pausedTime: 0,
+    request: null
 };
 
 async function startSorting(size = 50) {
@@ -56,16 +57,38 @@ async function startSorting(size = 50) {
     // Disable all sorting buttons
     disableSortingButtons(true);
 
-    // Générer un tableau aléatoire
-    const array = Array.from({ length: size }, () => Math.floor(Math.random() * 1000));
-    console.log("Tableau envoyé :", array); // Log pour vérifier le contenu
+    // Le tableau est généré côté serveur : une même graine redonne le même tableau
+    const seedInput = document.getElementById("seed");
+    const seed = seedInput.value !== '' ? Number(seedInput.value) : Math.floor(Math.random() * 2147483647);
+    const input = {
+        distribution: document.getElementById("distribution").value,
+        n: size,
+        seed: seed
+    };
+    console.log("Spécification envoyée :", input);
+
+    // Le bouton Stop annule la requête et demande au serveur d'interrompre le tri
+    const runId = crypto.randomUUID();
+    animationState.request = { controller: new AbortController(), runId: runId };
+    document.getElementById('stopBtn').style.display = 'inline-block';
 
     // Envoyer une requête à l'API pour récupérer les étapes du tri
-    const response = await fetch(`/api/sort/${algorithm}`, {
-        method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
-        body: JSON.stringify(array), // Vérifier que le tableau est bien converti en JSON
-    });
+    let response;
+    try {
+        response = await fetch(`/api/sort/${algorithm}/generated`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json', 'X-Run-Id': runId },
+            body: JSON.stringify(input),
+            signal: animationState.request.controller.signal,
+        });
+    } catch (error) {
+        if (error.name === 'AbortError') {
+            return;
+        }
+        throw error;
+    } finally {
+        animationState.request = null;
+    }
 
     if (!response.ok) {
         console.error("Erreur de requête :", response.statusText); // Log de l'erreur
@@ -235,6 +258,10 @@ function updateStatus(status) {
 }
 
 function stopSorting() {
+    if (animationState.request) {
+        animationState.request.controller.abort();
+        fetch(`/api/runs/${animationState.request.runId}`, { method: 'DELETE' });
+    }
     stopAnimation(false);
     // Hide controls
     document.getElementById('playPauseBtn').style.display = 'none';
@@ -245,6 +272,7 @@ function stopSorting() {
 function disableSortingButtons(disabled) {
     const buttons = document.querySelectorAll('.size-btn');
     const algorithmSelect = document.getElementById('algorithm');
+    const distributionSelect = document.getElementById('distribution');
     
     buttons.forEach(btn => {
         btn.disabled = disabled;
@@ -254,6 +282,8 @@ function disableSortingButtons(disabled) {
     
     algorithmSelect.disabled = disabled;
     algorithmSelect.style.opacity = disabled ? '0.5' : '1';
+    distributionSelect.disabled = disabled;
+    distributionSelect.style.opacity = disabled ? '0.5' : '1';
 }
 
 function showNotification(message, duration = 3000) {
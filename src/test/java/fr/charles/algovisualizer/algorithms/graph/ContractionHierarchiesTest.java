@@ -0,0 +1,155 @@
+package fr.charles.algovisualizer.algorithms.graph;
+
+import fr.charles.algovisualizer.algorithms.graph.ch.ContractionHierarchy;
+import fr.charles.algovisualizer.algorithms.graph.ch.ContractionHierarchyBuilder;
+import fr.charles.algovisualizer.algorithms.graph.io.ContractionHierarchyFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContractionHierarchiesTest {
+
+    @Test
+    void matchesDijkstraOnRandomGraphs() {
+        Dijkstra dijkstra = new Dijkstra();
+        for (int seed = 0; seed < 5; seed++) {
+            CsrGraph graph = randomGraph(300, 4, seed);
+            ContractionHierarchy hierarchy = ContractionHierarchyBuilder.build(graph);
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int query = 0; query < 200; query++) {
+                int start = random.nextInt(graph.nodeCount());
+                int end = random.nextInt(graph.nodeCount());
+                int[] expected = dijkstra.findShortestPath(graph, start, end, GraphTraceRecorder.NONE);
+                int[] actual = hierarchy.query(start, end, GraphTraceRecorder.NONE);
+                assertEquals(cost(graph, expected), cost(graph, actual), "query " + start + " -> " + end);
+                if (actual.length > 0) {
+                    assertEquals(start, actual[0]);
+                    assertEquals(end, actual[actual.length - 1]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void concurrentQueriesShareWorkspacesSafely() {
+        CsrGraph graph = randomGraph(500, 4, 11);
+        ContractionHierarchy hierarchy = ContractionHierarchyBuilder.build(graph);
+        Dijkstra dijkstra = new Dijkstra();
+
+        // More queries at once than pooled workspaces, each checked against Dijkstra
+        IntStream.range(0, 2000).parallel().forEach(query -> {
+            SplittableRandom random = new SplittableRandom(query);
+            int start = random.nextInt(graph.nodeCount());
+            int end = random.nextInt(graph.nodeCount());
+            assertEquals(cost(graph, dijkstra.findShortestPath(graph, start, end, GraphTraceRecorder.NONE)),
+                    cost(graph, hierarchy.query(start, end, GraphTraceRecorder.NONE)), "query " + start + " -> " + end);
+        });
+    }
+
+    @Test
+    void keepsOneHierarchyPerPreparedGraph() {
+        ContractionHierarchies hierarchies = new ContractionHierarchies();
+        CsrGraph graph = randomGraph(100, 3, 5);
+        ContractionHierarchy attached = ContractionHierarchyBuilder.build(graph);
+
+        assertNotSame(hierarchies.prepare(graph), hierarchies.prepare(randomGraph(100, 3, 5)));
+        hierarchies.attach(graph, attached);
+        assertSame(attached, hierarchies.prepare(graph));
+        assertArrayEquals(attached.query(0, 50, GraphTraceRecorder.NONE),
+                hierarchies.findShortestPath(graph, 0, 50, GraphTraceRecorder.NONE));
+    }
+
+    @Test
+    void answersJsonGraphRequests() {
+        Map<Integer, Map<Integer, Integer>> graph = Map.of(
+                0, Map.of(1, 4, 2, 1),
+                1, Map.of(3, 1),
+                2, Map.of(1, 2),
+                3, Map.of());
+
+        List<Integer> path = new ContractionHierarchies().findShortestPath(graph, 0, 3);
+
+        assertEquals(List.of(0, 2, 1, 3), path);
+    }
+
+    @Test
+    void answersJsonGraphsWithSparseIds() {
+        Map<Integer, Map<Integer, Integer>> graph = Map.of(
+                2_000_000_000, Map.of(-5, 3, 7, 1),
+                7, Map.of(-5, 1),
+                Integer.MAX_VALUE, Map.of());
+
+        assertEquals(List.of(2_000_000_000, 7, -5), new ContractionHierarchies().findShortestPath(graph, 2_000_000_000, -5));
+        assertEquals(List.of(), new ContractionHierarchies().findShortestPath(graph, 7, 8));
+        assertThrows(IllegalArgumentException.class, () -> CsrGraph.fromMap(Map.of(2_000_000_000, Map.of())));
+        assertThrows(IllegalArgumentException.class, () -> CsrGraph.fromMap(Map.of(Integer.MAX_VALUE, Map.of())));
+    }
+
+    @Test
+    void hierarchyFileRoundTrip(@TempDir Path dir) throws IOException {
+        CsrGraph graph = randomGraph(200, 3, 42);
+        ContractionHierarchy hierarchy = ContractionHierarchyBuilder.build(graph);
+        Path file = dir.resolve("random.ch");
+
+        ContractionHierarchyFile.write(hierarchy, file);
+        ContractionHierarchy reloaded = ContractionHierarchyFile.read(file);
+
+        assertArrayEquals(hierarchy.rank(), reloaded.rank());
+        assertArrayEquals(hierarchy.forwardTargets(), reloaded.forwardTargets());
+        assertArrayEquals(hierarchy.backwardMiddles(), reloaded.backwardMiddles());
+        assertArrayEquals(hierarchy.query(0, 150, GraphTraceRecorder.NONE), reloaded.query(0, 150, GraphTraceRecorder.NONE));
+
+        // Same node and edge counts, one weight changed: the stale file must not be attached
+        int[] weights = new int[graph.edgeCount()];
+        graph.weights().get(weights);
+        weights[0]++;
+        int[] offsets = new int[graph.nodeCount() + 1];
+        graph.offsets().get(offsets);
+        int[] targets = new int[graph.edgeCount()];
+        graph.targets().get(targets);
+        CsrGraph edited = CsrGraph.of(offsets, targets, weights);
+        ContractionHierarchies hierarchies = new ContractionHierarchies();
+        hierarchies.attach(graph, reloaded);
+        assertThrows(IllegalArgumentException.class, () -> hierarchies.attach(edited, reloaded));
+    }
+
+    static CsrGraph randomGraph(int nodes, int degree, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int edges = nodes * degree;
+        int[] sources = new int[edges];
+        int[] targets = new int[edges];
+        int[] weights = new int[edges];
+        for (int e = 0; e < edges; e++) {
+            sources[e] = e / degree;
+            targets[e] = random.nextInt(nodes);
+            weights[e] = 1 + random.nextInt(100);
+        }
+        return CsrGraph.fromEdges(nodes, sources, targets, weights);
+    }
+
+    static long cost(CsrGraph graph, int[] path) {
+        if (path.length == 0) {
+            return -1;
+        }
+        long total = 0;
+        for (int i = 0; i + 1 < path.length; i++) {
+            int best = Integer.MAX_VALUE;
+            for (int e = graph.firstEdge(path[i]); e < graph.endEdge(path[i]); e++) {
+                if (graph.target(e) == path[i + 1]) {
+                    best = Math.min(best, graph.weight(e));
+                }
+            }
+            assertNotEquals(Integer.MAX_VALUE, best, "missing edge " + path[i] + " -> " + path[i + 1]);
+            total += best;
+        }
+        return total;
+    }
+}
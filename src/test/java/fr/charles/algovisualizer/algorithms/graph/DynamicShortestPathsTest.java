@@ -0,0 +1,69 @@
+package fr.charles.algovisualizer.algorithms.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicShortestPathsTest {
+
+    @Test
+    void repairedTreeMatchesRecomputation() {
+        for (int seed = 0; seed < 5; seed++) {
+            DynamicGraph graph = new DynamicGraph(ContractionHierarchiesTest.randomGraph(200, 3, seed));
+            DynamicShortestPaths tree = new DynamicShortestPaths(graph, 0);
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int step = 0; step < 300; step++) {
+                int from = random.nextInt(graph.nodeCount());
+                int to = random.nextInt(graph.nodeCount());
+                int weight = 1 + random.nextInt(100);
+                DynamicGraph.EdgeChange change;
+                if (graph.findEdge(from, to) < 0) {
+                    change = graph.insert(from, to, weight);
+                } else if (random.nextBoolean()) {
+                    change = graph.reweight(from, to, weight);
+                } else {
+                    change = graph.delete(from, to);
+                }
+                tree.apply(change);
+                assertMatchesFreshTree(graph, tree);
+            }
+        }
+    }
+
+    @Test
+    void pathsFollowTheUpdatedGraph() {
+        DynamicGraph graph = new DynamicGraph(CsrGraph.fromEdges(4,
+                new int[]{0, 1, 0, 2}, new int[]{1, 3, 2, 3}, new int[]{1, 1, 5, 5}));
+        DynamicShortestPaths tree = new DynamicShortestPaths(graph, 0);
+        assertArrayEquals(new int[]{0, 1, 3}, tree.pathTo(3));
+
+        tree.apply(graph.reweight(1, 3, 20));
+        assertArrayEquals(new int[]{0, 2, 3}, tree.pathTo(3));
+        assertEquals(10, tree.distance(3));
+
+        tree.apply(graph.delete(2, 3));
+        assertArrayEquals(new int[]{0, 1, 3}, tree.pathTo(3));
+
+        tree.apply(graph.delete(1, 3));
+        assertEquals(0, tree.pathTo(3).length);
+
+        tree.apply(graph.insert(0, 3, 2));
+        assertArrayEquals(new int[]{0, 3}, tree.pathTo(3));
+    }
+
+    @Test
+    void rejectsUnknownEdges() {
+        DynamicGraph graph = new DynamicGraph(CsrGraph.fromEdges(2, new int[]{0}, new int[]{1}, new int[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> graph.reweight(1, 0, 3));
+        assertThrows(IllegalArgumentException.class, () -> graph.delete(1, 0));
+    }
+
+    private static void assertMatchesFreshTree(DynamicGraph graph, DynamicShortestPaths tree) {
+        DynamicShortestPaths fresh = new DynamicShortestPaths(new DynamicGraph(graph.toCsrGraph()), tree.getSource());
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            assertEquals(fresh.distance(node), tree.distance(node), "distance to " + node);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package fr.charles.algovisualizer.algorithms.graph;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KShortestPathsTest {
+
+    // Yen's example: C=0, D=1, E=2, F=3, G=4, H=5
+    private static final CsrGraph EXAMPLE = CsrGraph.fromEdges(6,
+            new int[]{0, 0, 1, 2, 2, 2, 3, 3, 4},
+            new int[]{1, 2, 3, 1, 3, 4, 4, 5, 5},
+            new int[]{3, 2, 4, 1, 2, 3, 2, 1, 2});
+
+    @Test
+    void findsYensExample() {
+        List<KShortestPaths.Path> paths = new KShortestPaths(EXAMPLE, 5).find(0, 3);
+
+        assertEquals(3, paths.size());
+        assertArrayEquals(new int[]{0, 2, 3, 5}, paths.get(0).nodes());
+        assertEquals(5, paths.get(0).cost());
+        assertArrayEquals(new int[]{0, 2, 4, 5}, paths.get(1).nodes());
+        assertEquals(7, paths.get(1).cost());
+        assertArrayEquals(new int[]{0, 1, 3, 5}, paths.get(2).nodes());
+        assertEquals(8, paths.get(2).cost());
+    }
+
+    @Test
+    void matchesEnumerationOnRandomGraphs() {
+        for (int seed = 0; seed < 20; seed++) {
+            CsrGraph graph = randomGraph(9, 3, seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            int source = random.nextInt(graph.nodeCount());
+            int target = random.nextInt(graph.nodeCount());
+            List<Long> expected = allPathCosts(graph, source, target);
+
+            List<KShortestPaths.Path> paths = new KShortestPaths(graph, target).find(source, 15);
+
+            assertEquals(expected.subList(0, Math.min(15, expected.size())),
+                    paths.stream().map(KShortestPaths.Path::cost).toList(), "seed " + seed);
+            Set<List<Integer>> distinct = new HashSet<>();
+            for (KShortestPaths.Path path : paths) {
+                int[] nodes = path.nodes();
+                assertEquals(source, nodes[0]);
+                assertEquals(target, nodes[nodes.length - 1]);
+                List<Integer> list = new ArrayList<>();
+                for (int node : nodes) {
+                    list.add(node);
+                }
+                assertEquals(nodes.length, new HashSet<>(list).size(), "loop in " + path);
+                assertTrue(distinct.add(list), "duplicate " + path);
+            }
+        }
+    }
+
+    @Test
+    void startsFromTheGivenShortestPath() {
+        // Two paths of cost 2: 0-1-3 and 0-2-3
+        CsrGraph graph = CsrGraph.fromEdges(4, new int[]{0, 0, 1, 2}, new int[]{1, 2, 3, 3}, new int[]{1, 1, 1, 1});
+
+        List<KShortestPaths.Path> paths = new KShortestPaths(graph, 3).find(0, 5, new int[]{0, 2, 3});
+
+        assertEquals(2, paths.size());
+        assertArrayEquals(new int[]{0, 2, 3}, paths.get(0).nodes());
+        assertArrayEquals(new int[]{0, 1, 3}, paths.get(1).nodes());
+    }
+
+    @Test
+    void handlesTrivialAndUnreachableQueries() {
+        KShortestPaths paths = new KShortestPaths(EXAMPLE, 0);
+
+        assertEquals(List.of(new KShortestPaths.Path(new int[]{0}, 0)), paths.find(0, 3));
+        assertEquals(List.of(), paths.find(5, 3));
+        assertThrows(IllegalArgumentException.class, () -> paths.find(6, 3));
+        assertThrows(IllegalArgumentException.class, () -> paths.find(0, 0));
+    }
+
+    @Test
+    void stopsWhenCancelled() {
+        CsrGraph graph = randomGraph(2000, 4, 7);
+        CancellationToken token = new CancellationToken();
+        token.cancel("test");
+
+        assertThrows(CancellationException.class, () -> token.run(() -> new KShortestPaths(graph, 1).find(0, 10)));
+    }
+
+    private static List<Long> allPathCosts(CsrGraph graph, int source, int target) {
+        List<Long> costs = new ArrayList<>();
+        enumerate(graph, source, target, new boolean[graph.nodeCount()], 0, costs);
+        costs.sort(null);
+        return costs;
+    }
+
+    private static void enumerate(CsrGraph graph, int node, int target, boolean[] visited, long cost, List<Long> costs) {
+        if (node == target) {
+            costs.add(cost);
+            return;
+        }
+        visited[node] = true;
+        // Parallel edges count once, with their lowest weight
+        int[] best = new int[graph.nodeCount()];
+        Arrays.fill(best, Integer.MAX_VALUE);
+        for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+            best[graph.target(e)] = Math.min(best[graph.target(e)], graph.weight(e));
+        }
+        for (int next = 0; next < graph.nodeCount(); next++) {
+            if (best[next] != Integer.MAX_VALUE && !visited[next]) {
+                enumerate(graph, next, target, visited, cost + best[next], costs);
+            }
+        }
+        visited[node] = false;
+    }
+
+    private static CsrGraph randomGraph(int nodes, int degree, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int edges = nodes * degree;
+        int[] sources = new int[edges];
+        int[] targets = new int[edges];
+        int[] weights = new int[edges];
+        for (int e = 0; e < edges; e++) {
+            sources[e] = random.nextInt(nodes);
+            targets[e] = random.nextInt(nodes);
+            weights[e] = random.nextInt(0, 10);
+        }
+        return CsrGraph.fromEdges(nodes, sources, targets, weights);
+    }
+}
@@ -0,0 +1,56 @@
+package fr.charles.algovisualizer.algorithms.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedGraphTraceTest {
+
+    @Test
+    void dijkstraRecordsSettleRelaxAndUpdateEvents() {
+        Map<Integer, Map<Integer, Integer>> graph = Map.of(
+                0, Map.of(1, 4, 2, 1),
+                1, Map.of(3, 1),
+                2, Map.of(1, 2),
+                3, Map.of());
+        PackedGraphTrace trace = new PackedGraphTrace(1000);
+
+        List<Integer> path = new Dijkstra().findShortestPath(graph, 0, 3, trace);
+
+        assertEquals(List.of(0, 2, 1, 3), path);
+        int[] events = trace.events();
+        assertEquals(3 * trace.size(), events.length);
+        assertEquals(GraphTraceRecorder.SETTLE, events[0]);
+        assertEquals(0, events[1]);
+        assertEquals(GraphTraceRecorder.SETTLE, events[events.length - 3]);
+        assertEquals(3, events[events.length - 2]);
+        assertEquals(4, events[events.length - 1]);
+        assertFalse(trace.isTruncated());
+    }
+
+    @Test
+    void capDownsamplesRelaxEventsButKeepsSettles() {
+        PackedGraphTrace trace = new PackedGraphTrace(10);
+        for (int node = 0; node < 5; node++) {
+            trace.settle(node, node);
+            for (int i = 0; i < 20; i++) {
+                trace.relax(node, i);
+            }
+        }
+
+        assertTrue(trace.size() <= 10);
+        assertTrue(trace.isTruncated());
+        assertTrue(trace.getStride() > 1);
+        int settles = 0;
+        int[] events = trace.events();
+        for (int i = 0; i < events.length; i += 3) {
+            if (events[i] == GraphTraceRecorder.SETTLE) {
+                settles++;
+            }
+        }
+        assertEquals(5, settles);
+    }
+}
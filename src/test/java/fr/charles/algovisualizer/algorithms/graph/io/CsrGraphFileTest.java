@@ -0,0 +1,99 @@
+package fr.charles.algovisualizer.algorithms.graph.io;
+
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+import fr.charles.algovisualizer.algorithms.graph.Dijkstra;
+import fr.charles.algovisualizer.algorithms.graph.GraphTraceRecorder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsrGraphFileTest {
+
+    private static final String DIMACS = """
+            c sample graph
+            p sp 4 5
+            a 1 2 4
+            a 1 3 1
+            a 3 2 2
+            a 2 4 1
+            a 3 4 7
+            """;
+
+    @Test
+    void readsDimacsIntoCsr() throws IOException {
+        CsrGraph graph = DimacsGraphReader.read(new ByteArrayInputStream(DIMACS.getBytes(StandardCharsets.US_ASCII)));
+
+        assertEquals(4, graph.nodeCount());
+        assertEquals(5, graph.edgeCount());
+        assertEquals(2, graph.endEdge(0) - graph.firstEdge(0));
+        assertArrayEquals(new int[]{0, 2, 1, 3},
+                new Dijkstra().findShortestPath(graph, 0, 3, GraphTraceRecorder.NONE));
+    }
+
+    @Test
+    void binaryRoundTripThroughMappedFile(@TempDir Path dir) throws IOException {
+        Path dimacs = dir.resolve("sample.gr");
+        Files.writeString(dimacs, DIMACS);
+        Path binary = dir.resolve("sample.csr");
+
+        GraphFileConverter.main(new String[]{dimacs.toString(), binary.toString()});
+        CsrGraph mapped = CsrGraphFile.map(binary);
+
+        assertEquals(4, mapped.nodeCount());
+        assertEquals(5, mapped.edgeCount());
+        assertArrayEquals(new int[]{0, 2, 1, 3},
+                new Dijkstra().findShortestPath(mapped, 0, 3, GraphTraceRecorder.NONE));
+
+        Path back = dir.resolve("back.gr");
+        GraphFileConverter.main(new String[]{binary.toString(), back.toString()});
+        CsrGraph reread = DimacsGraphReader.read(back);
+        assertEquals(mapped.edgeCount(), reread.edgeCount());
+        for (int e = 0; e < mapped.edgeCount(); e++) {
+            assertEquals(mapped.target(e), reread.target(e));
+            assertEquals(mapped.weight(e), reread.weight(e));
+        }
+    }
+
+    @Test
+    void rejectsFilesThatAreNotCsr(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("bogus.csr");
+        Files.writeString(file, "not a graph file at all");
+
+        assertThrows(IOException.class, () -> CsrGraphFile.map(file));
+    }
+
+    @Test
+    void rejectsCorruptSections(@TempDir Path dir) throws IOException {
+        // 3 nodes, 2 edges: offsets, targets, weights
+        Path valid = writeCsr(dir.resolve("valid.csr"), 3, 2, 0, 1, 2, 2, 1, 2, 5, 7);
+        Path decreasing = writeCsr(dir.resolve("decreasing.csr"), 3, 2, 0, 2, 1, 2, 1, 2, 5, 7);
+        Path outOfRange = writeCsr(dir.resolve("range.csr"), 3, 2, 0, 1, 2, 2, 1, 3, 5, 7);
+        Path negative = writeCsr(dir.resolve("negative.csr"), 3, 2, 0, 1, 2, 2, 1, 2, 5, -7);
+        Path badCount = writeCsr(dir.resolve("count.csr"), -1, 0);
+
+        assertEquals(2, CsrGraphFile.map(valid).edgeCount());
+        assertThrows(IllegalArgumentException.class, () -> CsrGraphFile.map(decreasing));
+        assertThrows(IllegalArgumentException.class, () -> CsrGraphFile.map(outOfRange));
+        assertThrows(IllegalArgumentException.class, () -> CsrGraphFile.map(negative));
+        assertThrows(IllegalArgumentException.class, () -> CsrGraphFile.map(badCount));
+    }
+
+    private static Path writeCsr(Path file, int nodeCount, int edgeCount, int... sections) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CsrGraphFile.HEADER_BYTES + 4 * sections.length)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(CsrGraphFile.MAGIC).putInt(CsrGraphFile.VERSION).putInt(nodeCount).putInt(edgeCount);
+        for (int value : sections) {
+            buffer.putInt(value);
+        }
+        return Files.write(file, buffer.array());
+    }
+}
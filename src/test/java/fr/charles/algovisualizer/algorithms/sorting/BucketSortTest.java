@@ -80,7 +80,18 @@ class BucketSortTest {
         int[] result = steps.get(steps.size() - 1);
         assertArrayEquals(new int[]{42}, result);
     }
-    
+
+    @Test
+    void testBucketSortWithFullIntRange() {
+        BucketSort bucketSort = new BucketSort();
+        int[] input = {Integer.MIN_VALUE, Integer.MAX_VALUE, 0, 1};
+
+        List<int[]> steps = bucketSort.sort(input);
+
+        int[] result = steps.get(steps.size() - 1);
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, 0, 1, Integer.MAX_VALUE}, result);
+    }
+
     @Test
     void testGetName() {
         BucketSort bucketSort = new BucketSort();
@@ -0,0 +1,42 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec.Distribution;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DualPivotQuickSortTest {
+
+    @Test
+    void sortsEveryDistribution() {
+        DualPivotQuickSort sorter = new DualPivotQuickSort();
+        for (Distribution distribution : Distribution.values()) {
+            for (int n : new int[]{0, 1, 2, 26, 27, 500, 3000}) {
+                int[] input = InputGenerator.generate(new InputSpec(distribution, n, n, 0));
+                int[] expected = input.clone();
+                Arrays.sort(expected);
+
+                List<int[]> steps = sorter.sort(input);
+
+                assertArrayEquals(expected, steps.get(steps.size() - 1), distribution + " n=" + n);
+            }
+        }
+    }
+
+    @Test
+    void handlesManyDuplicates() {
+        int[] input = InputGenerator.generate(new InputSpec(Distribution.FEW_UNIQUE, 2000, 3, 2));
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+        List<int[]> steps = new DualPivotQuickSort().sort(input);
+        assertArrayEquals(expected, steps.get(steps.size() - 1));
+    }
+
+    @Test
+    void testGetName() {
+        assertEquals("Dual Pivot Quick Sort", new DualPivotQuickSort().getName());
+    }
+}
@@ -0,0 +1,64 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec.Distribution;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputGeneratorTest {
+
+    @Test
+    void sameSpecGivesSameArray() {
+        for (Distribution distribution : Distribution.values()) {
+            InputSpec spec = new InputSpec(distribution, 300_000, 42, 0);
+            assertArrayEquals(InputGenerator.generate(spec), InputGenerator.generate(spec), distribution.name());
+        }
+        assertFalse(Arrays.equals(InputGenerator.generate(new InputSpec(Distribution.UNIFORM, 1000, 1, 0)),
+                InputGenerator.generate(new InputSpec(Distribution.UNIFORM, 1000, 2, 0))));
+    }
+
+    @Test
+    void distributionsHaveTheirShape() {
+        int n = 1000;
+        int[] uniform = InputGenerator.generate(new InputSpec(Distribution.UNIFORM, n, 7, 0));
+        assertTrue(Arrays.stream(uniform).allMatch(value -> value >= 0 && value < n));
+
+        int[] reversed = InputGenerator.generate(new InputSpec(Distribution.REVERSED, n, 7, 0));
+        assertEquals(n - 1, reversed[0]);
+        assertEquals(0, reversed[n - 1]);
+
+        int[] nearlySorted = InputGenerator.generate(new InputSpec(Distribution.NEARLY_SORTED, n, 7, 5));
+        long misplaced = IntStream.range(0, n).filter(i -> nearlySorted[i] != i).count();
+        assertTrue(misplaced <= 10);
+        int[] sorted = nearlySorted.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(IntStream.range(0, n).toArray(), sorted);
+
+        int[] fewUnique = InputGenerator.generate(new InputSpec(Distribution.FEW_UNIQUE, n, 7, 3));
+        assertTrue(Arrays.stream(fewUnique).distinct().count() <= 3);
+
+        int[] sawtooth = InputGenerator.generate(new InputSpec(Distribution.SAWTOOTH, n, 7, 4));
+        long drops = IntStream.range(1, n).filter(i -> sawtooth[i] < sawtooth[i - 1]).count();
+        assertEquals(3, drops);
+
+        int[] organPipe = InputGenerator.generate(new InputSpec(Distribution.ORGAN_PIPE, n, 7, 0));
+        assertEquals(organPipe[0], organPipe[n - 1]);
+        assertTrue(organPipe[n / 2] > organPipe[n / 4]);
+    }
+
+    @Test
+    void specsAreNormalizedAndParsed() throws Exception {
+        assertEquals(new InputSpec(Distribution.FEW_UNIQUE, 100, 1, 0), new InputSpec(Distribution.FEW_UNIQUE, 100, 1, 8));
+        assertEquals(new InputSpec(Distribution.REVERSED, 100, 1, 0), new InputSpec(Distribution.REVERSED, 100, 1, 5));
+        assertThrows(IllegalArgumentException.class, () -> new InputSpec(Distribution.UNIFORM, -1, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new InputSpec(Distribution.NEARLY_SORTED, 100, 1, Integer.MAX_VALUE));
+
+        InputSpec parsed = new ObjectMapper().readValue(
+                "{\"distribution\":\"nearly-sorted\",\"n\":500,\"seed\":9}", InputSpec.class);
+        assertEquals(new InputSpec(Distribution.NEARLY_SORTED, 500, 9, 5), parsed);
+    }
+}
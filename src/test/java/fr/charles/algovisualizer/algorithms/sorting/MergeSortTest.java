@@ -1,7 +1,10 @@
 package fr.charles.algovisualizer.algorithms.sorting;
 
 import org.junit.jupiter.api.Test;
+import java.util.Arrays;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 import static org.junit.jupiter.api.Assertions.*;
 
 class MergeSortTest {
@@ -53,4 +56,30 @@ class MergeSortTest {
         MergeSort mergeSort = new MergeSort();
         assertEquals("Merge Sort", mergeSort.getName());
     }
+
+    @Test
+    void testUntracedSortWithBuffer() {
+        int[] input = new SplittableRandom(1).ints(1000, -50, 50).toArray();
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+
+        MergeSort.sort(input, new int[input.length], input.length);
+
+        assertArrayEquals(expected, input);
+    }
+
+    @Test
+    void concurrentSortsDoNotShareSteps() {
+        MergeSort mergeSort = new MergeSort();
+        int expectedSteps = mergeSort.sort(new int[500]).size();
+
+        // The bean is a singleton: runs from several requests must not see each other's steps
+        IntStream.range(0, 16).parallel().forEach(seed -> {
+            int[] input = new SplittableRandom(seed).ints(500, 0, 1000).toArray();
+            List<int[]> steps = mergeSort.sort(input);
+            Arrays.sort(input);
+            assertEquals(expectedSteps, steps.size(), "seed " + seed);
+            assertArrayEquals(input, steps.get(steps.size() - 1), "seed " + seed);
+        });
+    }
 }
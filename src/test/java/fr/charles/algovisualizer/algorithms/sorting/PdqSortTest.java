@@ -0,0 +1,57 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec.Distribution;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdqSortTest {
+
+    @Test
+    void sortsEveryDistribution() {
+        PdqSort pdqSort = new PdqSort();
+        for (Distribution distribution : Distribution.values()) {
+            for (int n : new int[]{0, 1, 2, 23, 24, 129, 1000}) {
+                int[] input = InputGenerator.generate(new InputSpec(distribution, n, n, 0));
+                int[] expected = input.clone();
+                Arrays.sort(expected);
+
+                List<int[]> steps = pdqSort.sort(input);
+
+                assertArrayEquals(expected, steps.get(steps.size() - 1), distribution + " n=" + n);
+            }
+        }
+    }
+
+    @Test
+    void sortedAndReversedInputsStayCheap() {
+        PdqSort pdqSort = new PdqSort();
+        int n = 20_000;
+        // Lomuto quicksort would record about n²/2 steps and recurse n deep here
+        List<int[]> sorted = pdqSort.sort(InputGenerator.generate(new InputSpec(Distribution.NEARLY_SORTED, n, 1, 1)));
+        assertTrue(sorted.size() < 100, "steps: " + sorted.size());
+
+        int[] reversed = InputGenerator.generate(new InputSpec(Distribution.REVERSED, 2000, 1, 0));
+        List<int[]> steps = pdqSort.sort(reversed);
+        assertTrue(steps.size() < 2000, "steps: " + steps.size());
+        int[] result = steps.get(steps.size() - 1);
+        for (int i = 0; i < result.length; i++) {
+            assertEquals(i, result[i]);
+        }
+    }
+
+    @Test
+    void leavesInputUntouched() {
+        int[] input = {3, 1, 2};
+        new PdqSort().sort(input);
+        assertArrayEquals(new int[]{3, 1, 2}, input);
+    }
+
+    @Test
+    void testGetName() {
+        assertEquals("Pdq Sort", new PdqSort().getName());
+    }
+}
@@ -0,0 +1,77 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveSortTest {
+
+    private record Point(String label, double x, long id) {
+    }
+
+    @Test
+    void sortsIntsAndLongsLikeArraysSort() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int n : new int[]{0, 1, 10, 1000}) {
+            int[] ints = random.ints(n).toArray();
+            int[] expectedInts = ints.clone();
+            Arrays.sort(expectedInts);
+            PrimitiveSort.sort(ints);
+            assertArrayEquals(expectedInts, ints);
+
+            long[] longs = random.longs(n).toArray();
+            if (n > 1) {
+                longs[0] = Long.MIN_VALUE;
+                longs[1] = Long.MAX_VALUE;
+            }
+            long[] expectedLongs = longs.clone();
+            Arrays.sort(expectedLongs);
+            PrimitiveSort.sort(longs);
+            assertArrayEquals(expectedLongs, longs);
+        }
+    }
+
+    @Test
+    void ordersDoublesLikeDoubleCompare() {
+        double[] special = {Double.NaN, 0.0, -0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                -1.5, Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, 1.5};
+        double[] values = new double[300];
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i < special.length ? special[i] : random.nextDouble(-1e6, 1e6);
+        }
+        double[] expected = values.clone();
+        Arrays.sort(expected);
+
+        PrimitiveSort.sort(values);
+
+        assertArrayEquals(expected, values);
+        int zero = Arrays.binarySearch(values, 0.0);
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(values[zero - 1]));
+        assertTrue(Double.isNaN(values[values.length - 1]));
+    }
+
+    @Test
+    void sortsRecordsByKeyStably() {
+        Point[] points = new Point[200];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new Point("p" + i, (i * 37) % 11 - 5.0, (i * 13) % 7);
+        }
+        Point[] byX = points.clone();
+        Point[] byId = points.clone();
+        Point[] expectedByX = points.clone();
+        Point[] expectedById = points.clone();
+        Arrays.sort(expectedByX, Comparator.comparingDouble(Point::x));
+        Arrays.sort(expectedById, Comparator.comparingLong(Point::id));
+
+        PrimitiveSort.sortByDoubleKey(byX, Point::x);
+        PrimitiveSort.sortByLongKey(byId, Point::id);
+
+        assertArrayEquals(expectedByX, byX);
+        assertArrayEquals(expectedById, byId);
+    }
+}
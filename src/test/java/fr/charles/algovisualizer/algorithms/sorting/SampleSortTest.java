@@ -0,0 +1,59 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec.Distribution;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampleSortTest {
+
+    @Test
+    void sortsEveryDistribution() {
+        SampleSort sampleSort = new SampleSort();
+        for (Distribution distribution : Distribution.values()) {
+            for (int n : new int[]{0, 1, 2, 15, 16, 100, 5000}) {
+                int[] input = InputGenerator.generate(new InputSpec(distribution, n, n, 0));
+                int[] expected = input.clone();
+                Arrays.sort(expected);
+
+                List<int[]> steps = sampleSort.sort(input);
+
+                assertArrayEquals(expected, steps.get(steps.size() - 1), distribution + " n=" + n);
+            }
+        }
+    }
+
+    @Test
+    void sortsExtremeValues() {
+        int[] input = {Integer.MAX_VALUE, 0, Integer.MIN_VALUE, -1, 1, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        int[] big = new int[400];
+        for (int i = 0; i < big.length; i++) {
+            big[i] = input[i % input.length] - (i & 1);
+        }
+        int[] expected = big.clone();
+        Arrays.sort(expected);
+
+        List<int[]> steps = new SampleSort().sort(big);
+
+        assertArrayEquals(expected, steps.get(steps.size() - 1));
+    }
+
+    @Test
+    void skewedInputStillFillsEveryBucket() {
+        int[] input = InputGenerator.generate(new InputSpec(Distribution.SKEWED, 4096, 3, 0));
+        int chunks = 4 * ForkJoinPool.getCommonPoolParallelism();
+
+        List<int[]> steps = new SampleSort().sort(input);
+
+        // Initial step, one per chunk scattered, one per bucket of more than one element. Equal
+        // splitters (the low values repeat a lot) leave a few buckets empty; equal-width buckets
+        // would put a third of the elements in the first one
+        int bucketSteps = steps.size() - 1 - chunks;
+        assertTrue(bucketSteps >= 48 && bucketSteps <= 64, "bucket steps: " + bucketSteps);
+        assertArrayEquals(input, steps.get(0));
+    }
+}
@@ -0,0 +1,59 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec.Distribution;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimSortTest {
+
+    @Test
+    void sortsEveryDistribution() {
+        TimSort sorter = new TimSort();
+        for (Distribution distribution : Distribution.values()) {
+            for (int n : new int[]{0, 1, 2, 31, 32, 65, 1000, 3000}) {
+                int[] input = InputGenerator.generate(new InputSpec(distribution, n, n, 0));
+                int[] expected = input.clone();
+                Arrays.sort(expected);
+
+                List<int[]> steps = sorter.sort(input);
+
+                assertArrayEquals(expected, steps.get(steps.size() - 1), distribution + " n=" + n);
+            }
+        }
+    }
+
+    @Test
+    void naturalRunsAreMergedWithoutElementwiseSteps() {
+        // Two ascending runs made of alternating blocks of 500: galloping copies whole blocks
+        int[] input = new int[10_000];
+        for (int i = 0; i < 5000; i++) {
+            int block = i / 500;
+            input[i] = 1000 * block + i % 500;
+            input[5000 + i] = 1000 * block + 500 + i % 500;
+        }
+        List<int[]> steps = new TimSort().sort(input);
+        assertTrue(steps.size() < 200, "steps: " + steps.size());
+        int[] result = steps.get(steps.size() - 1);
+        for (int i = 1; i < result.length; i++) {
+            assertTrue(result[i - 1] <= result[i]);
+        }
+    }
+
+    @Test
+    void computesMinRun() {
+        assertEquals(31, TimSort.minRunLength(31));
+        assertEquals(16, TimSort.minRunLength(64));
+        assertEquals(17, TimSort.minRunLength(65));
+        assertEquals(16, TimSort.minRunLength(1 << 20));
+        assertEquals(32, TimSort.minRunLength(63 << 10));
+    }
+
+    @Test
+    void testGetName() {
+        assertEquals("Tim Sort", new TimSort().getName());
+    }
+}
@@ -0,0 +1,58 @@
+package fr.charles.algovisualizer.algorithms.sorting;
+
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec.Distribution;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorBitonicSortTest {
+
+    @Test
+    void vectorKernelIsUsedWhenModuleIsPresent() {
+        // Surefire starts the JVM with --add-modules jdk.incubator.vector
+        assertTrue(new VectorBitonicSort().kernelName().startsWith("vector"));
+    }
+
+    @Test
+    void vectorAndScalarKernelsSortEveryDistribution() {
+        for (int blockSize : new int[]{8, 16, 64, 4096}) {
+            List<VectorBitonicSort> sorts = List.of(
+                    new VectorBitonicSort(blockSize),
+                    new VectorBitonicSort(blockSize, new ScalarBitonicKernel()));
+            for (Distribution distribution : Distribution.values()) {
+                for (int n : new int[]{0, 1, 7, 8, 100, 5000}) {
+                    int[] input = InputGenerator.generate(new InputSpec(distribution, n, n, 0));
+                    int[] expected = input.clone();
+                    Arrays.sort(expected);
+                    for (VectorBitonicSort sort : sorts) {
+                        List<int[]> steps = sort.sort(input);
+                        assertArrayEquals(expected, steps.get(steps.size() - 1),
+                                sort.kernelName() + " block=" + blockSize + " " + distribution + " n=" + n);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void recordsOneStepPerNetworkStageAndMergePass() {
+        int[] input = InputGenerator.generate(new InputSpec(Distribution.UNIFORM, 256, 1, 0));
+
+        List<int[]> steps = new VectorBitonicSort(16).sort(input);
+
+        // 4 · 5 / 2 = 10 stages for blocks of 16, then 4 merge passes up to 256
+        assertEquals(1 + 10 + 4, steps.size());
+        for (int[] step : steps) {
+            assertEquals(256, step.length);
+        }
+    }
+
+    @Test
+    void rejectsInvalidBlockSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new VectorBitonicSort(4));
+        assertThrows(IllegalArgumentException.class, () -> new VectorBitonicSort(100));
+    }
+}
@@ -0,0 +1,106 @@
+package fr.charles.algovisualizer.algorithms.sorting.external;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import fr.charles.algovisualizer.algorithms.sorting.external.ExternalMergeSort.Phase;
+import fr.charles.algovisualizer.algorithms.sorting.external.ExternalMergeSort.Step;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalMergeSortTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void sortsThroughSeveralMergePasses() throws IOException {
+        Path input = dir.resolve("values.bin");
+        Path output = dir.resolve("sorted.bin");
+        ExternalSortTool.generate(input, 10_000, 7);
+        int[] expected = read(input);
+        Arrays.sort(expected);
+
+        // 10 runs merged 3 at a time: 10 -> 4 -> 2 -> 1
+        List<Step> steps = new ExternalMergeSort(1000, 3, 2, 64, dir).sort(input, output);
+
+        assertArrayEquals(expected, read(output));
+        assertEquals(10, steps.stream().filter(step -> step.phase() == Phase.RUN_CREATED).count());
+        assertEquals(List.of(4, 2, 1), steps.stream().filter(step -> step.phase() == Phase.MERGE_PASS)
+                .map(Step::runs).toList());
+        assertEquals(Phase.DONE, steps.get(steps.size() - 1).phase());
+        try (var files = Files.list(dir)) {
+            assertEquals(2, files.count(), "temporary runs are removed");
+        }
+    }
+
+    @Test
+    void sortsInPlaceAndHandlesSmallInputs() throws IOException {
+        Path file = dir.resolve("values.bin");
+        write(file, 5, -1, 3, Integer.MIN_VALUE, 3);
+        new ExternalMergeSort(100, 2, 1, 1024, dir).sort(file, file);
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, -1, 3, 3, 5}, read(file));
+
+        Path empty = dir.resolve("empty.bin");
+        write(empty);
+        new ExternalMergeSort(100, 2, 1, 1024, dir).sort(empty, dir.resolve("empty.sorted.bin"));
+        assertEquals(0, Files.size(dir.resolve("empty.sorted.bin")));
+    }
+
+    @Test
+    void keepsTheInputWhenAnInPlaceSortIsCancelledDuringTheLastPass() throws IOException {
+        Path file = dir.resolve("values.bin");
+        ExternalSortTool.generate(file, 5_000, 3);
+        byte[] original = Files.readAllBytes(file);
+        CancellationToken token = new CancellationToken();
+        // 5 runs, merged in a single (last) pass that starts once the fifth run is recorded
+        ExternalMergeSort sort = new ExternalMergeSort(1000, 8, 1, 64, dir);
+
+        assertThrows(CancellationException.class, () -> token.run(() -> {
+            try {
+                return sort.sort(file, file, step -> {
+                    if (step.phase() == Phase.RUN_CREATED && step.runs() == 5) {
+                        token.cancel("test");
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        assertArrayEquals(original, Files.readAllBytes(file));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count(), "temporary runs are removed");
+        }
+    }
+
+    @Test
+    void rejectsTruncatedFiles() throws IOException {
+        Path file = dir.resolve("odd.bin");
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExternalMergeSort(100, 2, 1, 1024, dir).sort(file, dir.resolve("out.bin")));
+    }
+
+    private static void write(Path file, int... values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asIntBuffer().put(values);
+        Files.write(file, buffer.array());
+    }
+
+    private static int[] read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        int[] values = new int[buffer.remaining() / Integer.BYTES];
+        buffer.asIntBuffer().get(values);
+        return values;
+    }
+}
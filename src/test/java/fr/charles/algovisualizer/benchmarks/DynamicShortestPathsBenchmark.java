@@ -0,0 +1,79 @@
+package fr.charles.algovisualizer.benchmarks;
+
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+import fr.charles.algovisualizer.algorithms.graph.DynamicGraph;
+import fr.charles.algovisualizer.algorithms.graph.DynamicShortestPaths;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incremental repair against a full recomputation after a random reweight on a grid.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicShortestPathsBenchmark {
+
+    @Param({"100", "300"})
+    int side;
+
+    private DynamicGraph graph;
+    private DynamicShortestPaths tree;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = new DynamicGraph(grid(side, new SplittableRandom(42)));
+        tree = new DynamicShortestPaths(graph, 0);
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public int incremental() {
+        return tree.apply(randomReweight());
+    }
+
+    @Benchmark
+    public int recompute() {
+        randomReweight();
+        return tree.recompute();
+    }
+
+    private DynamicGraph.EdgeChange randomReweight() {
+        int node = random.nextInt(side * side);
+        int row = node / side;
+        int column = node % side;
+        int neighbour = column + 1 < side ? node + 1 : node - 1;
+        if (random.nextBoolean()) {
+            neighbour = row + 1 < side ? node + side : node - side;
+        }
+        return graph.reweight(node, neighbour, 1 + random.nextInt(100));
+    }
+
+    private static CsrGraph grid(int side, SplittableRandom random) {
+        int nodes = side * side;
+        int edges = 4 * side * (side - 1);
+        int[] sources = new int[edges];
+        int[] targets = new int[edges];
+        int[] weights = new int[edges];
+        int e = 0;
+        for (int node = 0; node < nodes; node++) {
+            int row = node / side;
+            int column = node % side;
+            if (column + 1 < side) {
+                sources[e] = node; targets[e] = node + 1; weights[e++] = 1 + random.nextInt(100);
+                sources[e] = node + 1; targets[e] = node; weights[e++] = 1 + random.nextInt(100);
+            }
+            if (row + 1 < side) {
+                sources[e] = node; targets[e] = node + side; weights[e++] = 1 + random.nextInt(100);
+                sources[e] = node + side; targets[e] = node; weights[e++] = 1 + random.nextInt(100);
+            }
+        }
+        return CsrGraph.fromEdges(nodes, sources, targets, weights);
+    }
+}
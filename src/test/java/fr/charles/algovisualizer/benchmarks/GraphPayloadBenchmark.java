@@ -0,0 +1,79 @@
+package fr.charles.algovisualizer.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.charles.algovisualizer.config.EdgeListMessageConverter;
+import fr.charles.algovisualizer.dto.EdgeListRequest;
+import fr.charles.algovisualizer.dto.GraphRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request parsing: the {@link GraphRequest} adjacency map bound by Jackson against the edge
+ * list read by {@link EdgeListMessageConverter}, as JSON and as binary. Run with
+ * {@code -prof gc} to compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphPayloadBenchmark {
+
+    @Param({"100000"})
+    int edges;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private byte[] mapJson;
+    private byte[] edgeListJson;
+    private byte[] edgeListBinary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        int nodes = edges / 4;
+        Map<Integer, Map<Integer, Integer>> graph = new HashMap<>();
+        for (int e = 0; e < edges; e++) {
+            graph.computeIfAbsent(random.nextInt(nodes), u -> new HashMap<>())
+                    .put(random.nextInt(nodes), random.nextInt(1, 100));
+        }
+        mapJson = mapper.writeValueAsBytes(new GraphRequest(graph, 0, nodes - 1));
+
+        // Same edges in both compact formats, duplicates already merged by the map
+        StringBuilder json = new StringBuilder("{\"start\":0,\"end\":").append(nodes - 1).append(",\"edges\":[");
+        int count = graph.values().stream().mapToInt(Map::size).sum();
+        ByteBuffer binary = ByteBuffer.allocate(3 * Integer.BYTES * (count + 1)).order(ByteOrder.LITTLE_ENDIAN);
+        binary.putInt(0).putInt(nodes - 1).putInt(count);
+        graph.forEach((u, neighbors) -> neighbors.forEach((v, w) -> {
+            json.append('[').append(u).append(',').append(v).append(',').append(w).append("],");
+            binary.putInt(u).putInt(v).putInt(w);
+        }));
+        json.setCharAt(json.length() - 1, ']');
+        edgeListJson = json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+        edgeListBinary = binary.array();
+    }
+
+    @Benchmark
+    public GraphRequest mapBinding() throws IOException {
+        return mapper.readValue(mapJson, GraphRequest.class);
+    }
+
+    @Benchmark
+    public EdgeListRequest edgeListJson() throws IOException {
+        return EdgeListMessageConverter.readJson(new ByteArrayInputStream(edgeListJson));
+    }
+
+    @Benchmark
+    public EdgeListRequest edgeListBinary() throws IOException {
+        return EdgeListMessageConverter.readBinary(new ByteArrayInputStream(edgeListBinary));
+    }
+}
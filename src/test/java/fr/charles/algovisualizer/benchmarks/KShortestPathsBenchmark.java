@@ -0,0 +1,100 @@
+package fr.charles.algovisualizer.benchmarks;
+
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+import fr.charles.algovisualizer.algorithms.graph.Dijkstra;
+import fr.charles.algovisualizer.algorithms.graph.GraphTraceRecorder;
+import fr.charles.algovisualizer.algorithms.graph.KShortestPaths;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Yen's k shortest paths on 10^5 nodes, next to a single Dijkstra search for scale. The grid
+ * (316 x 316, both directions) has paths of about 630 nodes, so many spur nodes per path; the
+ * random graph has short paths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KShortestPathsBenchmark {
+
+    private static final int SIDE = 316;
+
+    @Param({"grid", "random"})
+    String graphType;
+
+    @Param({"50"})
+    int k;
+
+    private CsrGraph graph;
+    private int source;
+    private int target;
+    private final Dijkstra dijkstra = new Dijkstra();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        graph = graphType.equals("grid") ? grid(random) : randomGraph(SIDE * SIDE, 4, random);
+        source = 0;
+        target = graph.nodeCount() - 1;
+    }
+
+    @Benchmark
+    public int[] dijkstra() {
+        return dijkstra.findShortestPath(graph, source, target, GraphTraceRecorder.NONE);
+    }
+
+    @Benchmark
+    public List<KShortestPaths.Path> kShortestPaths() {
+        return new KShortestPaths(graph, target).find(source, k);
+    }
+
+    private static CsrGraph grid(SplittableRandom random) {
+        int edges = 4 * SIDE * (SIDE - 1);
+        int[] sources = new int[edges];
+        int[] targets = new int[edges];
+        int[] weights = new int[edges];
+        int e = 0;
+        for (int row = 0; row < SIDE; row++) {
+            for (int column = 0; column < SIDE; column++) {
+                int node = row * SIDE + column;
+                if (column + 1 < SIDE) {
+                    e = link(sources, targets, weights, e, node, node + 1, random);
+                }
+                if (row + 1 < SIDE) {
+                    e = link(sources, targets, weights, e, node, node + SIDE, random);
+                }
+            }
+        }
+        return CsrGraph.fromEdges(SIDE * SIDE, sources, targets, weights);
+    }
+
+    private static int link(int[] sources, int[] targets, int[] weights, int e, int u, int v, SplittableRandom random) {
+        int weight = random.nextInt(10, 100);
+        sources[e] = u;
+        targets[e] = v;
+        weights[e++] = weight;
+        sources[e] = v;
+        targets[e] = u;
+        weights[e++] = weight;
+        return e;
+    }
+
+    private static CsrGraph randomGraph(int nodes, int degree, SplittableRandom random) {
+        int edges = nodes * degree;
+        int[] sources = new int[edges];
+        int[] targets = new int[edges];
+        int[] weights = new int[edges];
+        for (int e = 0; e < edges; e++) {
+            sources[e] = random.nextInt(nodes);
+            targets[e] = random.nextInt(nodes);
+            weights[e] = random.nextInt(1, 100);
+        }
+        return CsrGraph.fromEdges(nodes, sources, targets, weights);
+    }
+}
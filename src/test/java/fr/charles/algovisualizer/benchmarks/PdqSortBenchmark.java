@@ -0,0 +1,48 @@
+package fr.charles.algovisualizer.benchmarks;
+
+import fr.charles.algovisualizer.algorithms.sorting.InputGenerator;
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec;
+import fr.charles.algovisualizer.algorithms.sorting.PdqSort;
+import fr.charles.algovisualizer.algorithms.sorting.QuickSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PdqSort} against the Lomuto {@link QuickSort} on inputs that defeat a last-element pivot.
+ * Both record a snapshot per swap, so sizes stay small enough for QuickSort's quadratic traces.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class PdqSortBenchmark {
+
+    @Param({"512"})
+    int n;
+
+    @Param({"uniform", "nearly-sorted", "reversed", "organ-pipe", "few-unique"})
+    String distribution;
+
+    private final QuickSort quickSort = new QuickSort();
+    private final PdqSort pdqSort = new PdqSort();
+    private int[] input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        input = InputGenerator.generate(new InputSpec(InputSpec.Distribution.of(distribution), n, 42, 0));
+    }
+
+    @Benchmark
+    public List<int[]> quickSort() {
+        return quickSort.sort(input.clone());
+    }
+
+    @Benchmark
+    public List<int[]> pdqSort() {
+        return pdqSort.sort(input.clone());
+    }
+}
@@ -0,0 +1,97 @@
+package fr.charles.algovisualizer.benchmarks;
+
+import fr.charles.algovisualizer.algorithms.sorting.BucketSort;
+import fr.charles.algovisualizer.algorithms.sorting.PrimitiveSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation of the primitive sorts against boxed equivalents. Run with {@code -prof gc} and
+ * read {@code gc.alloc.rate.norm}: the primitive paths allocate a fixed number of arrays, the
+ * boxed ones an object per element.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveSortBenchmark {
+
+    public record Point(double x, long id) {
+    }
+
+    @Param({"100000"})
+    int n;
+
+    private double[] doubles;
+    private Double[] boxedDoubles;
+    private Point[] points;
+    private int[] bucketInput;
+    private final BucketSort bucketSort = new BucketSort();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        doubles = random.doubles(n, -1e6, 1e6).toArray();
+        boxedDoubles = Arrays.stream(doubles).boxed().toArray(Double[]::new);
+        points = new Point[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = new Point(doubles[i], i);
+        }
+        // BucketSort records a snapshot per element, so it runs on a small input
+        bucketInput = random.ints(256, 0, 1000).toArray();
+    }
+
+    @Benchmark
+    public double[] primitiveDoubles() {
+        double[] copy = doubles.clone();
+        PrimitiveSort.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public double[] arraysSortDoubles() {
+        double[] copy = doubles.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public Double[] boxedDoubles() {
+        Double[] copy = Arrays.stream(doubles).boxed().toArray(Double[]::new);
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public Double[] preboxedDoubles() {
+        Double[] copy = boxedDoubles.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public Point[] recordsByPrimitiveKey() {
+        Point[] copy = points.clone();
+        PrimitiveSort.sortByDoubleKey(copy, Point::x);
+        return copy;
+    }
+
+    @Benchmark
+    public Point[] recordsByBoxedComparator() {
+        Point[] copy = points.clone();
+        Arrays.sort(copy, Comparator.comparing(Point::x));
+        return copy;
+    }
+
+    @Benchmark
+    public List<int[]> bucketSort() {
+        return bucketSort.sort(bucketInput);
+    }
+}
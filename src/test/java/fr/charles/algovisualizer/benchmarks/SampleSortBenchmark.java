@@ -0,0 +1,69 @@
+package fr.charles.algovisualizer.benchmarks;
+
+import fr.charles.algovisualizer.algorithms.sorting.BucketSort;
+import fr.charles.algovisualizer.algorithms.sorting.InputGenerator;
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec;
+import fr.charles.algovisualizer.algorithms.sorting.SampleSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SampleSort} against the equal-width {@link BucketSort} on uniform and skewed inputs.
+ * BucketSort records a step per element, so the comparison runs at {@code n}; SampleSort's
+ * trace stays under a hundred steps, so it is also timed on {@code largeN} elements next to
+ * {@link Arrays#parallelSort(int[])}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SampleSortBenchmark {
+
+    @Param({"2048"})
+    int n;
+
+    @Param({"1048576"})
+    int largeN;
+
+    @Param({"uniform", "skewed", "few-unique"})
+    String distribution;
+
+    private final BucketSort bucketSort = new BucketSort();
+    private final SampleSort sampleSort = new SampleSort();
+    private int[] input;
+    private int[] largeInput;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InputSpec.Distribution dist = InputSpec.Distribution.of(distribution);
+        input = InputGenerator.generate(new InputSpec(dist, n, 42, 0));
+        largeInput = InputGenerator.generate(new InputSpec(dist, largeN, 42, 0));
+    }
+
+    @Benchmark
+    public List<int[]> bucketSort() {
+        return bucketSort.sort(input);
+    }
+
+    @Benchmark
+    public List<int[]> sampleSort() {
+        return sampleSort.sort(input);
+    }
+
+    @Benchmark
+    public List<int[]> sampleSortLarge() {
+        return sampleSort.sort(largeInput);
+    }
+
+    @Benchmark
+    public int[] parallelSortLarge() {
+        int[] copy = largeInput.clone();
+        Arrays.parallelSort(copy);
+        return copy;
+    }
+}
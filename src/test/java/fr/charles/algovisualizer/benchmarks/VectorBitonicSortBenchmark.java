@@ -0,0 +1,63 @@
+package fr.charles.algovisualizer.benchmarks;
+
+import fr.charles.algovisualizer.algorithms.sorting.VectorBitonicSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Untraced block sorting: the bitonic network on SIMD lanes, the same network on the scalar
+ * fallback (a fork without the incubator module) and {@link Arrays#sort(int[], int, int)} per
+ * block, over {@code n} random ints cut into blocks of {@code blockSize}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorBitonicSortBenchmark {
+
+    @Param({"65536"})
+    int n;
+
+    @Param({"8", "16", "32", "64", "128", "256", "512", "1024", "2048", "4096"})
+    int blockSize;
+
+    private int[] input;
+    private int[] work;
+    private VectorBitonicSort sort;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        input = new SplittableRandom(42).ints(n).toArray();
+        work = new int[n];
+        sort = new VectorBitonicSort(blockSize);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public int[] vectorNetwork() {
+        System.arraycopy(input, 0, work, 0, n);
+        sort.sortBlocks(work);
+        return work;
+    }
+
+    @Benchmark
+    public int[] scalarNetwork() {
+        System.arraycopy(input, 0, work, 0, n);
+        sort.sortBlocks(work);
+        return work;
+    }
+
+    @Benchmark
+    public int[] arraysSort() {
+        System.arraycopy(input, 0, work, 0, n);
+        for (int from = 0; from < n; from += blockSize) {
+            Arrays.sort(work, from, from + blockSize);
+        }
+        return work;
+    }
+}
@@ -0,0 +1,132 @@
+package fr.charles.algovisualizer.config;
+
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+import fr.charles.algovisualizer.dto.EdgeListRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeListMessageConverterTest {
+
+    private static final int[][] EDGES = {{0, 1, 4}, {0, 2, 1}, {2, 1, 2}, {1, 3, 1}};
+
+    private final EdgeListMessageConverter converter = new EdgeListMessageConverter();
+
+    @Test
+    void readsJsonEdgeList() throws Exception {
+        EdgeListRequest request = EdgeListMessageConverter.readJson(json(
+                "{\"start\": 0, \"edges\": [[0,1,4],[0,2,1],[2,1,2],[1,3,1]], \"end\": 3}"));
+
+        assertEquals(0, request.getStart());
+        assertEquals(3, request.getEnd());
+        assertGraph(request.getGraph());
+    }
+
+    @Test
+    void skipsUnknownJsonFields() throws Exception {
+        EdgeListRequest request = EdgeListMessageConverter.readJson(json(
+                "{\"name\": {\"nested\": [1, 2]}, \"start\": 0, \"end\": 3, \"edges\": [[0,1,4],[0,2,1],[2,1,2],[1,3,1]]}"));
+
+        assertGraph(request.getGraph());
+    }
+
+    @Test
+    void readsBinaryEdgeList() throws Exception {
+        EdgeListRequest request = EdgeListMessageConverter.readBinary(binary(0, 3, EDGES.length, EDGES));
+
+        assertEquals(0, request.getStart());
+        assertEquals(3, request.getEnd());
+        assertGraph(request.getGraph());
+    }
+
+    @Test
+    void readsBinaryLargerThanItsBuffer() throws Exception {
+        int[][] chain = new int[20_000][];
+        for (int i = 0; i < chain.length; i++) {
+            chain[i] = new int[]{i, i + 1, 1};
+        }
+        CsrGraph graph = EdgeListMessageConverter.readBinary(binary(0, chain.length, chain.length, chain)).getGraph();
+
+        assertEquals(chain.length + 1, graph.nodeCount());
+        assertEquals(chain.length, graph.edgeCount());
+        assertEquals(chain.length, graph.target(graph.firstEdge(chain.length - 1)));
+    }
+
+    @Test
+    void isolatedEndpointsCountAsNodes() throws Exception {
+        CsrGraph graph = EdgeListMessageConverter.readJson(json("{\"start\": 0, \"end\": 9, \"edges\": [[0,1,1]]}")).getGraph();
+
+        assertEquals(10, graph.nodeCount());
+    }
+
+    @Test
+    void rejectsMalformedBodies() {
+        assertThrows(IllegalArgumentException.class,
+                () -> EdgeListMessageConverter.readJson(json("{\"edges\": [[0,1]]}")));
+        assertThrows(IllegalArgumentException.class,
+                () -> EdgeListMessageConverter.readJson(json("{\"edges\": [[0,-1,2]]}")));
+        assertThrows(IllegalArgumentException.class,
+                () -> EdgeListMessageConverter.readJson(json("{\"edges\": [[0,1,-2]]}")));
+        assertThrows(IllegalArgumentException.class,
+                () -> EdgeListMessageConverter.readBinary(binary(0, 3, EDGES.length + 1, EDGES)));
+        assertThrows(IllegalArgumentException.class,
+                () -> EdgeListMessageConverter.readBinary(binary(0, 3, EDGES.length - 1, EDGES)));
+        assertThrows(IllegalArgumentException.class,
+                () -> EdgeListMessageConverter.readBinary(binary(0, 3, -1, new int[0][])));
+    }
+
+    @Test
+    void picksFormatFromContentType() throws Exception {
+        MockHttpInputMessage jsonMessage = new MockHttpInputMessage(
+                "{\"start\": 0, \"end\": 3, \"edges\": [[0,1,4],[0,2,1],[2,1,2],[1,3,1]]}".getBytes(StandardCharsets.UTF_8));
+        jsonMessage.getHeaders().setContentType(EdgeListMessageConverter.EDGES_JSON);
+        MockHttpInputMessage binaryMessage = new MockHttpInputMessage(binary(0, 3, EDGES.length, EDGES));
+        binaryMessage.getHeaders().setContentType(EdgeListMessageConverter.EDGES_BINARY);
+
+        assertTrue(converter.canRead(EdgeListRequest.class, EdgeListMessageConverter.EDGES_JSON));
+        assertFalse(converter.canWrite(EdgeListRequest.class, EdgeListMessageConverter.EDGES_JSON));
+        assertGraph(converter.read(EdgeListRequest.class, jsonMessage).getGraph());
+        assertGraph(converter.read(EdgeListRequest.class, binaryMessage).getGraph());
+    }
+
+    @Test
+    void invalidBodyIsNotReadable() {
+        MockHttpInputMessage message = new MockHttpInputMessage(binary(0, 3, 2, new int[][]{{0, 1, 1}}));
+        message.getHeaders().setContentType(EdgeListMessageConverter.EDGES_BINARY);
+
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(EdgeListRequest.class, message));
+    }
+
+    private static void assertGraph(CsrGraph graph) {
+        assertEquals(4, graph.nodeCount());
+        assertEquals(4, graph.edgeCount());
+        for (int[] edge : EDGES) {
+            boolean found = false;
+            for (int e = graph.firstEdge(edge[0]); e < graph.endEdge(edge[0]); e++) {
+                found |= graph.target(e) == edge[1] && graph.weight(e) == edge[2];
+            }
+            assertTrue(found, Arrays.toString(edge));
+        }
+    }
+
+    private static ByteArrayInputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ByteArrayInputStream binary(int start, int end, int edgeCount, int[][] edges) {
+        ByteBuffer buffer = ByteBuffer.allocate(3 * Integer.BYTES * (edges.length + 1)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(start).putInt(end).putInt(edgeCount);
+        for (int[] edge : edges) {
+            buffer.putInt(edge[0]).putInt(edge[1]).putInt(edge[2]);
+        }
+        return new ByteArrayInputStream(buffer.array());
+    }
+}
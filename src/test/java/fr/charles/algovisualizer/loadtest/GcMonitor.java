@@ -0,0 +1,103 @@
+package fr.charles.algovisualizer.loadtest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * GC pauses and heap use of this JVM between {@link #start()} and {@link #stop()}, from the
+ * collectors' notifications. Collections of the concurrent collectors' cycle beans (G1
+ * {@code Concurrent GC}, ZGC and Shenandoah {@code Cycles}) run alongside the application and are
+ * counted apart from the pauses. The peak heap is the highest occupancy seen right before a
+ * collection or when sampled, which is where the heap is fullest.
+ */
+final class GcMonitor implements NotificationListener {
+
+    record Stats(long pauses, long totalPauseMillis, long maxPauseMillis, long concurrentCycles,
+                 long peakHeapUsedBytes, long maxHeapBytes) {
+    }
+
+    private final Set<String> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .map(MemoryPoolMXBean::getName)
+            .collect(Collectors.toSet());
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private long pauses;
+    private long totalPauseMillis;
+    private long maxPauseMillis;
+    private long concurrentCycles;
+    private long peakHeapUsed;
+
+    synchronized void start() {
+        pauses = 0;
+        totalPauseMillis = 0;
+        maxPauseMillis = 0;
+        concurrentCycles = 0;
+        peakHeapUsed = heapUsed();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    /** Records the current heap occupancy, which may be the peak if no collection follows. */
+    synchronized void sample() {
+        peakHeapUsed = Math.max(peakHeapUsed, heapUsed());
+    }
+
+    synchronized Stats stop() {
+        sample();
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException ignored) {
+                // Not registered
+            }
+        }
+        emitters.clear();
+        return new Stats(pauses, totalPauseMillis, maxPauseMillis, concurrentCycles, peakHeapUsed,
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax());
+    }
+
+    @Override
+    public synchronized void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        GcInfo gc = info.getGcInfo();
+        long before = gc.getMemoryUsageBeforeGc().entrySet().stream()
+                .filter(pool -> heapPools.contains(pool.getKey()))
+                .mapToLong(pool -> pool.getValue().getUsed())
+                .sum();
+        peakHeapUsed = Math.max(peakHeapUsed, before);
+        String name = info.getGcName();
+        if (name.contains("Concurrent") || name.contains("Cycles")) {
+            concurrentCycles++;
+        } else {
+            pauses++;
+            totalPauseMillis += gc.getDuration();
+            maxPauseMillis = Math.max(maxPauseMillis, gc.getDuration());
+        }
+    }
+
+    private static long heapUsed() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
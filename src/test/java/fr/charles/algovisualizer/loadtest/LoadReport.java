@@ -0,0 +1,103 @@
+package fr.charles.algovisualizer.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Result of a {@link LoadTest} run, written as indented JSON with a stable key order so that two
+ * reports can be diffed line by line. Latencies are in milliseconds, from the moment a request is
+ * sent to the last byte of its response.
+ */
+record LoadReport(String commit, Environment environment, Map<String, Object> config, double measuredSeconds,
+                  Stats total, Map<String, Stats> scenarios, GcMonitor.Stats gc) {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record Environment(String java, String collectors, int processors, String clientThreads) {
+    }
+
+    record Stats(long requests, long errors, double throughput, long responseBytes, Latency latency) {
+
+        static Stats of(Histogram histogram, long errors, long responseBytes, double seconds) {
+            return new Stats(histogram.getTotalCount(), errors, round(histogram.getTotalCount() / seconds),
+                    responseBytes, Latency.of(histogram));
+        }
+    }
+
+    record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+
+        /** From a histogram of microseconds. */
+        static Latency of(Histogram histogram) {
+            if (histogram.getTotalCount() == 0) {
+                return new Latency(0, 0, 0, 0, 0, 0);
+            }
+            return new Latency(round(histogram.getMean() / 1000), millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return round(micros / 1000.0);
+        }
+    }
+
+    void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        JSON.writeValue(file.toFile(), this);
+    }
+
+    static LoadReport read(Path file) throws IOException {
+        return JSON.readValue(file.toFile(), LoadReport.class);
+    }
+
+    /**
+     * What got worse than {@code baseline} by more than {@code tolerance} (0.2 for 20%): the p99
+     * latency and throughput of each scenario present in both reports, the peak heap and the
+     * total GC pause time. New errors are always reported.
+     */
+    List<String> regressionsFrom(LoadReport baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        scenarios.forEach((name, stats) -> {
+            Stats before = baseline.scenarios().get(name);
+            if (before != null) {
+                compare(regressions, name + " p99 (ms)", before.latency().p99(), stats.latency().p99(), tolerance);
+                compare(regressions, name + " throughput (req/s)", -before.throughput(), -stats.throughput(), tolerance);
+                if (stats.errors() > before.errors()) {
+                    regressions.add(String.format(Locale.ROOT, "%s errors: %d -> %d", name, before.errors(), stats.errors()));
+                }
+            }
+        });
+        compare(regressions, "peak heap (MB)", mb(baseline.gc().peakHeapUsedBytes()), mb(gc.peakHeapUsedBytes()), tolerance);
+        compare(regressions, "GC pause total (ms)", baseline.gc().totalPauseMillis(), gc.totalPauseMillis(), tolerance);
+        return regressions;
+    }
+
+    /**
+     * Adds a line if {@code after} exceeds a non-zero {@code before} by more than the tolerance;
+     * both are negated for higher-is-better values.
+     */
+    private static void compare(List<String> regressions, String what, double before, double after, double tolerance) {
+        if (before != 0 && after > before + Math.abs(before) * tolerance) {
+            regressions.add(String.format(Locale.ROOT, "%s: %.3f -> %.3f", what, Math.abs(before), Math.abs(after)));
+        }
+    }
+
+    private static double mb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
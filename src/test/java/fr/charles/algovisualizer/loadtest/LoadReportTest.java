@@ -0,0 +1,55 @@
+package fr.charles.algovisualizer.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadReportTest {
+
+    @Test
+    void roundTripsThroughJson(@TempDir Path dir) throws Exception {
+        LoadReport report = report(stats(100, 0, 50, 20), new GcMonitor.Stats(3, 40, 20, 1, 512L << 20, 1L << 30));
+        Path file = dir.resolve("loadtest/report.json");
+
+        report.write(file);
+
+        LoadReport read = LoadReport.read(file);
+        assertEquals(report.scenarios(), read.scenarios());
+        assertEquals(report.total(), read.total());
+        assertEquals(report.gc(), read.gc());
+        assertEquals("abc1234", read.commit());
+    }
+
+    @Test
+    void reportsWhatGotWorseBeyondTheTolerance() {
+        GcMonitor.Stats gc = new GcMonitor.Stats(3, 40, 20, 0, 500L << 20, 1L << 30);
+        LoadReport baseline = report(stats(100, 0, 50, 20), gc);
+
+        assertEquals(List.of(), report(stats(90, 0, 55, 21), gc).regressionsFrom(baseline, 0.2));
+        assertEquals(List.of("sort/100 p99 (ms): 20.000 -> 30.000",
+                        "sort/100 throughput (req/s): 50.000 -> 30.000",
+                        "sort/100 errors: 0 -> 2",
+                        "peak heap (MB): 500.000 -> 700.000",
+                        "GC pause total (ms): 40.000 -> 90.000"),
+                report(stats(100, 2, 30, 30), new GcMonitor.Stats(5, 90, 30, 0, 700L << 20, 1L << 30))
+                        .regressionsFrom(baseline, 0.2));
+    }
+
+    private static LoadReport report(LoadReport.Stats stats, GcMonitor.Stats gc) {
+        Map<String, LoadReport.Stats> scenarios = new LinkedHashMap<>();
+        scenarios.put("sort/100", stats);
+        return new LoadReport("abc1234", new LoadReport.Environment("21", "G1", 8, "virtual"),
+                Map.of("clients", 200), 30, stats, scenarios, gc);
+    }
+
+    private static LoadReport.Stats stats(long requests, long errors, double throughput, double p99) {
+        return new LoadReport.Stats(requests, errors, throughput, requests * 1000,
+                new LoadReport.Latency(p99 / 2, p99 / 3, p99 / 2, p99, p99, p99));
+    }
+}
@@ -0,0 +1,385 @@
+package fr.charles.algovisualizer.loadtest;
+
+import fr.charles.algovisualizer.AlgoVisualizerApplication;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Boots the application on a random port and replays a mix of sort and graph requests from
+ * concurrent clients, one virtual thread each. Every client sends its next request as soon as
+ * the previous response has been read, so the latencies are those seen under {@code --clients}
+ * requests in flight. After {@code --warmup}, the run is
+ * measured for {@code --duration} and a JSON report is written: throughput and latency
+ * percentiles per scenario and size, GC pauses and peak heap.
+ * <pre>
+ * ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="--clients 200 --duration 60s"
+ * </pre>
+ * Options: {@code --clients <n>}, {@code --warmup <duration>}, {@code --duration <duration>},
+ * {@code --mix <scenario:weight,...>} among {@code sort}, {@code sort-generated}, {@code graph}
+ * and {@code graph-edges}, {@code --sort-sizes <n,...>}, {@code --graph-sizes <nodes,...>},
+ * {@code --sort-algorithm <slug>}, {@code --graph-algorithm <slug>}, {@code --variants <bodies
+ * per size>}, {@code --seed <n>}, {@code --timeout <duration>}, {@code --output <file>}.
+ * {@code --baseline <report.json>} compares the run with an earlier report and exits with 2 when
+ * something got worse by more than {@code --tolerance} (default 0.2).
+ * <p>
+ * Clients and application share the JVM, so GC and heap figures include the clients; their
+ * request bodies are built before the run and response bodies are only counted, not kept.
+ */
+public final class LoadTest {
+
+    private static final HttpResponse.BodyHandler<Long> COUNT_BYTES =
+            info -> HttpResponse.BodySubscribers.fromSubscriber(new ByteCounter(), ByteCounter::count);
+
+    static final class Options {
+        int clients = 200;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(30);
+        Map<Scenario, Integer> mix = parseMix("sort:3,sort-generated:1,graph:2,graph-edges:2");
+        int[] sortSizes = {100, 300};
+        int[] graphSizes = {1_000, 10_000};
+        String sortAlgorithm = "quick-sort";
+        String graphAlgorithm = "dijkstra";
+        int variants = 16;
+        long seed = 42;
+        Duration timeout = Duration.ofSeconds(60);
+        Path output = Path.of("target/loadtest/report.json");
+        Path baseline;
+        double tolerance = 0.2;
+
+        static Options parse(String[] args) {
+            if (args.length % 2 != 0) {
+                throw new IllegalArgumentException("Missing value for " + args[args.length - 1]);
+            }
+            Options options = new Options();
+            for (int i = 0; i < args.length; i += 2) {
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--clients" -> options.clients = Integer.parseInt(value);
+                    case "--warmup" -> options.warmup = DurationStyle.detectAndParse(value);
+                    case "--duration" -> options.duration = DurationStyle.detectAndParse(value);
+                    case "--mix" -> options.mix = parseMix(value);
+                    case "--sort-sizes" -> options.sortSizes = parseSizes(value);
+                    case "--graph-sizes" -> options.graphSizes = parseSizes(value);
+                    case "--sort-algorithm" -> options.sortAlgorithm = value;
+                    case "--graph-algorithm" -> options.graphAlgorithm = value;
+                    case "--variants" -> options.variants = Integer.parseInt(value);
+                    case "--seed" -> options.seed = Long.parseLong(value);
+                    case "--timeout" -> options.timeout = DurationStyle.detectAndParse(value);
+                    case "--output" -> options.output = Path.of(value);
+                    case "--baseline" -> options.baseline = Path.of(value);
+                    case "--tolerance" -> options.tolerance = Double.parseDouble(value);
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (options.clients < 1 || options.variants < 1 || options.duration.isZero() || options.duration.isNegative()) {
+                throw new IllegalArgumentException("--clients, --variants and --duration must be positive");
+            }
+            return options;
+        }
+
+        int[] sizes(Scenario scenario) {
+            return scenario == Scenario.SORT || scenario == Scenario.SORT_GENERATED ? sortSizes : graphSizes;
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> config = new LinkedHashMap<>();
+            config.put("clients", clients);
+            config.put("warmupSeconds", warmup.toMillis() / 1000.0);
+            config.put("durationSeconds", duration.toMillis() / 1000.0);
+            config.put("mix", mix.entrySet().stream()
+                    .map(entry -> entry.getKey().id + ":" + entry.getValue())
+                    .collect(Collectors.joining(",")));
+            config.put("sortSizes", sortSizes);
+            config.put("graphSizes", graphSizes);
+            config.put("sortAlgorithm", sortAlgorithm);
+            config.put("graphAlgorithm", graphAlgorithm);
+            config.put("variants", variants);
+            config.put("seed", seed);
+            config.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+            return config;
+        }
+
+        private static Map<Scenario, Integer> parseMix(String value) {
+            Map<Scenario, Integer> mix = new LinkedHashMap<>();
+            for (String entry : value.split(",")) {
+                String[] parts = entry.split(":");
+                int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Negative weight in " + entry);
+                }
+                if (weight > 0) {
+                    mix.put(Scenario.of(parts[0]), weight);
+                }
+            }
+            if (mix.isEmpty()) {
+                throw new IllegalArgumentException("Empty mix: " + value);
+            }
+            return mix;
+        }
+
+        private static int[] parseSizes(String value) {
+            int[] sizes = Arrays.stream(value.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+            if (sizes.length == 0 || Arrays.stream(sizes).anyMatch(size -> size < 1)) {
+                throw new IllegalArgumentException("Invalid sizes: " + value);
+            }
+            return sizes;
+        }
+    }
+
+    /** The requests of one scenario and size, with what their responses measured. */
+    private record Target(String name, HttpRequest[] requests, Recorder latencies, LongAdder errors,
+                          LongAdder responseBytes) {
+    }
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: LoadTest [--clients n] [--warmup 10s] [--duration 30s] [--mix sort:3,graph:2,...]");
+            System.err.println("                [--sort-sizes n,...] [--graph-sizes nodes,...] [--sort-algorithm slug]");
+            System.err.println("                [--graph-algorithm slug] [--variants n] [--seed n] [--timeout 60s]");
+            System.err.println("                [--output report.json] [--baseline report.json] [--tolerance 0.2]");
+            System.exit(1);
+            return;
+        }
+        // Devtools would restart the context in another class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        LoadReport report;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AlgoVisualizerApplication.class)
+                .properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=warn")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            report = run(options, URI.create("http://localhost:" + port));
+        }
+        report.write(options.output);
+        print(report);
+        System.out.println("Report written to " + options.output);
+        if (options.baseline != null) {
+            List<String> regressions = report.regressionsFrom(LoadReport.read(options.baseline), options.tolerance);
+            regressions.forEach(regression -> System.out.println("REGRESSION " + regression));
+            if (!regressions.isEmpty()) {
+                System.exit(2);
+            }
+        }
+    }
+
+    static LoadReport run(Options options, URI server) throws InterruptedException {
+        List<Target> targets = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(options.seed);
+        options.mix.forEach((scenario, weight) -> {
+            int[] sizes = options.sizes(scenario);
+            for (int size : sizes) {
+                HttpRequest[] requests = new HttpRequest[options.variants];
+                for (int i = 0; i < requests.length; i++) {
+                    requests[i] = HttpRequest.newBuilder(server.resolve(scenario.path(options)))
+                            .header("Content-Type", scenario.contentType)
+                            .timeout(options.timeout)
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(scenario.body(size, random)))
+                            .build();
+                }
+                targets.add(new Target(scenario.id + "/" + size, requests, new Recorder(3), new LongAdder(), new LongAdder()));
+                // Sizes of a scenario share its weight
+                weights.add(weight * 1000 / sizes.length);
+            }
+        });
+        int[] cumulativeWeights = new int[weights.size()];
+        for (int i = 0, sum = 0; i < cumulativeWeights.length; i++) {
+            cumulativeWeights[i] = sum += weights.get(i);
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        AtomicBoolean running = new AtomicBoolean(true);
+        // One virtual thread per client, so the clients cost no more than the requests
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+        for (int c = 0; c < options.clients; c++) {
+            long seed = random.nextLong();
+            clients.execute(() -> replay(client, targets, cumulativeWeights, new SplittableRandom(seed), running));
+        }
+
+        System.out.printf(Locale.ROOT, "%d clients on %s, warming up for %d s%n",
+                options.clients, server, options.warmup.toSeconds());
+        Thread.sleep(options.warmup.toMillis());
+        GcMonitor gc = new GcMonitor();
+        targets.forEach(target -> {
+            target.latencies().reset();
+            target.errors().reset();
+            target.responseBytes().reset();
+        });
+        gc.start();
+        long begin = System.nanoTime();
+        long end = begin + options.duration.toNanos();
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            Thread.sleep(Math.min(1000, TimeUnit.NANOSECONDS.toMillis(end - now) + 1));
+            gc.sample();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        long totalBytes = 0;
+        Map<String, LoadReport.Stats> scenarios = new LinkedHashMap<>();
+        for (Target target : targets) {
+            Histogram latencies = target.latencies().getIntervalHistogram();
+            long errors = target.errors().sum();
+            long bytes = target.responseBytes().sum();
+            scenarios.put(target.name(), LoadReport.Stats.of(latencies, errors, bytes, seconds));
+            total.add(latencies);
+            totalErrors += errors;
+            totalBytes += bytes;
+        }
+        GcMonitor.Stats gcStats = gc.stop();
+
+        running.set(false);
+        clients.shutdownNow();
+        clients.awaitTermination(options.timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        return new LoadReport(gitCommit(), environment(), options.describe(), round(seconds),
+                LoadReport.Stats.of(total, totalErrors, totalBytes, seconds), scenarios, gcStats);
+    }
+
+    private static void replay(HttpClient client, List<Target> targets, int[] cumulativeWeights,
+                               SplittableRandom random, AtomicBoolean running) {
+        while (running.get()) {
+            int pick = Arrays.binarySearch(cumulativeWeights, random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]) + 1);
+            Target target = targets.get(pick >= 0 ? pick : -pick - 1);
+            HttpRequest request = target.requests()[random.nextInt(target.requests().length)];
+            long begin = System.nanoTime();
+            try {
+                HttpResponse<Long> response = client.send(request, COUNT_BYTES);
+                long micros = (System.nanoTime() - begin) / 1000;
+                if (response.statusCode() / 100 == 2) {
+                    target.latencies().recordValue(micros);
+                    target.responseBytes().add(response.body());
+                } else {
+                    target.errors().increment();
+                }
+            } catch (IOException e) {
+                target.errors().increment();
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static LoadReport.Environment environment() {
+        String collectors = ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .map(GarbageCollectorMXBean::getName)
+                .collect(Collectors.joining(", "));
+        return new LoadReport.Environment(Runtime.version().toString(), collectors,
+                Runtime.getRuntime().availableProcessors(), "virtual");
+    }
+
+    /** The checked-out commit, marked dirty when the tree has local changes; null outside a git tree. */
+    private static String gitCommit() {
+        try {
+            String commit = git("rev-parse", "--short", "HEAD");
+            if (commit.isEmpty()) {
+                return null;
+            }
+            return git("status", "--porcelain", "--untracked-files=no").isEmpty() ? commit : commit + "-dirty";
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static String git(String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of("git"));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        return process.waitFor() == 0 ? output : "";
+    }
+
+    private static void print(LoadReport report) {
+        System.out.printf(Locale.ROOT, "%-22s %9s %7s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        report.scenarios().forEach((name, stats) -> printRow(name, stats));
+        printRow("total", report.total());
+        GcMonitor.Stats gc = report.gc();
+        System.out.printf(Locale.ROOT, "GC: %d pauses, %d ms total, %d ms max, %d concurrent cycles; peak heap %d MB of %d MB%n",
+                gc.pauses(), gc.totalPauseMillis(), gc.maxPauseMillis(), gc.concurrentCycles(),
+                gc.peakHeapUsedBytes() >> 20, gc.maxHeapBytes() >> 20);
+    }
+
+    private static void printRow(String name, LoadReport.Stats stats) {
+        LoadReport.Latency latency = stats.latency();
+        System.out.printf(Locale.ROOT, "%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", name, stats.requests(),
+                stats.errors(), stats.throughput(), latency.p50(), latency.p90(), latency.p99(), latency.max());
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    /** Counts the bytes of a response body without keeping them. */
+    private static final class ByteCounter implements Flow.Subscriber<List<ByteBuffer>> {
+
+        private long count;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                count += buffer.remaining();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        long count() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package fr.charles.algovisualizer.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * The kinds of request replayed by {@link LoadTest}. Each one builds its request bodies ahead of
+ * time, so the clients only spend time sending them and reading the responses.
+ */
+enum Scenario {
+
+    /** Traced sort of a random array: one copy of the array per step in the response. */
+    SORT("sort", "application/json") {
+        @Override
+        String path(LoadTest.Options options) {
+            return "/api/sort/" + options.sortAlgorithm;
+        }
+
+        @Override
+        byte[] body(int size, SplittableRandom random) {
+            StringBuilder json = new StringBuilder(size * 7).append('[');
+            for (int i = 0; i < size; i++) {
+                json.append(i == 0 ? "" : ",").append(random.nextInt(1000));
+            }
+            return utf8(json.append(']'));
+        }
+    },
+
+    /** Traced sort of a generated input, answered from the step cache once it has been seen. */
+    SORT_GENERATED("sort-generated", "application/json") {
+        @Override
+        String path(LoadTest.Options options) {
+            return "/api/sort/" + options.sortAlgorithm + "/generated";
+        }
+
+        @Override
+        byte[] body(int size, SplittableRandom random) {
+            return utf8(new StringBuilder().append("{\"distribution\":\"uniform\",\"n\":").append(size)
+                    .append(",\"seed\":").append(random.nextLong()).append(",\"k\":0}"));
+        }
+    },
+
+    /** Shortest path on a graph sent as the adjacency map of {@code GraphRequest}. */
+    GRAPH("graph", "application/json") {
+        @Override
+        String path(LoadTest.Options options) {
+            return "/api/graph/" + options.graphAlgorithm;
+        }
+
+        @Override
+        byte[] body(int size, SplittableRandom random) {
+            int[][] edges = randomGraph(size, random);
+            StringBuilder json = new StringBuilder(size * 40).append("{\"graph\":{");
+            for (int u = 0; u < size; u++) {
+                json.append(u == 0 ? "\"" : ",\"").append(u).append("\":{");
+                for (int i = 0; i < edges[u].length; i += 2) {
+                    json.append(i == 0 ? "\"" : ",\"").append(edges[u][i]).append("\":").append(edges[u][i + 1]);
+                }
+                json.append('}');
+            }
+            return utf8(json.append("},\"start\":0,\"end\":").append(size - 1).append('}'));
+        }
+    },
+
+    /** Same graphs as {@link #GRAPH}, sent as a JSON edge list. */
+    GRAPH_EDGES("graph-edges", "application/vnd.algovisualizer.edges+json") {
+        @Override
+        String path(LoadTest.Options options) {
+            return "/api/graph/" + options.graphAlgorithm;
+        }
+
+        @Override
+        byte[] body(int size, SplittableRandom random) {
+            int[][] edges = randomGraph(size, random);
+            StringBuilder json = new StringBuilder(size * 60).append("{\"start\":0,\"end\":").append(size - 1)
+                    .append(",\"edges\":[");
+            boolean first = true;
+            for (int u = 0; u < size; u++) {
+                for (int i = 0; i < edges[u].length; i += 2) {
+                    json.append(first ? "[" : ",[").append(u).append(',').append(edges[u][i])
+                            .append(',').append(edges[u][i + 1]).append(']');
+                    first = false;
+                }
+            }
+            return utf8(json.append("]}"));
+        }
+    };
+
+    /** Random out-edges per node, besides the edge to the next node that keeps the end reachable. */
+    private static final int EXTRA_DEGREE = 3;
+
+    final String id;
+    final String contentType;
+
+    Scenario(String id, String contentType) {
+        this.id = id;
+        this.contentType = contentType;
+    }
+
+    abstract String path(LoadTest.Options options);
+
+    /** A request body for an input of {@code size} values or nodes. */
+    abstract byte[] body(int size, SplittableRandom random);
+
+    static Scenario of(String id) {
+        for (Scenario scenario : values()) {
+            if (scenario.id.equals(id.trim().toLowerCase(Locale.ROOT))) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario " + id);
+    }
+
+    /** Out-edges of each node as {@code [target, weight, target, weight, ...]}, without parallel edges. */
+    private static int[][] randomGraph(int nodes, SplittableRandom random) {
+        int[][] edges = new int[nodes][];
+        for (int u = 0; u < nodes; u++) {
+            int[] targets = new int[2 * (EXTRA_DEGREE + 1)];
+            int count = 0;
+            if (u + 1 < nodes) {
+                targets[count++] = u + 1;
+                targets[count++] = random.nextInt(1, 100);
+            }
+            for (int i = 0; i < EXTRA_DEGREE && nodes > 1; i++) {
+                int v = random.nextInt(nodes);
+                if (v != u && !contains(targets, count, v)) {
+                    targets[count++] = v;
+                    targets[count++] = random.nextInt(1, 100);
+                }
+            }
+            edges[u] = Arrays.copyOf(targets, count);
+        }
+        return edges;
+    }
+
+    private static boolean contains(int[] targets, int count, int v) {
+        for (int i = 0; i < count; i += 2) {
+            if (targets[i] == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] utf8(CharSequence text) {
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,116 @@
+package fr.charles.algovisualizer.services;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+import fr.charles.algovisualizer.algorithms.graph.Dijkstra;
+import fr.charles.algovisualizer.algorithms.graph.GraphTraceRecorder;
+import fr.charles.algovisualizer.algorithms.graph.ch.ContractionHierarchyBuilder;
+import fr.charles.algovisualizer.algorithms.sorting.BubbleSort;
+import fr.charles.algovisualizer.algorithms.sorting.InputGenerator;
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlgorithmRunnerTest {
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void algorithmsStopOnCancelledToken() {
+        CancellationToken token = new CancellationToken();
+        token.cancel("test");
+
+        assertThrows(CancellationException.class, () -> token.run(() -> new BubbleSort().sort(new int[]{3, 2, 1})));
+        CsrGraph graph = CsrGraph.fromEdges(2, new int[]{0}, new int[]{1}, new int[]{1});
+        assertThrows(CancellationException.class,
+                () -> token.run(() -> new Dijkstra().findShortestPath(graph, 0, 1, GraphTraceRecorder.NONE)));
+        assertSame(CancellationToken.NONE, CancellationToken.current());
+    }
+
+    @Test
+    void parallelWorkChecksTheCallersToken() {
+        CancellationToken cancelled = new CancellationToken();
+        cancelled.cancel("test");
+        assertThrows(CancellationException.class, () -> cancelled.run(
+                () -> InputGenerator.generate(new InputSpec(InputSpec.Distribution.UNIFORM, 1 << 20, 1, 0))));
+
+        // One check per node from the pool's workers for the initial priorities alone
+        CsrGraph cycle = CsrGraph.fromEdges(4, new int[]{0, 1, 2, 3}, new int[]{1, 2, 3, 0}, new int[]{1, 1, 1, 1});
+        CancellationToken token = new CancellationToken();
+        token.run(() -> ContractionHierarchyBuilder.build(cycle));
+        assertTrue(token.progress() >= cycle.nodeCount(), "checks: " + token.progress());
+    }
+
+    @Test
+    void mapsOutcomesToStatuses() {
+        CancellationToken token = new CancellationToken();
+        assertEquals(HttpStatus.OK, AlgorithmRunner.execute(token, () -> ResponseEntity.ok(1)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, AlgorithmRunner.execute(token, () -> {
+            throw new IllegalArgumentException();
+        }).getStatusCode());
+        token.cancel("test");
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, AlgorithmRunner.execute(token, () -> {
+            CancellationToken.check();
+            return ResponseEntity.ok(1);
+        }).getStatusCode());
+    }
+
+    @Test
+    void errorsStillCompleteTheRequest() {
+        // Runs inline and drops the Error, as an executor thread would after logging it
+        AlgorithmRunner runner = new AlgorithmRunner(command -> {
+            try {
+                command.run();
+            } catch (OutOfMemoryError expected) {
+            }
+        }, Duration.ofMinutes(1));
+
+        DeferredResult<ResponseEntity<Integer>> result = runner.run(() -> {
+            throw new OutOfMemoryError("test");
+        });
+
+        assertTrue(result.hasResult());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, ((ResponseEntity<?>) result.getResult()).getStatusCode());
+    }
+
+    @Test
+    void clientCancelsTaggedRun() throws InterruptedException {
+        AlgorithmRunner runner = new AlgorithmRunner(new SimpleAsyncTaskExecutor(), Duration.ofMinutes(1));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(AlgorithmRunner.RUN_ID_HEADER, "run-1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        DeferredResult<ResponseEntity<Integer>> result = runner.run(() -> {
+            CancellationToken token = CancellationToken.current();
+            while (true) {
+                token.throwIfCancelled();
+                Thread.onSpinWait();
+            }
+        });
+        assertTrue(runner.cancel("run-1"));
+        long waitUntil = System.nanoTime() + 5_000_000_000L;
+        while (!result.hasResult() && System.nanoTime() < waitUntil) {
+            Thread.sleep(5);
+        }
+
+        @SuppressWarnings("unchecked")
+        ResponseEntity<Integer> response = (ResponseEntity<Integer>) result.getResult();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertFalse(runner.cancel("unknown"));
+    }
+}
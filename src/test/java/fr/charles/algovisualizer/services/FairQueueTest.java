@@ -0,0 +1,51 @@
+package fr.charles.algovisualizer.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FairQueueTest {
+
+    @Test
+    void alternatesBetweenClientsAtEqualPriority() {
+        FairQueue<String> queue = new FairQueue<>(10, 10);
+        queue.offer("a", "a1", 0);
+        queue.offer("a", "a2", 0);
+        queue.offer("a", "a3", 0);
+        queue.offer("b", "b1", 0);
+        queue.offer("b", "b2", 0);
+
+        assertEquals("a1", queue.poll());
+        assertEquals("b1", queue.poll());
+        assertEquals("a2", queue.poll());
+        assertEquals("b2", queue.poll());
+        assertEquals("a3", queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void higherPriorityGoesFirst() {
+        FairQueue<String> queue = new FairQueue<>(10, 10);
+        queue.offer("a", "low", 0);
+        queue.offer("b", "high", 5);
+
+        assertEquals("high", queue.poll());
+        assertEquals("low", queue.poll());
+    }
+
+    @Test
+    void boundsQueueAndClientShare() {
+        FairQueue<String> queue = new FairQueue<>(3, 2);
+        queue.offer("a", "a1", 0);
+        queue.offer("a", "a2", 0);
+        assertThrows(RejectedExecutionException.class, () -> queue.offer("a", "a3", 0));
+        queue.offer("b", "b1", 0);
+        assertThrows(RejectedExecutionException.class, () -> queue.offer("c", "c1", 0));
+
+        assertTrue(queue.remove("a2"));
+        queue.offer("c", "c1", 0);
+        assertEquals(3, queue.size());
+    }
+}
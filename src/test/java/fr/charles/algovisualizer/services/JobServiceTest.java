@@ -0,0 +1,152 @@
+package fr.charles.algovisualizer.services;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import fr.charles.algovisualizer.algorithms.sorting.SortingAlgorithm;
+import fr.charles.algovisualizer.algorithms.sorting.TimSort;
+import fr.charles.algovisualizer.dto.JobRequest;
+import fr.charles.algovisualizer.dto.JobStatus;
+import fr.charles.algovisualizer.dto.JobStatus.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobServiceTest {
+
+    /** Spins through cancellation checks until cancelled. */
+    private static final SortingAlgorithm BLOCKING = new SortingAlgorithm() {
+        @Override
+        public List<int[]> sort(int[] array) {
+            while (true) {
+                CancellationToken.check();
+                Thread.onSpinWait();
+            }
+        }
+
+        @Override
+        public String getName() {
+            return "Blocking";
+        }
+    };
+
+    private final SortingService sortingService = new SortingService(List.of(new TimSort(), BLOCKING), 1_000_000, 1000, 1000);
+    private final JobService service = new JobService(sortingService, null, null, null,
+            1, 10, 10, 1, 2, 1_000_000, Duration.ofMinutes(1));
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void runsSortJobToCompletion() throws InterruptedException {
+        JobStatus submitted = service.submit("a", sortJob("tim-sort"));
+        JobStatus status = awaitFinished(submitted.getId());
+
+        assertEquals(State.SUCCEEDED, status.getState());
+        assertTrue(status.getProgress() > 0);
+        @SuppressWarnings("unchecked")
+        List<int[]> steps = (List<int[]>) service.result(submitted.getId());
+        assertArrayEquals(new int[]{1, 2, 3}, steps.get(steps.size() - 1));
+    }
+
+    @Test
+    void cancelsQueuedAndRunningJobs() throws InterruptedException {
+        String running = service.submit("a", sortJob("blocking")).getId();
+        String queued = service.submit("a", sortJob("tim-sort")).getId();
+        while (service.status(running).getState() != State.RUNNING) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(State.QUEUED, service.status(queued).getState());
+        assertThrows(IllegalStateException.class, () -> service.result(queued));
+        assertTrue(service.cancel(queued));
+        assertEquals(State.CANCELLED, service.status(queued).getState());
+
+        assertTrue(service.cancel(running));
+        assertEquals(State.CANCELLED, awaitFinished(running).getState());
+        assertFalse(service.cancel(running));
+    }
+
+    @Test
+    void clampsRequestedPriorities() throws InterruptedException {
+        String first = service.submit("a", sortJob("blocking")).getId();
+        while (service.status(first).getState() != State.RUNNING) {
+            Thread.sleep(5);
+        }
+        JobRequest highest = sortJob("blocking");
+        highest.setPriority(1);
+        String earlier = service.submit("a", highest).getId();
+        JobRequest greedy = sortJob("tim-sort");
+        greedy.setPriority(Integer.MAX_VALUE);
+        String later = service.submit("a", greedy).getId();
+
+        // Both end up at the maximum priority, so they run in submission order
+        service.cancel(first);
+        while (service.status(earlier).getState() != State.RUNNING) {
+            Thread.sleep(5);
+        }
+        assertEquals(State.QUEUED, service.status(later).getState());
+        service.cancel(earlier);
+        assertEquals(State.SUCCEEDED, awaitFinished(later).getState());
+    }
+
+    @Test
+    void rejectsInvalidRequestsAndForgetsOldJobs() throws InterruptedException {
+        assertThrows(IllegalArgumentException.class, () -> service.submit("a", new JobRequest()));
+        assertThrows(NoSuchElementException.class, () -> service.status("missing"));
+
+        String first = service.submit("a", sortJob("tim-sort")).getId();
+        awaitFinished(first);
+        awaitFinished(service.submit("a", sortJob("tim-sort")).getId());
+        awaitFinished(service.submit("a", sortJob("tim-sort")).getId());
+        assertThrows(NoSuchElementException.class, () -> service.status(first));
+    }
+
+    @Test
+    void keepsFinishedResultsWithinTheirWeight() throws InterruptedException {
+        long small = 3L * sortingService.sort("tim-sort", new int[]{3, 1, 2}).size();
+        JobService bounded = new JobService(sortingService, null, null, null,
+                1, 10, 10, 1, 100, small + small / 2, Duration.ofMinutes(1));
+        try {
+            String first = bounded.submit("a", sortJob("tim-sort")).getId();
+            awaitFinished(bounded, first);
+            String second = bounded.submit("a", sortJob("tim-sort")).getId();
+            assertEquals(State.SUCCEEDED, awaitFinished(bounded, second).getState());
+            assertThrows(NoSuchElementException.class, () -> bounded.status(first));
+
+            JobRequest large = sortJob("tim-sort");
+            large.setArray(new int[]{9, 8, 7, 6, 5, 4, 3, 2, 1});
+            JobStatus tooLarge = awaitFinished(bounded, bounded.submit("a", large).getId());
+            assertEquals(State.FAILED, tooLarge.getState());
+            assertEquals(State.SUCCEEDED, bounded.status(second).getState());
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    private static JobRequest sortJob(String algorithm) {
+        JobRequest request = new JobRequest();
+        request.setType("sort");
+        request.setAlgorithm(algorithm);
+        request.setArray(new int[]{3, 1, 2});
+        return request;
+    }
+
+    private JobStatus awaitFinished(String id) throws InterruptedException {
+        return awaitFinished(service, id);
+    }
+
+    private static JobStatus awaitFinished(JobService service, String id) throws InterruptedException {
+        JobStatus status = service.status(id);
+        while (status.getState() == State.QUEUED || status.getState() == State.RUNNING) {
+            Thread.sleep(5);
+            status = service.status(id);
+        }
+        return status;
+    }
+}
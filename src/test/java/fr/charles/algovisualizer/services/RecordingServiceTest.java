@@ -0,0 +1,98 @@
+package fr.charles.algovisualizer.services;
+
+import fr.charles.algovisualizer.algorithms.CancellationToken;
+import fr.charles.algovisualizer.algorithms.graph.Dijkstra;
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec;
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec.Distribution;
+import fr.charles.algovisualizer.algorithms.sorting.TimSort;
+import fr.charles.algovisualizer.dto.RecordingStatus;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordingServiceTest {
+
+    private final RecordingService recordings = new RecordingService(2, Duration.ofMinutes(1));
+    private final SortingService sortingService = new SortingService(List.of(new TimSort()), 1_000_000, 1000, 1000);
+    private final Dijkstra dijkstra = new Dijkstra();
+    private final GraphService graphService = new GraphService(List.of(dijkstra), dijkstra,
+            new ShortestPathCache(100, 1000), 1000, 10);
+
+    RecordingServiceTest() throws Exception {
+    }
+
+    @AfterEach
+    void closeRecordings() {
+        recordings.closeAll();
+    }
+
+    @Test
+    void recordsAlgorithmEvents(@TempDir Path dir) throws Exception {
+        RecordingStatus status = recordings.start("test", null);
+        assertEquals("running", status.getState());
+
+        sortingService.sort("tim-sort", new int[]{3, 1, 2});
+        sortingService.sort("tim-sort", new InputSpec(Distribution.UNIFORM, 50, 1, 0));
+        sortingService.sort("tim-sort", new InputSpec(Distribution.UNIFORM, 50, 1, 0));
+        graphService.findShortestPath("dijkstra", Map.of(0, Map.of(1, 4), 1, Map.of(2, 1)), 0, 2);
+        CancellationToken token = new CancellationToken();
+        token.cancel("test");
+        assertThrows(CancellationException.class,
+                () -> token.run(() -> sortingService.sort("tim-sort", new int[]{5, 4, 3, 2, 1})));
+        assertTrue(recordings.stop(status.getId()));
+        assertFalse(recordings.stop(status.getId()));
+
+        List<RecordedEvent> events = read(status.getId(), dir);
+        List<RecordedEvent> sorts = events.stream()
+                .filter(event -> event.getEventType().getName().equals("fr.charles.algovisualizer.Sort"))
+                .toList();
+        assertEquals(4, sorts.size());
+        assertEquals("tim-sort", sorts.get(0).getString("algorithm"));
+        assertEquals(3, sorts.get(0).getInt("inputSize"));
+        assertTrue(sorts.get(0).getInt("steps") > 0);
+        assertEquals(List.of(false, false, true, false), sorts.stream().map(event -> event.getBoolean("cached")).toList());
+        assertEquals(List.of(false, false, false, true), sorts.stream().map(event -> event.getBoolean("cancelled")).toList());
+
+        RecordedEvent path = events.stream()
+                .filter(event -> event.getEventType().getName().equals("fr.charles.algovisualizer.ShortestPath"))
+                .findFirst().orElseThrow();
+        assertEquals(3, path.getInt("pathLength"));
+        assertEquals(2, path.getInt("nodes"));
+        assertEquals(2, path.getInt("edges"));
+        assertEquals("stopped", recordings.status(status.getId()).getState());
+    }
+
+    @Test
+    void keepsAtMostTheConfiguredRecordings() {
+        long first = recordings.start(null, Duration.ofSeconds(30)).getId();
+        recordings.start(null, null);
+
+        assertThrows(RejectedExecutionException.class, () -> recordings.start(null, null));
+        recordings.delete(first);
+        assertThrows(NoSuchElementException.class, () -> recordings.status(first));
+        assertEquals(1, recordings.list().size());
+        assertThrows(IllegalArgumentException.class, () -> recordings.start(null, Duration.ZERO));
+    }
+
+    private List<RecordedEvent> read(long id, Path dir) throws Exception {
+        Path file = dir.resolve("recording.jfr");
+        try (InputStream data = recordings.data(id)) {
+            Files.copy(data, file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+}
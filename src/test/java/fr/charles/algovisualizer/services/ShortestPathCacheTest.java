@@ -0,0 +1,214 @@
+package fr.charles.algovisualizer.services;
+
+import fr.charles.algovisualizer.algorithms.graph.ContractionHierarchies;
+import fr.charles.algovisualizer.algorithms.graph.CsrGraph;
+import fr.charles.algovisualizer.algorithms.graph.Dijkstra;
+import fr.charles.algovisualizer.algorithms.graph.KShortestPaths;
+import fr.charles.algovisualizer.algorithms.graph.ShortestPathTree;
+import fr.charles.algovisualizer.dto.EdgeUpdate;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortestPathCacheTest {
+
+    private static final Map<Integer, Map<Integer, Integer>> GRAPH = Map.of(
+            0, Map.of(1, 4, 2, 1),
+            1, Map.of(3, 1),
+            2, Map.of(1, 2),
+            3, Map.of());
+
+    private final ShortestPathCache cache = new ShortestPathCache(100, 1000);
+    private final Dijkstra dijkstra = new Dijkstra();
+    private final GraphService graphService = new GraphService(List.of(dijkstra), dijkstra, cache, 1000, 10);
+
+    @Test
+    void repeatedQueryIsServedFromCache() {
+        assertEquals(List.of(0, 2, 1, 3), graphService.findShortestPath("dijkstra", GRAPH, 0, 3));
+        assertEquals(List.of(0, 2, 1, 3), graphService.findShortestPath("dijkstra", GRAPH, 0, 3));
+
+        Map<String, Object> statistics = cache.getStatistics();
+        assertEquals(1L, statistics.get("pathHits"));
+        assertEquals(1L, statistics.get("misses"));
+    }
+
+    @Test
+    void secondTargetFromSameSourceBuildsTree() {
+        graphService.findShortestPath("dijkstra", GRAPH, 0, 3);
+        assertEquals(List.of(0, 2, 1), graphService.findShortestPath("dijkstra", GRAPH, 0, 1));
+        assertEquals(List.of(0, 2), graphService.findShortestPath("dijkstra", GRAPH, 0, 2));
+
+        Map<String, Object> statistics = cache.getStatistics();
+        assertEquals(1, statistics.get("trees"));
+        assertEquals(1L, statistics.get("treeHits"));
+        assertEquals(2L, statistics.get("misses"));
+        assertEquals(1.0 / 3, (double) statistics.get("hitRatio"), 1e-9);
+    }
+
+    @Test
+    void onlyDijkstraRequestsBuildTrees() {
+        ContractionHierarchies hierarchies = new ContractionHierarchies();
+        GraphService service = new GraphService(List.of(dijkstra, hierarchies), dijkstra, cache, 1000, 10);
+        CsrGraph graph = CsrGraph.fromMap(GRAPH);
+
+        service.findShortestPath("contraction-hierarchies", graph, 0, 3);
+        assertArrayEquals(new int[]{0, 2, 1}, service.findShortestPath("contraction-hierarchies", graph, 0, 1));
+
+        assertEquals(0, cache.getStatistics().get("trees"));
+    }
+
+    @Test
+    void treesTooLargeToKeepAreNotBuiltAgain() {
+        CountingDijkstra counting = new CountingDijkstra();
+        ShortestPathCache small = new ShortestPathCache(100, 3);
+        GraphService service = new GraphService(List.of(counting), counting, small, 1000, 10);
+
+        // 4 nodes: known to be too large before searching
+        CsrGraph graph = CsrGraph.fromMap(GRAPH);
+        service.findShortestPath("dijkstra", graph, 0, 3);
+        service.findShortestPath("dijkstra", graph, 0, 1);
+        assertEquals(0, counting.trees);
+
+        // One key but 5 reachable nodes: only known once the tree is built, then never rebuilt
+        Map<Integer, Map<Integer, Integer>> star = Map.of(0, Map.of(1, 1, 2, 1, 3, 1, 4, 1));
+        service.findShortestPath("dijkstra", star, 0, 1);
+        service.findShortestPath("dijkstra", star, 0, 2);
+        service.findShortestPath("dijkstra", star, 0, 3);
+        assertEquals(1, counting.trees);
+        assertEquals(0, small.getStatistics().get("trees"));
+    }
+
+    @Test
+    void editedGraphGetsANewVersion() {
+        Map<Integer, Map<Integer, Integer>> edited = Map.of(
+                0, Map.of(1, 4, 2, 1),
+                1, Map.of(3, 1),
+                2, Map.of(1, 9),
+                3, Map.of());
+
+        assertNotEquals(ShortestPathCache.versionOf(GRAPH), ShortestPathCache.versionOf(edited));
+        // A node with no edges is not the same graph as a missing node
+        Map<Integer, Map<Integer, Integer>> withoutSink = Map.of(0, Map.of(1, 4, 2, 1), 1, Map.of(3, 1), 2, Map.of(1, 2));
+        assertNotEquals(ShortestPathCache.versionOf(GRAPH), ShortestPathCache.versionOf(withoutSink));
+        assertEquals(ShortestPathCache.versionOf(GRAPH), ShortestPathCache.versionOf(new TreeMap<>(GRAPH)));
+        graphService.findShortestPath("dijkstra", GRAPH, 0, 3);
+        assertEquals(List.of(0, 1, 3), graphService.findShortestPath("dijkstra", edited, 0, 3));
+    }
+
+    @Test
+    void edgeListVersionIgnoresEdgeOrder() {
+        CsrGraph graph = CsrGraph.fromEdges(4, new int[]{0, 0, 1, 2}, new int[]{1, 2, 3, 1}, new int[]{4, 1, 1, 2});
+        CsrGraph shuffled = CsrGraph.fromEdges(4, new int[]{2, 0, 1, 0}, new int[]{1, 2, 3, 1}, new int[]{2, 1, 1, 4});
+
+        assertEquals(ShortestPathCache.versionOf(graph), ShortestPathCache.versionOf(shuffled));
+        assertNotEquals(ShortestPathCache.versionOf(GRAPH), ShortestPathCache.versionOf(graph));
+        assertArrayEquals(new int[]{0, 2, 1, 3}, graphService.findShortestPath("dijkstra", graph, 0, 3));
+        assertArrayEquals(new int[]{0, 2, 1, 3}, graphService.findShortestPath("dijkstra", shuffled, 0, 3));
+        assertEquals(1L, cache.getStatistics().get("pathHits"));
+    }
+
+    @Test
+    void kShortestPathsStartFromTheCachedPath() {
+        CsrGraph graph = CsrGraph.fromMap(GRAPH);
+        graphService.findShortestPath("dijkstra", graph, 0, 3);
+
+        List<KShortestPaths.Path> paths = graphService.findKShortestPaths("dijkstra", GRAPH, 0, 3, 3);
+
+        assertEquals(List.of(4L, 5L), paths.stream().map(KShortestPaths.Path::cost).toList());
+        assertArrayEquals(new int[]{0, 2, 1, 3}, paths.get(0).nodes());
+        assertArrayEquals(new int[]{0, 1, 3}, paths.get(1).nodes());
+        assertEquals(1L, cache.getStatistics().get("pathHits"));
+        assertThrows(IllegalArgumentException.class, () -> graphService.findKShortestPaths("dijkstra", GRAPH, 0, 3, 11));
+    }
+
+    @Test
+    void kShortestPathsKeepTheNodeIdsOfSparseGraphs() {
+        Map<Integer, Map<Integer, Integer>> graph = Map.of(
+                2_000_000_000, Map.of(-5, 3, 7, 1),
+                7, Map.of(-5, 1));
+
+        List<KShortestPaths.Path> paths = graphService.findKShortestPaths("dijkstra", graph, 2_000_000_000, -5, 3);
+
+        assertEquals(List.of(new KShortestPaths.Path(new int[]{2_000_000_000, 7, -5}, 2),
+                new KShortestPaths.Path(new int[]{2_000_000_000, -5}, 3)), paths);
+        assertEquals(List.of(), graphService.findKShortestPaths("dijkstra", graph, 7, Integer.MAX_VALUE, 3));
+    }
+
+    @Test
+    void reloadingDatasetInvalidatesItsEntries() {
+        GraphDatasetService datasets = new GraphDatasetService("data", new ContractionHierarchies(), cache);
+        CsrGraph graph = CsrGraph.fromMap(GRAPH);
+        datasets.register("sample", graph);
+        graphService.findShortestPath("dijkstra", datasets.get("sample"), 0, 3);
+        assertEquals(1, cache.getStatistics().get("paths"));
+
+        datasets.register("sample", graph);
+
+        assertEquals(0, cache.getStatistics().get("paths"));
+    }
+
+    @Test
+    void partiallyAppliedBatchStillInvalidatesItsEntries() {
+        GraphDatasetService datasets = new GraphDatasetService("data", new ContractionHierarchies(), cache);
+        long version = datasets.register("sample", CsrGraph.fromMap(GRAPH)).version();
+        datasets.maintain("sample", 0);
+        assertArrayEquals(new int[]{0, 2, 1, 3}, graphService.findShortestPath("dijkstra", datasets.get("sample"), 0, 3));
+
+        List<EdgeUpdate> batch = List.of(
+                new EdgeUpdate(EdgeUpdate.Operation.REWEIGHT, 0, 2, 10),
+                new EdgeUpdate(EdgeUpdate.Operation.DELETE, 2, 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> datasets.applyUpdates("sample", batch));
+
+        assertTrue(datasets.get("sample").version() > version);
+        assertEquals(0, cache.getStatistics().get("paths"));
+        assertArrayEquals(new int[]{0, 1, 3}, graphService.findShortestPath("dijkstra", datasets.get("sample"), 0, 3));
+        assertArrayEquals(new int[]{0, 1, 3}, datasets.maintainedPath("sample", 0, 3));
+    }
+
+    @Test
+    void evictsBeyondCapacity() {
+        BoundedCache<Integer, String> bounded = new BoundedCache<>(3);
+        for (int i = 0; i < 10; i++) {
+            bounded.put(i, "value" + i);
+        }
+
+        assertEquals(3, bounded.size());
+        assertEquals(7, bounded.evictions());
+        assertEquals("value9", bounded.get(9));
+    }
+
+    @Test
+    void invalidatedKeysLeaveTheEvictionQueue() {
+        BoundedCache<Integer, String> bounded = new BoundedCache<>(100);
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 10; i++) {
+                bounded.put(i, "value" + i);
+            }
+            bounded.invalidate(key -> key % 2 == 0);
+        }
+
+        assertEquals(5, bounded.size());
+        assertEquals(5, bounded.queued());
+        assertFalse(new BoundedCache<Integer, String>(1, String::length).put(0, "too heavy"));
+    }
+
+    private static final class CountingDijkstra extends Dijkstra {
+        int trees;
+
+        @Override
+        public ShortestPathTree shortestPathTree(Map<Integer, Map<Integer, Integer>> graph, int source) {
+            trees++;
+            return super.shortestPathTree(graph, source);
+        }
+
+        @Override
+        public ShortestPathTree shortestPathTree(CsrGraph graph, int source) {
+            trees++;
+            return super.shortestPathTree(graph, source);
+        }
+    }
+}
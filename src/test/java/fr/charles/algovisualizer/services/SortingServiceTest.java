@@ -0,0 +1,53 @@
+package fr.charles.algovisualizer.services;
+
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec;
+import fr.charles.algovisualizer.algorithms.sorting.InputSpec.Distribution;
+import fr.charles.algovisualizer.algorithms.sorting.PdqSort;
+import fr.charles.algovisualizer.algorithms.sorting.TimSort;
+import fr.charles.algovisualizer.dto.SortTiming;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortingServiceTest {
+
+    private final SortingService service = new SortingService(List.of(new PdqSort(), new TimSort()), 1_000_000, 1000, 1000);
+
+    @Test
+    void generatedSortsAreCachedPerSpec() {
+        InputSpec spec = new InputSpec(Distribution.UNIFORM, 200, 5, 0);
+        List<int[]> first = service.sort("tim-sort", spec);
+        assertSame(first, service.sort("tim-sort", new InputSpec(Distribution.UNIFORM, 200, 5, 0)));
+        assertNotSame(first, service.sort("pdq-sort", spec));
+    }
+
+    @Test
+    void rejectsOversizedTracedSorts() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.sort("tim-sort", new InputSpec(Distribution.UNIFORM, 1 << 24, 1, 0)));
+        assertEquals(1000, service.sort("tim-sort", new InputSpec(Distribution.UNIFORM, 1000, 1, 0)).get(0).length);
+        assertThrows(IllegalArgumentException.class, () -> service.sort("tim-sort", new int[1001]));
+    }
+
+    @Test
+    void comparesTracedAlgorithmsWithBaselines() {
+        List<SortTiming> timings = service.compareBaseline(new InputSpec(Distribution.REVERSED, 500, 1, 0), List.of(), 2);
+
+        assertEquals(List.of("Pdq Sort", "Tim Sort", "Arrays.sort", "Arrays.parallelSort"),
+                timings.stream().map(SortTiming::getAlgorithm).toList());
+        assertTrue(timings.get(0).isTraced());
+        assertTrue(timings.get(0).getSteps() > 0);
+        assertFalse(timings.get(3).isTraced());
+        assertTrue(timings.stream().allMatch(timing -> timing.getNanos() > 0));
+    }
+
+    @Test
+    void rejectsOversizedComparisons() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.compareBaseline(new InputSpec(Distribution.UNIFORM, 5000, 1, 0), List.of(), 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.compareBaseline(new InputSpec(Distribution.UNIFORM, 10, 1, 0), List.of("unknown"), 1));
+    }
+}